@@ -3,6 +3,7 @@ package com.dtao.seminarbooking.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -11,6 +12,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -18,6 +20,15 @@ public class AsyncConfig implements AsyncConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
 
+    /**
+     * Same switch Spring Boot uses for Tomcat and the scheduler. With it on, the executors below run their tasks on
+     * virtual threads but keep pool size, queue and rejection policy: the pool is what bounds concurrent work against
+     * Mongo, and its queue keeps publishers from waiting (a concurrency-limited SimpleAsyncTaskExecutor blocks the
+     * request thread once the limit is hit, which stalled bookings under load).
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      * Bean name "taskExecutor" is used by Spring as the default async executor if no name is specified in @Async.
      * You may also name it "emailExecutor" and reference it in @Async("emailExecutor").
@@ -31,6 +42,27 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setQueueCapacity(200);
         executor.setKeepAliveSeconds(60);
         executor.setThreadNamePrefix("email-exec-");
+        if (virtualThreads) executor.setThreadFactory(Thread.ofVirtual().name("email-exec-", 1).factory());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the booking event listeners (audit log, requester email, hall-head notifications).
+     * When the queue is full the publishing request thread runs the listener itself rather than dropping it.
+     */
+    @Bean(name = "bookingEventExecutor")
+    public Executor bookingEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(1000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("booking-evt-");
+        if (virtualThreads) executor.setThreadFactory(Thread.ofVirtual().name("booking-evt-", 1).factory());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
         executor.initialize();
         return executor;
     }
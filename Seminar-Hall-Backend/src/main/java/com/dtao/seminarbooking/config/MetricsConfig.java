@@ -0,0 +1,55 @@
+package com.dtao.seminarbooking.config;
+
+import com.dtao.seminarbooking.service.AuditLogWriter;
+import com.dtao.seminarbooking.service.BookingChangeFeed;
+import com.dtao.seminarbooking.service.SmtpCircuitBreaker;
+import com.dtao.seminarbooking.service.SmtpConnectionPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for the in-process pipelines (scraped at /actuator/prometheus).
+ * Timers and counters on the request paths are recorded where the work happens:
+ * booking.conflict.check, booking.calendar.generate, mail.send, mail.send.batch, auth.jwt.verify, auth.password.hash.
+ * The async executors (taskExecutor, bookingEventExecutor) are bound by Spring Boot as executor.*{name=...}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder auditLogMetrics(AuditLogWriter writer) {
+        return registry -> {
+            Gauge.builder("audit.buffer.size", writer, AuditLogWriter::getQueueSize).register(registry);
+            Gauge.builder("audit.buffer.capacity", writer, AuditLogWriter::getCapacity).register(registry);
+            FunctionCounter.builder("audit.entries.written", writer, AuditLogWriter::getWrittenCount).register(registry);
+            FunctionCounter.builder("audit.entries.dropped", writer, AuditLogWriter::getDroppedCount).register(registry);
+            FunctionCounter.builder("audit.entries.failed", writer, AuditLogWriter::getFailedCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder smtpMetrics(SmtpConnectionPool pool, SmtpCircuitBreaker breaker) {
+        return registry -> {
+            Gauge.builder("mail.smtp.connections", pool, SmtpConnectionPool::getInUseCount).tag("state", "in-use").register(registry);
+            Gauge.builder("mail.smtp.connections", pool, SmtpConnectionPool::getIdleCount).tag("state", "idle").register(registry);
+            FunctionCounter.builder("mail.smtp.bulkhead.rejected", pool, SmtpConnectionPool::getRejectedCount).register(registry);
+            // 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+            Gauge.builder("mail.smtp.circuit.state", breaker, b -> switch (b.getState()) {
+                case SmtpCircuitBreaker.OPEN -> 2;
+                case SmtpCircuitBreaker.HALF_OPEN -> 1;
+                default -> 0;
+            }).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder changeFeedMetrics(BookingChangeFeed feed) {
+        return registry -> {
+            Gauge.builder("booking.feed.subscribers", feed, BookingChangeFeed::getSubscriberCount).register(registry);
+            FunctionCounter.builder("booking.feed.changes", feed, BookingChangeFeed::currentSeq).register(registry);
+        };
+    }
+}
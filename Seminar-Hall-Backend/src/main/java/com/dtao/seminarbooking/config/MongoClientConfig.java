@@ -0,0 +1,17 @@
+package com.dtao.seminarbooking.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mongo client tweaks on top of Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandTrackerCustomizer(MongoCommandTracker tracker) {
+        return builder -> builder.addCommandListener(tracker);
+    }
+}
@@ -0,0 +1,160 @@
+package com.dtao.seminarbooking.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo driver listener (registered in MongoClientConfig).
+ * - Counts the commands issued by the current HTTP request (the sync driver calls listeners on the
+ *   calling thread), read by MongoQueryCountFilter to spot N+1 patterns such as @DBRef resolution.
+ * - Logs any command slower than app.mongo.slow-command-ms with its filter shape (values replaced by ?).
+ * Latency histograms per command/collection come from Spring Boot's own listener (mongodb.driver.commands).
+ */
+@Component
+public class MongoCommandTracker implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoCommandTracker.class);
+
+    // Handshakes / heartbeats / auth are not queries
+    private static final Set<String> IGNORED = Set.of("hello", "isMaster", "ismaster", "ping", "buildInfo",
+            "saslStart", "saslContinue", "endSessions", "getMore", "killCursors");
+
+    private static final ThreadLocal<int[]> REQUEST_COUNT = new ThreadLocal<>();
+
+    @Value("${app.mongo.slow-command-ms:100}")
+    private long slowCommandMs;
+
+    // requestId -> shape of a running command (only kept until it completes)
+    private final Map<Integer, String> running = new ConcurrentHashMap<>();
+
+    // ===== per-request counting (used by MongoQueryCountFilter) =====
+
+    /** Starts counting on this thread. */
+    static void beginRequest() {
+        REQUEST_COUNT.set(new int[1]);
+    }
+
+    /** Stops counting on this thread and returns how many commands were issued since beginRequest(). */
+    static int endRequest() {
+        int[] c = REQUEST_COUNT.get();
+        REQUEST_COUNT.remove();
+        return c == null ? 0 : c[0];
+    }
+
+    /** Commands issued so far by the current request (0 outside a request). */
+    public static int currentCount() {
+        int[] c = REQUEST_COUNT.get();
+        return c == null ? 0 : c[0];
+    }
+
+    // ===== CommandListener =====
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (IGNORED.contains(event.getCommandName())) return;
+        int[] c = REQUEST_COUNT.get();
+        if (c != null) c[0]++;
+        if (slowCommandMs >= 0) {
+            running.put(event.getRequestId(), describe(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), null);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), event.getThrowable());
+    }
+
+    private void finish(int requestId, String commandName, long elapsedNanos, Throwable failure) {
+        if (IGNORED.contains(commandName)) return;
+        RequestTiming.add(RequestTiming.DB, elapsedNanos);
+        long elapsedMs = elapsedNanos / 1_000_000;
+        String shape = running.remove(requestId);
+        if (shape == null || slowCommandMs < 0 || elapsedMs < slowCommandMs) return;
+        if (failure == null) {
+            log.warn("[MONGO SLOW] {} ms {}", elapsedMs, shape);
+        } else {
+            log.warn("[MONGO SLOW] {} ms {} failed: {}", elapsedMs, shape, failure.getMessage());
+        }
+    }
+
+    // "find seminars filter={hallName: ?, date: ?}" -- never the values (may be personal data)
+    private static String describe(String commandName, BsonDocument command) {
+        BsonValue target = command.get(commandName);
+        StringBuilder sb = new StringBuilder(commandName);
+        if (target != null && target.isString()) sb.append(' ').append(target.asString().getValue());
+        appendShape(sb, " filter=", command.get("filter"));
+        appendShape(sb, " query=", command.get("query"));
+        appendShape(sb, " sort=", command.get("sort"));
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline != null && pipeline.isArray()) {
+            sb.append(" pipeline=[");
+            for (BsonValue stage : pipeline.asArray()) {
+                if (stage.isDocument()) sb.append(stage.asDocument().getFirstKey()).append(' ');
+            }
+            sb.append(']');
+        }
+        BsonValue updates = command.get("updates");
+        if (updates == null) updates = command.get("deletes");
+        if (updates != null && updates.isArray() && !updates.asArray().isEmpty()) {
+            BsonValue first = updates.asArray().get(0);
+            if (first.isDocument()) appendShape(sb, " q=", first.asDocument().get("q"));
+        }
+        return sb.toString();
+    }
+
+    private static void appendShape(StringBuilder sb, String label, BsonValue value) {
+        if (value == null || !value.isDocument()) return;
+        sb.append(label);
+        shape(sb, value, 0);
+    }
+
+    private static void shape(StringBuilder sb, BsonValue v, int depth) {
+        if (depth > 4) {
+            sb.append('…');
+        } else if (v.isDocument()) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> e : v.asDocument().entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                sb.append(e.getKey()).append(": ");
+                shape(sb, e.getValue(), depth + 1);
+            }
+            sb.append('}');
+        } else if (v.isArray()) {
+            BsonArray arr = v.asArray();
+            // Logical operators ($and / $or) carry sub-filters worth showing; value lists do not
+            if (!arr.isEmpty() && arr.get(0).isDocument()) {
+                sb.append('[');
+                for (int i = 0; i < arr.size(); i++) {
+                    if (i > 0) sb.append(", ");
+                    shape(sb, arr.get(i), depth + 1);
+                }
+                sb.append(']');
+            } else {
+                sb.append("[?]");
+            }
+        } else {
+            sb.append('?');
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dtao.seminarbooking.config;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import com.dtao.seminarbooking.model.OtpToken;
+import com.dtao.seminarbooking.model.RefreshToken;
+import com.dtao.seminarbooking.model.RevokedToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+
+/**
+ * Creates the indexes the app relies on (TTL cleanup, lookups by hash, ...).
+ * Done explicitly instead of auto-index-creation so a failure on one index
+ * (e.g. legacy duplicate data) is logged and does not stop the app from booting.
+ */
+@Configuration
+public class MongoIndexInitializer implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        // --- OTP tokens (used/expired ones are dropped by TTL) ---
+        ensure(OtpToken.class, new Index().on("userId", Sort.Direction.ASC).on("used", Sort.Direction.ASC).on("expiresAt", Sort.Direction.DESC));
+        ensure(OtpToken.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+
+        // --- Refresh tokens ---
+        ensure(RefreshToken.class, new Index().on("tokenHash", Sort.Direction.ASC).unique());
+        ensure(RefreshToken.class, new Index().on("familyId", Sort.Direction.ASC));
+        ensure(RefreshToken.class, new Index().on("userEmail", Sort.Direction.ASC));
+        ensure(RefreshToken.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+
+        // --- Revoked access tokens (_id = jti) ---
+        ensure(RevokedToken.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+
+        // --- Email outbox (claim query, idempotency, cleanup of delivered mail) ---
+        ensure(EmailOutboxMessage.class, new Index().on("idempotencyKey", Sort.Direction.ASC).unique());
+        ensure(EmailOutboxMessage.class, new Index().on("status", Sort.Direction.ASC).on("nextAttemptAt", Sort.Direction.ASC));
+        ensure(EmailOutboxMessage.class, new Index().on("status", Sort.Direction.ASC).on("lockedUntil", Sort.Direction.ASC));
+        ensure(EmailOutboxMessage.class, new Index().on("purgeAt", Sort.Direction.ASC).expire(Duration.ZERO));
+
+        // --- Hall-head digest buffer (one entry per head + booking = coalescing) ---
+        ensure(HallHeadDigestEntry.class, new Index().on("headEmail", Sort.Direction.ASC).on("seminarId", Sort.Direction.ASC).unique());
+        ensure(HallHeadDigestEntry.class, new Index().on("dueAt", Sort.Direction.ASC));
+
+        // --- Audit log listing: keyset order (timestamp, _id) plus one prefix per equality filter ---
+        ensure(Log.class, new Index().on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        for (String field : new String[]{"action", "actorEmail", "actorRole", "ipAddress"}) {
+            ensure(Log.class, new Index().on(field, Sort.Direction.ASC)
+                    .on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC));
+        }
+        // (TTL on timestamp is managed by LogRetentionService, it depends on app.audit.retention-days)
+
+        // --- Daily audit rollups ---
+        ensure(LogDailyRollup.class, new Index().on("day", Sort.Direction.ASC).on("count", Sort.Direction.DESC));
+        ensure(LogDailyRollup.class, new Index().on("actorEmail", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+        ensure(LogDailyRollup.class, new Index().on("action", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+    }
+
+    private void ensure(Class<?> entity, Index index) {
+        try {
+            mongoTemplate.indexOps(entity).createIndex(index);
+        } catch (Exception ex) {
+            log.warn("Could not ensure index {} on {}: {}", index.getIndexKeys().toJson(), entity.getSimpleName(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dtao.seminarbooking.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Counts the Mongo commands each HTTP request issues (see MongoCommandTracker).
+ * - Always: mongodb.queries.per.request{uri=<route pattern>} and a warning above app.mongo.request-query-warn.
+ * - With app.mongo.debug-header=true: an X-Mongo-Queries response header (the body is buffered so the
+ *   header can still be set after the handler ran; leave it off in production).
+ * Skips /api/reactive: the reactive driver issues its commands after the request thread has returned,
+ * and buffering would hold back streamed responses.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class MongoQueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoQueryCountFilter.class);
+
+    public static final String HEADER = "X-Mongo-Queries";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.mongo.debug-header:false}")
+    private boolean debugHeader;
+
+    @Value("${app.mongo.request-query-warn:50}")
+    private int warnThreshold;
+
+    public MongoQueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/api/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = debugHeader ? new ContentCachingResponseWrapper(response) : null;
+        MongoCommandTracker.beginRequest();
+        int count;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            count = MongoCommandTracker.endRequest();
+            record(request, count);
+        }
+        if (buffered != null) {
+            buffered.setHeader(HEADER, Integer.toString(count));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("mongodb.queries.per.request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+        if (count > warnThreshold) {
+            log.warn("[MONGO N+1?] {} {} issued {} Mongo commands", request.getMethod(), request.getRequestURI(), count);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.dtao.seminarbooking.config;
+
+import java.util.Arrays;
+
+/**
+ * Per-request phase timings for the Server-Timing header (see ServerTimingFilter).
+ *
+ * Usage on any code path:
+ *   long t = RequestTiming.start();
+ *   ... work ...
+ *   RequestTiming.stop("conflict", t);
+ *
+ * Disabled (app.timing.enabled=false, the default) both calls return after one static boolean read.
+ * Enabled, each request thread reuses one context of fixed arrays: repeated phases (e.g. "db") are summed
+ * with a call count, so recording allocates nothing. Work done on other threads is not attributed.
+ */
+public final class RequestTiming {
+
+    // Phase names used across the app
+    public static final String JWT = "jwt";
+    public static final String USER = "user";
+    public static final String CONFLICT = "conflict";
+    public static final String SAVE = "save";
+    public static final String DB = "db";
+    public static final String RENDER = "render";
+    public static final String MAIL = "mail";
+
+    static final int MAX_PHASES = 16;
+
+    private static volatile boolean enabled = false;
+
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    final String[] names = new String[MAX_PHASES];
+    final long[] nanos = new long[MAX_PHASES];
+    final int[] counts = new int[MAX_PHASES];
+    int size;
+    boolean active;
+
+    private RequestTiming() {}
+
+    static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Start of a phase (0 when timing is off). */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Ends a phase begun with start(). Phase names should be constants (they are compared by identity first). */
+    public static void stop(String phase, long startNanos) {
+        if (startNanos == 0L || !enabled) return;
+        add(phase, System.nanoTime() - startNanos);
+    }
+
+    /** Adds an already measured duration (e.g. the Mongo driver's elapsed time). */
+    public static void add(String phase, long durationNanos) {
+        if (!enabled) return;
+        RequestTiming ctx = CURRENT.get();
+        if (!ctx.active) return;
+        for (int i = 0; i < ctx.size; i++) {
+            if (ctx.names[i] == phase || ctx.names[i].equals(phase)) {
+                ctx.nanos[i] += durationNanos;
+                ctx.counts[i]++;
+                return;
+            }
+        }
+        if (ctx.size == MAX_PHASES) return;
+        ctx.names[ctx.size] = phase;
+        ctx.nanos[ctx.size] = durationNanos;
+        ctx.counts[ctx.size] = 1;
+        ctx.size++;
+    }
+
+    // ===== used by ServerTimingFilter =====
+
+    static RequestTiming begin() {
+        RequestTiming ctx = CURRENT.get();
+        ctx.size = 0;
+        ctx.active = true;
+        return ctx;
+    }
+
+    static RequestTiming current() {
+        RequestTiming ctx = CURRENT.get();
+        return ctx.active ? ctx : null;
+    }
+
+    void end() {
+        active = false;
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+    }
+
+    /** Server-Timing value, e.g. {@code jwt;dur=0.41, db;dur=3.20;desc="4 calls", total;dur=5.02}. */
+    String toHeader(long totalNanos) {
+        StringBuilder sb = new StringBuilder(32 + size * 32);
+        for (int i = 0; i < size; i++) {
+            sb.append(names[i]).append(";dur=");
+            appendMillis(sb, nanos[i]);
+            if (counts[i] > 1) sb.append(";desc=\"").append(counts[i]).append(" calls\"");
+            sb.append(", ");
+        }
+        sb.append("total;dur=");
+        appendMillis(sb, totalNanos);
+        return sb.toString();
+    }
+
+    /** Structured log form, e.g. {@code jwt=0.41 db=3.20/4 total=5.02} (ms, /n = calls). */
+    String toLogFields(long totalNanos) {
+        StringBuilder sb = new StringBuilder(32 + size * 24);
+        for (int i = 0; i < size; i++) {
+            sb.append(names[i]).append('=');
+            appendMillis(sb, nanos[i]);
+            if (counts[i] > 1) sb.append('/').append(counts[i]);
+            sb.append(' ');
+        }
+        sb.append("total=");
+        appendMillis(sb, totalNanos);
+        return sb.toString();
+    }
+
+    // Milliseconds with two decimals, without String.format
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        long hundredths = Math.max(0, nanos) / 10_000;
+        sb.append(hundredths / 100).append('.');
+        long frac = hundredths % 100;
+        if (frac < 10) sb.append('0');
+        sb.append(frac);
+    }
+}
@@ -0,0 +1,107 @@
+package com.dtao.seminarbooking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emits the phases collected in {@link RequestTiming} as a Server-Timing header and, for a sample of
+ * requests (plus every request slower than app.timing.slow-ms), as one structured log line.
+ * Off by default (app.timing.enabled); when off the filter only forwards the request.
+ * The header is written just before the response body (see {@link Advice}), so nothing is buffered;
+ * responses without a body get it after the handler returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    public static final String HEADER = "Server-Timing";
+    private static final String START_ATTR = ServerTimingFilter.class.getName() + ".start";
+
+    private final boolean enabled;
+    private final double logSampleRate;
+    private final long slowNanos;
+
+    public ServerTimingFilter(@Value("${app.timing.enabled:false}") boolean enabled,
+                              @Value("${app.timing.log-sample-rate:0.01}") double logSampleRate,
+                              @Value("${app.timing.slow-ms:1000}") long slowMs) {
+        this.enabled = enabled;
+        this.logSampleRate = logSampleRate;
+        this.slowNanos = slowMs * 1_000_000L;
+        RequestTiming.setEnabled(enabled);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        request.setAttribute(START_ATTR, start);
+        RequestTiming ctx = RequestTiming.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long total = System.nanoTime() - start;
+            // Mono / Flux handlers write the response later on another thread: a total here would only cover
+            // starting them, so they get neither header nor log line
+            if (!request.isAsyncStarted()) {
+                if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+                    response.setHeader(HEADER, ctx.toHeader(total));
+                }
+                if (total >= slowNanos || ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                    log.info("[TIMING] method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                            response.getStatus(), ctx.toLogFields(total));
+                }
+            }
+            ctx.end();
+        }
+    }
+
+    /** Sets the header right before a @ResponseBody / ResponseEntity body is written (the response is not committed yet). */
+    @ControllerAdvice
+    static class Advice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return RequestTiming.isEnabled();
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            RequestTiming ctx = RequestTiming.current();
+            if (ctx != null && request instanceof ServletServerHttpRequest servlet) {
+                Object start = servlet.getServletRequest().getAttribute(START_ATTR);
+                if (start instanceof Long s) {
+                    response.getHeaders().set(HEADER, ctx.toHeader(System.nanoTime() - s));
+                }
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dtao.seminarbooking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async request handling for the Mono / Flux endpoints under /api/reactive.
+ * Spring MVC writes streamed items (SSE, NDJSON) to the servlet response from this executor, so the reactive
+ * threads that produce them never block on a slow client. Without it MVC falls back to a new thread per write.
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.mvc.async.request-timeout:60000}")
+    private long requestTimeoutMs;
+
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(10_000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("mvc-async-");
+        if (virtualThreads) executor.setThreadFactory(Thread.ofVirtual().name("mvc-async-", 1).factory());
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor());
+        configurer.setDefaultTimeout(requestTimeoutMs);
+    }
+}
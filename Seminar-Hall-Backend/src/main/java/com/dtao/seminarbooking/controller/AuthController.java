@@ -2,8 +2,11 @@ package com.dtao.seminarbooking.controller;
 
 import com.dtao.seminarbooking.security.CustomUserDetailsService;
 import com.dtao.seminarbooking.security.JwtTokenProvider;
+import com.dtao.seminarbooking.security.TokenRevocationService;
 import com.dtao.seminarbooking.service.LogService; // ✅ IMPORTED
 import com.dtao.seminarbooking.service.OtpService;
+import com.dtao.seminarbooking.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest; // ✅ IMPORTED
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -33,6 +37,12 @@ public class AuthController {
     @Autowired
     private LogService logService; // ✅ INJECTED
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     // ========================
     // 🔐 PASSWORD RECOVERY FLOW
     // ========================
@@ -89,6 +99,7 @@ public class AuthController {
             case "EXPIRED" -> ResponseEntity.badRequest().body(Map.of("error", "OTP expired. Please request a new one."));
             case "INVALID" -> ResponseEntity.badRequest().body(Map.of("error", "Invalid OTP. Please try again."));
             case "NO_TOKEN" -> ResponseEntity.badRequest().body(Map.of("error", "No active OTP found. Please request again."));
+            case "TOO_MANY_ATTEMPTS" -> ResponseEntity.status(429).body(Map.of("error", "Too many attempts. Please request a new OTP."));
             case "USER_NOT_FOUND" -> ResponseEntity.badRequest().body(Map.of("error", "No account found for this email."));
             default -> ResponseEntity.badRequest().body(Map.of("error", "Verification failed."));
         };
@@ -100,6 +111,10 @@ public class AuthController {
         String newPassword = req.get("newPassword");
 
         if (otpService.resetPassword(email, newPassword)) {
+            // Password changed: sessions opened with the old password must end
+            refreshTokenService.revokeAllForUser(email);
+            tokenRevocationService.revokeAllForUser(email, "PASSWORD_RESET");
+
             // ✅ LOGGING: Password Changed
             logService.logAction(
                     request,
@@ -120,9 +135,21 @@ public class AuthController {
     // =========================
     // 🔁 JWT REFRESH TOKEN FLOW
     // =========================
+    /**
+     * Preferred: body {"refreshToken": "..."} -> rotates the refresh token and returns a new access token.
+     * Works after the access token has expired, so the client never has to repeat the (BCrypt) login.
+     * Legacy: no body, still-valid access token in the Authorization header -> new access token.
+     */
     @PostMapping("/refresh-token")
-    public ResponseEntity<?> refreshToken(@RequestHeader(value = "Authorization", required = false) String header, HttpServletRequest request) { // ✅ Added Request
+    public ResponseEntity<?> refreshToken(@RequestHeader(value = "Authorization", required = false) String header,
+                                          @RequestBody(required = false) Map<String, String> body,
+                                          HttpServletRequest request) { // ✅ Added Request
         try {
+            String refreshToken = body == null ? null : body.get("refreshToken");
+            if (refreshToken != null && !refreshToken.isBlank()) {
+                return rotateRefreshToken(refreshToken, request);
+            }
+
             String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
             if (token == null || !jwtTokenProvider.validateToken(token)) {
                 logService.logAction(request, "REFRESH_TOKEN_FAIL", "UNKNOWN", "UNKNOWN", "N/A", "Invalid or missing token");
@@ -164,4 +191,71 @@ public class AuthController {
             return ResponseEntity.status(500).body(Map.of("error", "Server error during token refresh"));
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> rotateRefreshToken(String refreshToken, HttpServletRequest request) {
+        RefreshTokenService.RotationResult result = refreshTokenService.rotate(refreshToken);
+        String email = result.getUserEmail() == null ? "UNKNOWN" : result.getUserEmail();
+
+        if (!"VALID".equals(result.getStatus())) {
+            String action = "REUSED".equals(result.getStatus()) ? "REFRESH_TOKEN_REUSE" : "REFRESH_TOKEN_FAIL";
+            logService.logAction(request, action, email, "UNKNOWN", "N/A", "Refresh token rejected: " + result.getStatus());
+            return ResponseEntity.status(401).body(Map.of("error", "Invalid refresh token"));
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = customUserDetailsService.loadUserByUsername(result.getUserEmail());
+        } catch (UsernameNotFoundException ex) {
+            // Account removed after the session started
+            refreshTokenService.revokeFamilyOf(result.getNewToken());
+            return ResponseEntity.status(401).body(Map.of("error", "User not found"));
+        }
+
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        String newToken = jwtTokenProvider.generateToken(auth, result.isRememberMe());
+        long expiresIn = jwtTokenProvider.getExpiresInSeconds(result.isRememberMe());
+
+        logService.logAction(request, "REFRESH_TOKEN", email, "USER", "N/A", "Session token refreshed (rotated)");
+
+        return ResponseEntity.ok(Map.of(
+                "token", newToken,
+                "expiresIn", expiresIn,
+                "refreshToken", result.getNewToken(),
+                "refreshExpiresIn", result.getExpiresInSeconds()
+        ));
+    }
+
+    // =========================
+    // 🚪 LOGOUT (revocation)
+    // =========================
+    /**
+     * Revokes the presented access token (by jti, until it expires) and, if the body carries
+     * {"refreshToken": "..."}, the whole refresh-token family.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String header,
+                                    @RequestBody(required = false) Map<String, String> body,
+                                    HttpServletRequest request) {
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+        Claims claims = jwtTokenProvider.parseValidClaims(token);
+        String email = claims == null ? "UNKNOWN" : claims.getSubject();
+
+        try {
+            if (claims != null) {
+                tokenRevocationService.revoke(claims.getId(), claims.getSubject(),
+                        claims.getExpiration() == null ? null : claims.getExpiration().toInstant(), "LOGOUT");
+            }
+            String refreshToken = body == null ? null : body.get("refreshToken");
+            if (refreshToken != null && !refreshToken.isBlank()) {
+                refreshTokenService.revokeFamilyOf(refreshToken);
+            }
+        } catch (Exception ex) {
+            log.error("logout failed: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).body(Map.of("error", "Server error during logout"));
+        }
+
+        logService.logAction(request, "LOGOUT", email, "USER", "N/A", "Session revoked");
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.dtao.seminarbooking.controller;
+
+import com.dtao.seminarbooking.jfr.ContinuousRecording;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin access to the continuous flight recording: status, and dumping the last N minutes to a file on the server.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class JfrAdminController {
+
+    private final ContinuousRecording recording;
+
+    public JfrAdminController(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> status() {
+        return ResponseEntity.ok(recording.status());
+    }
+
+    @PostMapping("/dump")
+    public ResponseEntity<?> dump(@RequestParam(defaultValue = "10") long minutes) {
+        try {
+            Path file = recording.dumpLast(minutes);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("file", file.toString());
+            body.put("bytes", Files.size(file));
+            return ResponseEntity.ok(body);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(409).body(Map.of("error", ex.getMessage()));
+        } catch (Exception ex) {
+            return ResponseEntity.status(500).body(Map.of("error", "JFR dump failed: " + ex.getMessage()));
+        }
+    }
+}
@@ -1,29 +1,117 @@
 package com.dtao.seminarbooking.controller;
 
 import com.dtao.seminarbooking.model.Log;
-import com.dtao.seminarbooking.repo.LogRepository;
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import com.dtao.seminarbooking.payload.LogFilter;
+import com.dtao.seminarbooking.repo.LogDailyRollupRepository;
+import com.dtao.seminarbooking.service.AuditLogWriter;
+import com.dtao.seminarbooking.service.LogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Range;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/logs")
 public class LogController {
 
     @Autowired
-    private LogRepository logRepository;
+    private AuditLogWriter auditLogWriter;
 
-    // Get all logs (Latest first)
+    @Autowired
+    private LogService logService;
+
+    @Autowired
+    private LogDailyRollupRepository rollupRepository;
+
+    // Latest logs only (first page, newest first); use /search with nextCursor to go further back
     @GetMapping
     public ResponseEntity<List<Log>> getAllLogs() {
-        return ResponseEntity.ok(logRepository.findAllByOrderByTimestampDesc());
+        return ResponseEntity.ok(logService.findPage(null, null, Integer.MAX_VALUE).getItems());
+    }
+
+    // Paged + filtered logs (Latest first). Pass the returned nextCursor to get the following page.
+    // from / to accept a date (2025-01-31) or a date-time (2025-01-31T10:15:00); "to" is exclusive, a bare date includes that day.
+    @GetMapping("/search")
+    public ResponseEntity<?> searchLogs(@RequestParam(required = false) String action,
+                                        @RequestParam(required = false) String actorEmail,
+                                        @RequestParam(required = false) String role,
+                                        @RequestParam(required = false) String ip,
+                                        @RequestParam(required = false) String from,
+                                        @RequestParam(required = false) String to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        try {
+            LogFilter filter = new LogFilter();
+            filter.setAction(action);
+            filter.setActorEmail(actorEmail);
+            filter.setActorRole(role);
+            filter.setIpAddress(ip);
+            filter.setFrom(parseBound(from, false));
+            filter.setTo(parseBound(to, true));
+            return ResponseEntity.ok(logService.findPage(filter, cursor, limit));
+        } catch (DateTimeParseException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid date: " + ex.getParsedString()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
     }
 
-    // Get logs by specific user email (for filtering)
+    // Daily per-action / per-actor counts (kept after raw logs expire). Days are inclusive, default: last 30 days.
+    @GetMapping("/daily")
+    public ResponseEntity<?> getDailyRollups(@RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to,
+                                             @RequestParam(required = false) String action,
+                                             @RequestParam(required = false) String actorEmail) {
+        try {
+            LocalDate toDay = (to == null || to.isBlank()) ? LocalDate.now() : LocalDate.parse(to);
+            LocalDate fromDay = (from == null || from.isBlank()) ? toDay.minusDays(29) : LocalDate.parse(from);
+            Range<String> days = Range.closed(fromDay.toString(), toDay.toString());
+            List<LogDailyRollup> rows;
+            if (actorEmail != null && !actorEmail.isBlank()) {
+                rows = rollupRepository.findByActorEmailAndDayBetweenOrderByDayAsc(actorEmail, days);
+                if (action != null && !action.isBlank()) {
+                    rows = rows.stream().filter(r -> action.equals(r.getAction())).toList();
+                }
+            } else if (action != null && !action.isBlank()) {
+                rows = rollupRepository.findByActionAndDayBetweenOrderByDayAsc(action, days);
+            } else {
+                rows = rollupRepository.findByDayBetweenOrderByDayAscCountDesc(days);
+            }
+            return ResponseEntity.ok(rows);
+        } catch (DateTimeParseException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid date: " + ex.getParsedString()));
+        }
+    }
+
+    // Latest logs of a specific user (first page); use /search?actorEmail= with nextCursor for older ones
     @GetMapping("/user/{email}")
     public ResponseEntity<List<Log>> getLogsByUser(@PathVariable String email) {
-        return ResponseEntity.ok(logRepository.findByActorEmail(email));
+        LogFilter filter = new LogFilter();
+        filter.setActorEmail(email);
+        return ResponseEntity.ok(logService.findPage(filter, null, Integer.MAX_VALUE).getItems());
+    }
+
+    // Audit write pipeline: buffered / written / dropped counters, reads collapsed by the read-audit policy
+    @GetMapping("/pipeline")
+    public ResponseEntity<Map<String, Object>> getPipelineStatus() {
+        Map<String, Object> body = auditLogWriter.snapshot();
+        body.put("readsSuppressed", logService.getReadsSuppressed());
+        return ResponseEntity.ok(body);
+    }
+
+    private static LocalDateTime parseBound(String value, boolean upper) {
+        if (value == null || value.isBlank()) return null;
+        if (value.length() == 10) {
+            LocalDate d = LocalDate.parse(value);
+            return upper ? d.plusDays(1).atStartOfDay() : d.atStartOfDay();
+        }
+        return LocalDateTime.parse(value);
     }
-}
\ No newline at end of file
+}
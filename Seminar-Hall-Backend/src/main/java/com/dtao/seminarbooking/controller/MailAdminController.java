@@ -0,0 +1,51 @@
+package com.dtao.seminarbooking.controller;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.service.EmailOutboxService;
+import com.dtao.seminarbooking.service.SmtpCircuitBreaker;
+import com.dtao.seminarbooking.service.SmtpConnectionPool;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admin view of the mail pipeline: SMTP circuit breaker, connection bulkhead and outbox backlog.
+ */
+@RestController
+@RequestMapping("/api/admin/mail")
+public class MailAdminController {
+
+    private final SmtpCircuitBreaker breaker;
+    private final SmtpConnectionPool pool;
+    private final EmailOutboxService outboxService;
+
+    public MailAdminController(SmtpCircuitBreaker breaker, SmtpConnectionPool pool, EmailOutboxService outboxService) {
+        this.breaker = breaker;
+        this.pool = pool;
+        this.outboxService = outboxService;
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> status() {
+        Map<String, Object> bulkhead = new LinkedHashMap<>();
+        bulkhead.put("inUse", pool.getInUseCount());
+        bulkhead.put("idle", pool.getIdleCount());
+        bulkhead.put("opened", pool.getOpenedCount());
+        bulkhead.put("rejected", pool.getRejectedCount());
+
+        Map<String, Object> outbox = new LinkedHashMap<>();
+        outbox.put("pending", outboxService.countByStatus(EmailOutboxMessage.PENDING));
+        outbox.put("sending", outboxService.countByStatus(EmailOutboxMessage.SENDING));
+        outbox.put("dead", outboxService.countByStatus(EmailOutboxMessage.DEAD));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("circuit", breaker.snapshot());
+        body.put("bulkhead", bulkhead);
+        body.put("outbox", outbox);
+        return ResponseEntity.ok(body);
+    }
+}
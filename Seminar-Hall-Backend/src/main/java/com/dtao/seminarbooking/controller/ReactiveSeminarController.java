@@ -0,0 +1,147 @@
+package com.dtao.seminarbooking.controller;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.payload.BookingChange;
+import com.dtao.seminarbooking.payload.ChangePage;
+import com.dtao.seminarbooking.service.BookingChangeFeed;
+import com.dtao.seminarbooking.service.ReactiveSeminarService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Non-blocking read endpoints for clients that poll or stream (dashboards, wall displays, calendars left open).
+ * Handlers return Mono / Flux: the request thread is released straight away and the response is written when
+ * reactive Mongo (or the change feed) has something, so a few threads serve many concurrent clients.
+ * Writes stay on the blocking /api/seminars endpoints; their booking events feed /changes and /stream.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+public class ReactiveSeminarController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSeminarController.class);
+
+    private static final int MAX_CHANGES = 500;
+    private static final long MAX_WAIT_MS = 30_000; // below spring.mvc.async.request-timeout
+
+    private final ReactiveSeminarService service;
+    private final BookingChangeFeed feed;
+    private final Duration heartbeat;
+    private final Duration streamMaxAge;
+
+    public ReactiveSeminarController(ReactiveSeminarService service,
+                                     BookingChangeFeed feed,
+                                     @Value("${app.reactive.stream.heartbeat-ms:15000}") long heartbeatMs,
+                                     @Value("${app.reactive.stream.max-age-ms:55000}") long maxAgeMs) {
+        this.service = service;
+        this.feed = feed;
+        this.heartbeat = Duration.ofMillis(heartbeatMs);
+        this.streamMaxAge = Duration.ofMillis(maxAgeMs);
+    }
+
+    // ----------------- LISTING -----------------
+    // JSON array by default; Accept: application/x-ndjson streams one seminar per line as documents arrive
+    @GetMapping(path = "/seminars", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Seminar> getSeminars(@RequestParam(required = false) String status,
+                                     @RequestParam(required = false) String hallName) {
+        return service.list(status, hallName);
+    }
+
+    @GetMapping("/seminars/day/{date}")
+    public Flux<Seminar> getSeminarsForDay(@PathVariable String date,
+                                           @RequestParam(required = false) String hallName) {
+        return service.day(date, hallName);
+    }
+
+    // ----------------- CALENDARS -----------------
+    @GetMapping("/seminars/calendar")
+    public Mono<ResponseEntity<?>> getCalendarMonthSummary(@RequestParam(required = false) String hallName,
+                                                           @RequestParam Integer year,
+                                                           @RequestParam Integer month) {
+        if (month < 1 || month > 12) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "month must be between 1 and 12")));
+        }
+        return service.hallCalendar(hallName, year, month)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(ex -> serverError("getCalendarMonthSummary", ex));
+    }
+
+    @GetMapping("/departments/calendar")
+    public Mono<ResponseEntity<?>> getDepartmentCalendar(@RequestParam String department,
+                                                         @RequestParam int year,
+                                                         @RequestParam int month) {
+        if (month < 1 || month > 12) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("error", "month must be between 1 and 12")));
+        }
+        return service.departmentCalendar(department, year, month)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(ex -> serverError("getDepartmentCalendar", ex));
+    }
+
+    @GetMapping("/departments/day")
+    public Flux<Seminar> getDepartmentSeminarsByDate(@RequestParam String department,
+                                                     @RequestParam String date) {
+        return service.departmentDay(department, date);
+    }
+
+    // ----------------- CHANGE FEED -----------------
+
+    /**
+     * Changes after `since` (omit it to get the current position). With waitMs > 0 an empty answer is held back until
+     * the next change or the wait runs out (long polling), without holding a thread.
+     * reset = true means the changes since `since` are no longer all kept: reload the views and continue from `next`.
+     */
+    @GetMapping("/seminars/changes")
+    public Mono<ChangePage> getChanges(@RequestParam(required = false) String epoch,
+                                       @RequestParam(required = false) Long since,
+                                       @RequestParam(defaultValue = "100") int limit,
+                                       @RequestParam(defaultValue = "0") long waitMs) {
+        int max = Math.max(1, Math.min(limit, MAX_CHANGES));
+        ChangePage page = feed.changesSince(epoch, since, max);
+        if (waitMs <= 0 || since == null || page.reset() || !page.changes().isEmpty()) return Mono.just(page);
+        return feed.stream(since)
+                .next()
+                .map(first -> feed.changesSince(epoch, since, max))
+                .timeout(Duration.ofMillis(Math.min(waitMs, MAX_WAIT_MS)), Mono.just(page))
+                .defaultIfEmpty(page); // shutting down
+    }
+
+    /**
+     * Server-sent events: one "booking" event per change (id = epoch:seq, data = BookingChange), a comment every
+     * heartbeat so proxies keep the connection, and a close before the async request timeout. EventSource reconnects
+     * on its own and sends Last-Event-ID, which replays what was missed; a "reset" event means reload the views.
+     */
+    @GetMapping(path = "/seminars/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> stream(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        long after = lastEventId == null ? feed.currentSeq() : feed.resumePoint(lastEventId);
+        Flux<ServerSentEvent<?>> reset = Flux.empty();
+        if (after < 0) {
+            after = feed.currentSeq();
+            reset = Flux.just(ServerSentEvent.builder(Map.of("epoch", feed.getEpoch(), "next", after))
+                    .id(feed.getEpoch() + ":" + after).event("reset").build());
+        }
+        Flux<ServerSentEvent<?>> changes = feed.stream(after).map(this::toEvent);
+        Flux<ServerSentEvent<?>> heartbeats = Flux.interval(heartbeat).map(i -> ServerSentEvent.builder().comment("keep-alive").build());
+        return reset.concatWith(Flux.merge(changes, heartbeats))
+                .take(streamMaxAge)
+                .takeUntilOther(feed.whenStopped());
+    }
+
+    private ServerSentEvent<?> toEvent(BookingChange change) {
+        return ServerSentEvent.builder(change).id(feed.eventId(change)).event("booking").build();
+    }
+
+    private Mono<ResponseEntity<?>> serverError(String where, Throwable ex) {
+        log.error("[ReactiveSeminarController] {} error: {}", where, ex.getMessage(), ex);
+        return Mono.just(ResponseEntity.status(500).body(Map.of("error", "Server error")));
+    }
+}
@@ -42,8 +42,7 @@ public class RequestController {
     public ResponseEntity<List<Seminar>> getRequests(@RequestParam(required = false) String status, HttpServletRequest request) { // ✅ Added Request
 
         // 1. LOGGING (Audit who viewed the list)
-        // Note: If you use polling on this endpoint, this log might fill up fast.
-        // Currently, AllSeminarsPage loads this once on mount, so it is safe.
+        // Note: Polling is safe: LogService collapses repeated VIEW_* reads (app.audit.read-dedup.*).
         String filterLog = (status == null) ? "All" : status;
         logService.logAction(
                 request,
@@ -1,14 +1,19 @@
 package com.dtao.seminarbooking.controller;
 
-import com.dtao.seminarbooking.model.HallOperator;
+import com.dtao.seminarbooking.event.BookingCancelRequestedEvent;
+import com.dtao.seminarbooking.event.BookingCreatedEvent;
+import com.dtao.seminarbooking.event.BookingRemovedEvent;
+import com.dtao.seminarbooking.event.BookingStatusChangedEvent;
+import com.dtao.seminarbooking.jfr.CalendarBuildEvent;
 import com.dtao.seminarbooking.model.Seminar;
-import com.dtao.seminarbooking.service.EmailService;
-import com.dtao.seminarbooking.service.HallOperatorService;
 import com.dtao.seminarbooking.service.LogService;
 import com.dtao.seminarbooking.service.SeminarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest; // Ensure spring-boot-starter-web is present
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,7 +21,6 @@ import java.security.Principal; // ✅ IMPORTED FOR REAL EMAIL LOGGING
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,20 +30,20 @@ public class SeminarController {
     private static final Logger log = LoggerFactory.getLogger(SeminarController.class);
 
     private final SeminarService seminarService;
-    private final EmailService emailService;
-    private final HallOperatorService hallOperatorService;
     private final LogService logService; // ✅ NEW: Logging Service
+    private final ApplicationEventPublisher events; // audit log + emails run in booking event listeners
+    private final MeterRegistry meterRegistry;
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
 
     public SeminarController(SeminarService seminarService,
-                             EmailService emailService,
-                             HallOperatorService hallOperatorService,
-                             LogService logService) {
+                             LogService logService,
+                             ApplicationEventPublisher events,
+                             MeterRegistry meterRegistry) {
         this.seminarService = seminarService;
-        this.emailService = emailService;
-        this.hallOperatorService = hallOperatorService;
         this.logService = logService;
+        this.events = events;
+        this.meterRegistry = meterRegistry;
     }
 
     @PostMapping
@@ -54,41 +58,8 @@ public class SeminarController {
 
             Seminar saved = seminarService.addSeminar(seminar);
 
-            // ✅ 2. LOGGING
-            logService.logAction(
-                    request,
-                    "CREATE_REQUEST",
-                    saved.getEmail(),
-                    "DEPT",
-                    saved.getId(),
-                    "Requested " + saved.getHallName() + " for " + saved.getSlotTitle()
-            );
-
-            // 3. Send booking confirmation to requester (Acknowledgement)
-            try {
-                CompletableFuture<Boolean> f = emailService.sendBookingCreatedEmail(saved);
-                attachLogging(f, "sendBookingCreatedEmail", saved.getEmail());
-            } catch (Exception ex) {
-                log.error("[SeminarController] Failed to initiate booking-created email: {}", ex.getMessage(), ex);
-            }
-
-            // 4. Notify ALL hall operators for this hall (New Request Alert)
-            try {
-                if (saved.getHallName() != null) {
-                    List<HallOperator> heads = hallOperatorService.findByHallName(saved.getHallName());
-                    for (HallOperator head : heads) {
-                        try {
-                            CompletableFuture<Boolean> f = emailService.sendHallHeadBookingCreatedEmail(head, saved);
-                            attachLogging(f, "sendHallHeadBookingCreatedEmail", head.getHeadEmail());
-                        } catch (Exception ex) {
-                            log.error("[SeminarController] Failed to initiate hall-head booking-created email for head={} : {}",
-                                    head == null ? "null" : head.getHeadEmail(), ex.getMessage(), ex);
-                        }
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("[SeminarController] Error while finding hall operators on create: {}", ex.getMessage(), ex);
-            }
+            // ✅ 2. Audit log, requester acknowledgement and hall-head alert happen in the event listeners
+            events.publishEvent(new BookingCreatedEvent(saved, saved.getEmail(), logService.getClientIp(request)));
 
             return ResponseEntity.ok(saved);
         } catch (RuntimeException ex) {
@@ -127,6 +98,9 @@ public class SeminarController {
             @RequestParam(required = false) String hallName,
             @RequestParam Integer year,
             @RequestParam Integer month) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CalendarBuildEvent jfr = new CalendarBuildEvent();
+        jfr.begin();
         try {
             if (year == null || month == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "year and month are required (month: 1-12)"));
@@ -139,6 +113,7 @@ public class SeminarController {
             LocalDate start = LocalDate.of(year, month, 1);
             LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
             List<Seminar> all = seminarService.getAllSeminars();
+            jfr.bookingsRead = all.size();
             String hallNameNorm = (hallName == null || hallName.isBlank()) ? null : hallName.trim();
             Map<LocalDate, Integer> counts = new HashMap<>();
 
@@ -192,6 +167,15 @@ public class SeminarController {
         } catch (Exception ex) {
             log.error("[SeminarController] getCalendarMonthSummary error: {}", ex.getMessage(), ex);
             return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        } finally {
+            sample.stop(meterRegistry.timer("booking.calendar.generate", "source", "hall"));
+            if (jfr.shouldCommit() && year != null && month != null) {
+                jfr.source = "hall";
+                jfr.scope = hallName;
+                jfr.year = year;
+                jfr.month = month;
+                jfr.commit();
+            }
         }
     }
 
@@ -229,56 +213,18 @@ public class SeminarController {
 
             String afterStatus = seminar.getStatus() == null ? "UNKNOWN" : seminar.getStatus().toUpperCase();
 
-            // ✅ LOGGING STATUS CHANGE
+            // ✅ STATUS CHANGE: audit log + requester / hall-head emails happen in the event listeners
             if (!beforeStatus.equals(afterStatus)) {
-                String action = "UPDATE_STATUS";
-                if ("APPROVED".equals(afterStatus)) action = "APPROVE_SEMINAR";
-                if ("REJECTED".equals(afterStatus)) action = "REJECT_SEMINAR";
-                if ("CANCELLED".equals(afterStatus)) action = "CANCEL_SEMINAR";
-
                 // ✅ Use Real Email or Fallback
                 String actorEmail = (principal != null) ? principal.getName() : "ADMIN";
 
-                logService.logAction(
-                        request,
-                        action,
-                        actorEmail, // Real Email Logged Here
-                        "ADMIN",
-                        id,
-                        "Status changed from " + beforeStatus + " to " + afterStatus + ". Remarks: " + updatedSeminar.getRemarks()
-                );
-
-                // Send Emails
-                if (afterStatus.equals("APPROVED") || afterStatus.equals("REJECTED")
-                        || afterStatus.equals("CANCELLED") || afterStatus.equals("CANCEL_REQUESTED")) {
-
-                    String reason = updatedSeminar.getRemarks();
-                    if ((reason == null || reason.isBlank()) && updatedSeminar.getCancellationReason() != null) {
-                        reason = updatedSeminar.getCancellationReason();
-                    }
-
-                    // 1) Notify Requester
-                    try {
-                        CompletableFuture<Boolean> f = emailService.sendStatusNotification(seminar.getEmail(), seminar, afterStatus, reason);
-                        attachLogging(f, "sendStatusNotification(" + afterStatus + ")", seminar.getEmail());
-                    } catch (Exception ex) {
-                        log.error("[SeminarController] Failed to notify requester", ex);
-                    }
-
-                    // 2) Notify Operators
-                    try {
-                        if (seminar.getHallName() != null) {
-                            List<HallOperator> heads = hallOperatorService.findByHallName(seminar.getHallName());
-                            for (HallOperator head : heads) {
-                                if ("APPROVED".equals(afterStatus)) emailService.sendHallHeadBookingApprovedEmail(head, seminar, reason);
-                                else if ("REJECTED".equals(afterStatus)) emailService.sendHallHeadBookingRejectedEmail(head, seminar, reason);
-                                else if ("CANCELLED".equals(afterStatus)) emailService.sendHallHeadBookingCancelledEmail(head, seminar, reason);
-                            }
-                        }
-                    } catch (Exception ex) {
-                        log.error("[SeminarController] Error notifying operators", ex);
-                    }
+                String reason = updatedSeminar.getRemarks();
+                if ((reason == null || reason.isBlank()) && updatedSeminar.getCancellationReason() != null) {
+                    reason = updatedSeminar.getCancellationReason();
                 }
+
+                events.publishEvent(new BookingStatusChangedEvent(seminar, beforeStatus, afterStatus, reason,
+                        updatedSeminar.getRemarks(), actorEmail, logService.getClientIp(request)));
             } else {
                 // Just a detail update
                 logService.logAction(request, "UPDATE_DETAILS", "ADMIN", "ADMIN", id, "Updated booking details");
@@ -295,38 +241,13 @@ public class SeminarController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSeminar(@PathVariable String id, HttpServletRequest request, Principal principal) { // ✅ Added Principal
-        seminarService.getById(id).ifPresent(seminar -> {
+        Seminar seminar = seminarService.getById(id).orElse(null);
+        seminarService.deleteSeminar(id);
 
+        if (seminar != null) {
             String actorEmail = (principal != null) ? principal.getName() : "ADMIN";
-
-            // ✅ LOGGING DELETE
-            logService.logAction(request, "DELETE_SEMINAR", actorEmail, "ADMIN", id, "Deleted seminar: " + seminar.getSlotTitle());
-
-            try {
-                CompletableFuture<Boolean> f = emailService.sendSeminarRemovedEmail(seminar);
-                attachLogging(f, "sendSeminarRemovedEmail", seminar.getEmail());
-            } catch (Exception ex) {
-                log.error("[SeminarController] Failed to initiate seminar-removed email: {}", ex.getMessage(), ex);
-            }
-
-            try {
-                if (seminar.getHallName() != null) {
-                    List<HallOperator> heads = hallOperatorService.findByHallName(seminar.getHallName());
-                    for (HallOperator head : heads) {
-                        try {
-                            CompletableFuture<Boolean> f = emailService.sendHallHeadBookingCancelledEmail(head, seminar, "Booking removed from portal");
-                            attachLogging(f, "sendHallHeadBookingCancelledEmail", head.getHeadEmail());
-                        } catch (Exception ex) {
-                            log.error("[SeminarController] Failed to notify hall head on delete", ex);
-                        }
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("[SeminarController] Error notifying hall operator on deletion", ex);
-            }
-        });
-
-        seminarService.deleteSeminar(id);
+            events.publishEvent(new BookingRemovedEvent(seminar, actorEmail, logService.getClientIp(request)));
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -347,33 +268,9 @@ public class SeminarController {
                 return ResponseEntity.notFound().build();
             }
 
-            // ✅ LOGGING CANCEL REQUEST
-            logService.logAction(
-                    request,
-                    "CANCEL_REQUEST",
-                    updated.getEmail(),
-                    "DEPT",
-                    id,
-                    "Requested cancellation. Reason: " + cancellationReason
-            );
-
-            // Emails...
-            try {
-                emailService.sendStatusNotification(updated.getEmail(), updated, "CANCEL_REQUESTED", cancellationReason);
-            } catch (Exception ex) {
-                log.error("[SeminarController] Failed to notify requester of cancel-request", ex);
-            }
-
-            try {
-                if (updated.getHallName() != null) {
-                    List<HallOperator> heads = hallOperatorService.findByHallName(updated.getHallName());
-                    for (HallOperator head : heads) {
-                        emailService.sendHallHeadBookingCreatedEmail(head, updated); // Re-using created template as notification
-                    }
-                }
-            } catch (Exception ex) {
-                log.error("[SeminarController] Error notifying hall operator on cancel-request", ex);
-            }
+            // ✅ Audit log + requester / hall-head emails happen in the event listeners
+            events.publishEvent(new BookingCancelRequestedEvent(updated, cancellationReason,
+                    updated.getEmail(), logService.getClientIp(request)));
 
             return ResponseEntity.ok(updated);
         } catch (RuntimeException ex) {
@@ -405,21 +302,6 @@ public class SeminarController {
         return ResponseEntity.ok(filtered);
     }
 
-    private void attachLogging(CompletableFuture<Boolean> future, String operation, String target) {
-        if (future == null) return;
-        future.whenComplete((ok, ex) -> {
-            if (ex != null) {
-                log.error("[Email] {} failed for target={} : {}", operation, target, ex.getMessage(), ex);
-            } else {
-                if (Boolean.TRUE.equals(ok)) {
-                    log.info("[Email] {} succeeded for target={}", operation, target);
-                } else {
-                    log.warn("[Email] {} returned false for target={}", operation, target);
-                }
-            }
-        });
-    }
-
     public static class CalendarDaySummary {
         private String date;
         private boolean free;
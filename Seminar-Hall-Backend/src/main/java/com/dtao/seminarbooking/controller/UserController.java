@@ -2,8 +2,12 @@ package com.dtao.seminarbooking.controller;
 
 import com.dtao.seminarbooking.model.User;
 import com.dtao.seminarbooking.payload.LoginRequest;
+import com.dtao.seminarbooking.payload.UserSummary;
+import com.dtao.seminarbooking.security.CustomUserDetails;
+import com.dtao.seminarbooking.security.TokenRevocationService;
 import com.dtao.seminarbooking.service.EmailService;
 import com.dtao.seminarbooking.service.LogService; // ✅ IMPORTED
+import com.dtao.seminarbooking.service.RefreshTokenService;
 import com.dtao.seminarbooking.service.UserService;
 import com.dtao.seminarbooking.security.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletRequest; // ✅ IMPORTED
@@ -13,8 +17,10 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,6 +43,15 @@ public class UserController {
     @Autowired
     private LogService logService; // ✅ INJECTED LOG SERVICE
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @PostMapping
     public ResponseEntity<?> createUser(@RequestBody User user, HttpServletRequest request) { // ✅ Added Request
         try {
@@ -92,11 +107,11 @@ public class UserController {
             String jwt = jwtTokenProvider.generateToken(authentication, rememberMe);
             long expiresIn = jwtTokenProvider.getExpiresInSeconds(rememberMe);
 
-            Optional<User> maybeUser = userService.getUserByEmail(loginRequest.getEmail().trim().toLowerCase());
-            if (maybeUser.isEmpty()) {
+            // The provider already loaded the user while checking the password - reuse it instead of a second lookup
+            User user = (authentication.getPrincipal() instanceof CustomUserDetails cud) ? cud.getUser() : null;
+            if (user == null) {
                 return ResponseEntity.status(500).body(Map.of("error", "User record not found after authentication"));
             }
-            User user = maybeUser.get();
 
             String normalizedRole = user.getRole() == null ? "DEPARTMENT" : user.getRole();
 
@@ -110,28 +125,15 @@ public class UserController {
                     "User logged in successfully"
             );
 
+            // NOTE: the admin user list is no longer embedded here; the dashboard pages it via GET /api/users/page
             Map<String, Object> resp = new HashMap<>();
             resp.put("token", jwt);
             resp.put("expiresIn", expiresIn);
+            resp.put("refreshToken", refreshTokenService.issue(user.getEmail(), rememberMe));
+            resp.put("refreshExpiresIn", refreshTokenService.getExpiresInSeconds(rememberMe));
             resp.put("user", toResponse(user));
             resp.put("role", normalizedRole);
 
-            if ("ADMIN".equalsIgnoreCase(normalizedRole)) {
-                List<Map<String, Object>> usersForDashboard = userService.getAllUsers()
-                        .stream()
-                        .map(u -> {
-                            Map<String, Object> m = new HashMap<>();
-                            m.put("id", u.getId());
-                            m.put("name", u.getName());
-                            m.put("email", u.getEmail());
-                            m.put("department", u.getDepartment());
-                            m.put("role", u.getRole());
-                            return m;
-                        })
-                        .collect(Collectors.toList());
-                resp.put("users", usersForDashboard);
-            }
-
             return ResponseEntity.ok(resp);
         } catch (Exception e) {
             e.printStackTrace();
@@ -149,11 +151,34 @@ public class UserController {
 
     @GetMapping
     public ResponseEntity<?> getAllUsers() {
-        List<User> all = userService.getAllUsers();
+        List<UserSummary> all = userService.getAllUserSummaries();
         List<Map<String, Object>> resp = all.stream().map(this::toResponse).collect(Collectors.toList());
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * Keyset-paginated user listing (ordered by id).
+     * Pass the returned "nextCursor" as "after" to fetch the next page; it is null on the last page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getUsersPage(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        List<UserSummary> rows = userService.getUserSummaries(q, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        Map<String, Object> resp = new HashMap<>();
+        resp.put("items", rows.stream().map(this::toResponse).collect(Collectors.toList()));
+        resp.put("nextCursor", hasMore ? rows.get(rows.size() - 1).getId() : null);
+        resp.put("hasMore", hasMore);
+        return ResponseEntity.ok(resp);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable String id, HttpServletRequest request) { // ✅ Added Request
         Optional<User> maybe = userService.getUserById(id);
@@ -172,6 +197,10 @@ public class UserController {
         });
 
         userService.deleteUser(id);
+        maybe.ifPresent(user -> {
+            refreshTokenService.revokeAllForUser(user.getEmail());
+            tokenRevocationService.revokeAllForUser(user.getEmail(), "USER_REMOVED");
+        });
 
         // ✅ LOGGING: User Deleted
         logService.logAction(
@@ -186,6 +215,30 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Ends every session of a user (compromised account): revokes all issued access and refresh tokens.
+     */
+    @PutMapping("/{id}/revoke-sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeSessions(@PathVariable String id, HttpServletRequest request, Principal principal) {
+        Optional<User> maybe = userService.getUserById(id);
+        if (maybe.isEmpty()) return ResponseEntity.notFound().build();
+
+        User user = maybe.get();
+        refreshTokenService.revokeAllForUser(user.getEmail());
+        tokenRevocationService.revokeAllForUser(user.getEmail(), "ADMIN_REVOKED");
+
+        logService.logAction(
+                request,
+                "REVOKE_SESSIONS",
+                principal != null ? principal.getName() : "ADMIN",
+                "ADMIN",
+                id,
+                "Revoked all sessions for: " + user.getEmail()
+        );
+        return ResponseEntity.ok(Map.of("message", "Sessions revoked"));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateUser(@PathVariable String id, @RequestBody User user, HttpServletRequest request) { // ✅ Added Request
         try {
@@ -209,6 +262,20 @@ public class UserController {
         }
     }
 
+    private Map<String, Object> toResponse(UserSummary u) {
+        Map<String, Object> r = new HashMap<>();
+        r.put("id", u.getId());
+        r.put("name", u.getName());
+        r.put("department", u.getDepartment());
+        r.put("email", u.getEmail());
+        r.put("phone", u.getPhone());
+        r.put("role", u.getRole());
+        r.put("createdBy", u.getCreatedBy());
+        r.put("createdAt", u.getCreatedAt() == null ? null : u.getCreatedAt().toString());
+        r.put("active", u.isActive());
+        return r;
+    }
+
     private Map<String, Object> toResponse(User u) {
         if (u == null) return null;
         Map<String, Object> r = new HashMap<>();
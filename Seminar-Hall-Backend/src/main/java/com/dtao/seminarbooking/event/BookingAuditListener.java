@@ -0,0 +1,55 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.service.LogService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Writes the audit-log line for each booking event.
+ */
+@Component
+public class BookingAuditListener {
+
+    private final LogService logService;
+
+    public BookingAuditListener(LogService logService) {
+        this.logService = logService;
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(BookingCreatedEvent e) {
+        Seminar s = e.seminar();
+        logService.logAction(e.clientIp(), "CREATE_REQUEST", e.actorEmail(), "DEPT", s.getId(),
+                "Requested " + s.getHallName() + " for " + s.getSlotTitle());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent e) {
+        String action = switch (e.afterStatus()) {
+            case "APPROVED" -> "APPROVE_SEMINAR";
+            case "REJECTED" -> "REJECT_SEMINAR";
+            case "CANCELLED" -> "CANCEL_SEMINAR";
+            default -> "UPDATE_STATUS";
+        };
+        logService.logAction(e.clientIp(), action, e.actorEmail(), "ADMIN", e.seminar().getId(),
+                "Status changed from " + e.beforeStatus() + " to " + e.afterStatus() + ". Remarks: " + e.remarks());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancelRequested(BookingCancelRequestedEvent e) {
+        logService.logAction(e.clientIp(), "CANCEL_REQUEST", e.actorEmail(), "DEPT", e.seminar().getId(),
+                "Requested cancellation. Reason: " + e.reason());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(BookingRemovedEvent e) {
+        logService.logAction(e.clientIp(), "DELETE_SEMINAR", e.actorEmail(), "ADMIN", e.seminar().getId(),
+                "Deleted seminar: " + e.seminar().getSlotTitle());
+    }
+}
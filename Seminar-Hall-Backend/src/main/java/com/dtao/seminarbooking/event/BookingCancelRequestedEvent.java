@@ -0,0 +1,13 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+
+import java.time.Instant;
+
+public record BookingCancelRequestedEvent(Seminar seminar, String reason, String actorEmail, String clientIp,
+                                          Instant occurredAt) implements BookingEvent {
+
+    public BookingCancelRequestedEvent(Seminar seminar, String reason, String actorEmail, String clientIp) {
+        this(seminar, reason, actorEmail, clientIp, Instant.now());
+    }
+}
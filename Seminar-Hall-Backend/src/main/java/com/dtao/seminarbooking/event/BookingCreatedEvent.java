@@ -0,0 +1,12 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+
+import java.time.Instant;
+
+public record BookingCreatedEvent(Seminar seminar, String actorEmail, String clientIp, Instant occurredAt) implements BookingEvent {
+
+    public BookingCreatedEvent(Seminar seminar, String actorEmail, String clientIp) {
+        this(seminar, actorEmail, clientIp, Instant.now());
+    }
+}
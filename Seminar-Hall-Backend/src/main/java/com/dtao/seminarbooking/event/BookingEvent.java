@@ -0,0 +1,25 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+
+import java.time.Instant;
+
+/**
+ * Something happened to a booking. Published by SeminarController once the change is saved;
+ * handled asynchronously (audit log, requester email, hall-head notifications) so the request
+ * only pays for the conflict check and the save.
+ * actorEmail / clientIp are captured on the request thread (the servlet request is gone by the time listeners run).
+ * occurredAt is stamped when the event is created (right after the save): listeners run in parallel, so events of
+ * one booking can be handled out of order, and this is what puts them back in order.
+ */
+public sealed interface BookingEvent
+        permits BookingCreatedEvent, BookingStatusChangedEvent, BookingCancelRequestedEvent, BookingRemovedEvent {
+
+    Seminar seminar();
+
+    String actorEmail();
+
+    String clientIp();
+
+    Instant occurredAt();
+}
@@ -0,0 +1,51 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import com.dtao.seminarbooking.service.HallHeadDigestService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+
+/**
+ * Notifies the hall heads of the booked hall (through their digest buffer).
+ * Events of one booking may run here out of order; the buffer keeps the one with the latest occurredAt.
+ */
+@Component
+public class BookingHallHeadListener {
+
+    // Status changes hall heads are told about (cancel requests arrive as BookingCancelRequestedEvent)
+    private static final Set<String> NOTIFIED_STATUSES = Set.of("APPROVED", "REJECTED", "CANCELLED");
+
+    private final HallHeadDigestService hallHeadDigestService;
+
+    public BookingHallHeadListener(HallHeadDigestService hallHeadDigestService) {
+        this.hallHeadDigestService = hallHeadDigestService;
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(BookingCreatedEvent e) {
+        hallHeadDigestService.record(e.seminar(), HallHeadDigestEntry.CREATED, null, e.occurredAt());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent e) {
+        if (!NOTIFIED_STATUSES.contains(e.afterStatus())) return;
+        hallHeadDigestService.record(e.seminar(), e.afterStatus(), e.reason(), e.occurredAt());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancelRequested(BookingCancelRequestedEvent e) {
+        hallHeadDigestService.record(e.seminar(), HallHeadDigestEntry.CANCEL_REQUESTED, e.reason(), e.occurredAt());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(BookingRemovedEvent e) {
+        hallHeadDigestService.record(e.seminar(), HallHeadDigestEntry.CANCELLED, "Booking removed from portal", e.occurredAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+
+import java.time.Instant;
+
+/** Published after the booking was deleted; seminar is the last saved state. */
+public record BookingRemovedEvent(Seminar seminar, String actorEmail, String clientIp, Instant occurredAt) implements BookingEvent {
+
+    public BookingRemovedEvent(Seminar seminar, String actorEmail, String clientIp) {
+        this(seminar, actorEmail, clientIp, Instant.now());
+    }
+}
@@ -0,0 +1,69 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.service.EmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Emails the person who made the booking.
+ */
+@Component
+public class BookingRequesterMailListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingRequesterMailListener.class);
+
+    // Status changes the requester is told about
+    private static final Set<String> NOTIFIED_STATUSES = Set.of("APPROVED", "REJECTED", "CANCELLED", "CANCEL_REQUESTED");
+
+    private final EmailService emailService;
+
+    public BookingRequesterMailListener(EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCreated(BookingCreatedEvent e) {
+        report(emailService.sendBookingCreatedEmail(e.seminar()), "sendBookingCreatedEmail", e.seminar().getEmail());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(BookingStatusChangedEvent e) {
+        if (!NOTIFIED_STATUSES.contains(e.afterStatus())) return;
+        report(emailService.sendStatusNotification(e.seminar().getEmail(), e.seminar(), e.afterStatus(), e.reason()),
+                "sendStatusNotification(" + e.afterStatus() + ")", e.seminar().getEmail());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCancelRequested(BookingCancelRequestedEvent e) {
+        report(emailService.sendStatusNotification(e.seminar().getEmail(), e.seminar(), "CANCEL_REQUESTED", e.reason()),
+                "sendStatusNotification(CANCEL_REQUESTED)", e.seminar().getEmail());
+    }
+
+    @Async("bookingEventExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRemoved(BookingRemovedEvent e) {
+        report(emailService.sendSeminarRemovedEmail(e.seminar()), "sendSeminarRemovedEmail", e.seminar().getEmail());
+    }
+
+    private void report(CompletableFuture<Boolean> future, String operation, String target) {
+        if (future == null) return;
+        future.whenComplete((ok, ex) -> {
+            if (ex != null) {
+                log.error("[Email] {} failed for target={} : {}", operation, target, ex.getMessage(), ex);
+            } else if (Boolean.TRUE.equals(ok)) {
+                log.info("[Email] {} succeeded for target={}", operation, target);
+            } else {
+                log.warn("[Email] {} returned false for target={}", operation, target);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.dtao.seminarbooking.event;
+
+import com.dtao.seminarbooking.model.Seminar;
+
+import java.time.Instant;
+
+/**
+ * Status moved from beforeStatus to afterStatus (both upper-case).
+ * reason: what the requester / hall heads are told (remarks, falling back to the cancellation reason).
+ * remarks: the remarks sent with the update, as recorded in the audit log.
+ */
+public record BookingStatusChangedEvent(Seminar seminar, String beforeStatus, String afterStatus,
+                                        String reason, String remarks,
+                                        String actorEmail, String clientIp, Instant occurredAt) implements BookingEvent {
+
+    public BookingStatusChangedEvent(Seminar seminar, String beforeStatus, String afterStatus,
+                                     String reason, String remarks, String actorEmail, String clientIp) {
+        this(seminar, beforeStatus, afterStatus, reason, remarks, actorEmail, clientIp, Instant.now());
+    }
+}
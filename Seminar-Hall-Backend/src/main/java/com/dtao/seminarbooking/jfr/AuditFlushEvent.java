@@ -0,0 +1,22 @@
+package com.dtao.seminarbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dtao.seminarbooking.AuditFlush")
+@Label("Audit Log Flush")
+@Category({"Seminar Booking", "Audit"})
+@StackTrace(false)
+public class AuditFlushEvent extends jdk.jfr.Event {
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Queued After")
+    public int queuedAfter;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
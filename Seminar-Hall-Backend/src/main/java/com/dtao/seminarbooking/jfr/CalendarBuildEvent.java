@@ -0,0 +1,32 @@
+package com.dtao.seminarbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dtao.seminarbooking.CalendarBuild")
+@Label("Calendar Build")
+@Description("Month calendar summary built for a hall or department")
+@Category({"Seminar Booking", "Bookings"})
+@StackTrace(false)
+public class CalendarBuildEvent extends jdk.jfr.Event {
+
+    @Label("Source")
+    @Description("hall, hall-summary or department")
+    public String source;
+
+    @Label("Scope")
+    @Description("Hall or department name (empty = all halls)")
+    public String scope;
+
+    @Label("Year")
+    public int year;
+
+    @Label("Month")
+    public int month;
+
+    @Label("Bookings Read")
+    public int bookingsRead;
+}
@@ -0,0 +1,32 @@
+package com.dtao.seminarbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dtao.seminarbooking.ConflictCheck")
+@Label("Booking Conflict Check")
+@Description("Availability check of one booking request against the existing bookings of its hall")
+@Category({"Seminar Booking", "Bookings"})
+@StackTrace(false)
+public class ConflictCheckEvent extends jdk.jfr.Event {
+
+    @Label("Hall")
+    public String hall;
+
+    @Label("Case")
+    @Description("time-wise or day-range")
+    public String bookingCase;
+
+    @Label("Days Checked")
+    public int daysChecked;
+
+    @Label("Candidates Scanned")
+    @Description("Existing bookings compared against the request")
+    public int candidatesScanned;
+
+    @Label("Rejected")
+    public boolean rejected;
+}
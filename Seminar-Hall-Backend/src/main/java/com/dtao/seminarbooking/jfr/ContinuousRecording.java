@@ -0,0 +1,145 @@
+package com.dtao.seminarbooking.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Always-on flight recording kept as a ring buffer (max-age / max-size), so a latency spike can be
+ * looked at after the fact: dumpLast(n) writes the last n minutes to a .jfr file (open it in JDK Mission Control).
+ * Uses the JDK's low-overhead "default" settings plus the app's own events (this package).
+ */
+@Component
+public class ContinuousRecording {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private static final List<Class<? extends jdk.jfr.Event>> APP_EVENTS = List.of(
+            ConflictCheckEvent.class, CalendarBuildEvent.class, EmailSendEvent.class,
+            AuditFlushEvent.class, JwtParseEvent.class);
+
+    private static final DateTimeFormatter FILE_TS = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    @Value("${app.jfr.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jfr.settings:default}")
+    private String settings;
+
+    @Value("${app.jfr.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${app.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    @Value("${app.jfr.dump-dir:${java.io.tmpdir}/seminar-jfr}")
+    private String dumpDir;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Java Flight Recorder not available in this JVM; continuous recording disabled");
+            return;
+        }
+        try {
+            Recording r = new Recording(Configuration.getConfiguration(settings));
+            r.setName("seminar-continuous");
+            r.setToDisk(true);
+            r.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+            r.setMaxSize(maxSizeMb * 1024 * 1024);
+            for (Class<? extends jdk.jfr.Event> type : APP_EVENTS) {
+                r.enable(type).withThreshold(Duration.ZERO);
+            }
+            r.start();
+            recording = r;
+            log.info("Continuous JFR recording started ({} settings, last {} min / {} MB kept)", settings, maxAgeMinutes, maxSizeMb);
+        } catch (Exception ex) {
+            log.warn("Could not start continuous JFR recording: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the last `minutes` of recorded data to a new file in dump-dir and returns its path.
+     * Granularity is the recorder's chunk size, so the file may start a little earlier.
+     */
+    public Path dumpLast(long minutes) throws IOException {
+        if (recording == null) throw new IllegalStateException("Continuous recording is not running");
+        long window = Math.max(1, Math.min(minutes, maxAgeMinutes));
+        Instant end = Instant.now();
+        Instant begin = end.minus(Duration.ofMinutes(window));
+
+        Path dir = Path.of(dumpDir);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("seminar-" + FILE_TS.format(end) + "-last" + window + "m.jfr");
+
+        FlightRecorderMXBean bean = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+        long snapshot = bean.takeSnapshot();
+        try {
+            long stream = bean.openStream(snapshot, Map.of(
+                    "startTime", begin.toString(),
+                    "endTime", end.toString(),
+                    "blockSize", Integer.toString(1024 * 1024)));
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] block;
+                while ((block = bean.readStream(stream)) != null) {
+                    out.write(block);
+                }
+            } finally {
+                bean.closeStream(stream);
+            }
+        } finally {
+            bean.closeRecording(snapshot);
+        }
+        log.info("JFR dump of last {} min written to {}", window, file);
+        return file;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("recording", recording != null);
+        m.put("settings", settings);
+        m.put("maxAgeMinutes", maxAgeMinutes);
+        m.put("maxSizeMb", maxSizeMb);
+        m.put("dumpDir", dumpDir);
+        if (recording != null) {
+            m.put("startedAt", String.valueOf(recording.getStartTime()));
+            m.put("state", recording.getState().name());
+        }
+        return m;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dtao.seminarbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dtao.seminarbooking.EmailSend")
+@Label("Email Send")
+@Category({"Seminar Booking", "Mail"})
+@StackTrace(false)
+public class EmailSendEvent extends jdk.jfr.Event {
+
+    @Label("Template")
+    public String template;
+
+    @Label("Pooled Connection")
+    public boolean pooled;
+
+    @Label("Outcome")
+    public String outcome;
+}
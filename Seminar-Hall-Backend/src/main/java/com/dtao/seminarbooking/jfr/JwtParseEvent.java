@@ -0,0 +1,16 @@
+package com.dtao.seminarbooking.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.dtao.seminarbooking.JwtParse")
+@Label("JWT Parse")
+@Category({"Seminar Booking", "Security"})
+@StackTrace(false)
+public class JwtParseEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
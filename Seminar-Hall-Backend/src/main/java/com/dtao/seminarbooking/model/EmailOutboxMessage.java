@@ -0,0 +1,91 @@
+package com.dtao.seminarbooking.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A rendered email waiting to be delivered by the background dispatcher.
+ * Written right after the domain change, so mail survives restarts and executor overflow.
+ *
+ * Lifecycle: PENDING -> SENDING (claimed, leased) -> SENT | PENDING (retry with backoff) | DEAD
+ * The body is dropped once SENT or DEAD; bodies carrying a secret (OTP) are stored sealed until then.
+ */
+@Document(collection = "email_outbox")
+public class EmailOutboxMessage {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    @Id
+    private String id;
+
+    private String idempotencyKey;  // unique: enqueueing the same message twice is a no-op
+    private String template;        // e.g. "BOOKING_CREATED" (for metrics / troubleshooting)
+    private String toEmail;
+    private String subject;
+    private String htmlBody;
+    private boolean sealed;         // htmlBody is encrypted, see EmailOutboxService.seal
+
+    private String status;
+    private int attempts = 0;
+    private Instant nextAttemptAt;
+    private String lockedBy;        // dispatcher instance holding the lease
+    private Instant lockedUntil;
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant sentAt;
+    private Instant purgeAt;        // TTL: set once SENT or DEAD so finished mail is cleaned up
+
+    public EmailOutboxMessage() {}
+
+    public EmailOutboxMessage(String idempotencyKey, String template, String toEmail, String subject, String htmlBody) {
+        Instant now = Instant.now();
+        this.idempotencyKey = idempotencyKey;
+        this.template = template;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.status = PENDING;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+
+    // getters & setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public String getTemplate() { return template; }
+    public void setTemplate(String template) { this.template = template; }
+    public String getToEmail() { return toEmail; }
+    public void setToEmail(String toEmail) { this.toEmail = toEmail; }
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+    public String getHtmlBody() { return htmlBody; }
+    public void setHtmlBody(String htmlBody) { this.htmlBody = htmlBody; }
+    public boolean isSealed() { return sealed; }
+    public void setSealed(boolean sealed) { this.sealed = sealed; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(Instant lockedUntil) { this.lockedUntil = lockedUntil; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getSentAt() { return sentAt; }
+    public void setSentAt(Instant sentAt) { this.sentAt = sentAt; }
+    public Instant getPurgeAt() { return purgeAt; }
+    public void setPurgeAt(Instant purgeAt) { this.purgeAt = purgeAt; }
+}
@@ -0,0 +1,117 @@
+package com.dtao.seminarbooking.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One pending hall-head notification: the latest state of one booking for one head.
+ * Unique on (headEmail, seminarId), so a later event on the same booking replaces the earlier one
+ * (PENDING -> APPROVED -> CANCELLED inside a window is sent once, as CANCELLED).
+ * Booking fields are a snapshot taken at event time (the booking may be deleted before the flush).
+ */
+@Document(collection = "hall_head_digest")
+public class HallHeadDigestEntry {
+
+    // Events, in the wording the hall-head templates use
+    public static final String CREATED = "CREATED";
+    public static final String CANCEL_REQUESTED = "CANCEL_REQUESTED";
+    public static final String APPROVED = "APPROVED";
+    public static final String REJECTED = "REJECTED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    private String id;
+
+    private String headEmail;
+    private String headName;
+    private String seminarId;
+
+    private String event;
+    private String reason;
+
+    // Booking snapshot
+    private String hallName;
+    private String slotTitle;
+    private String bookingName;
+    private String bookingEmail;
+    private String department;
+    private String phone;
+    private String date;
+    private String startTime;
+    private String endTime;
+    private String startDate;
+    private String endDate;
+    private Map<String, Seminar.DaySlot> daySlots;
+
+    private Instant firstAt;   // first event in this window
+    private Instant updatedAt; // last (coalesced) event
+    private Instant dueAt;     // when the recipient's buffer should be flushed
+
+    public HallHeadDigestEntry() {}
+
+    /** Rebuilds a detached Seminar from the snapshot (for the single-event templates). */
+    public Seminar toSeminar() {
+        Seminar s = new Seminar();
+        s.setId(seminarId);
+        s.setHallName(hallName);
+        s.setSlotTitle(slotTitle);
+        s.setBookingName(bookingName);
+        s.setEmail(bookingEmail);
+        s.setDepartment(department);
+        s.setPhone(phone);
+        s.setDate(date);
+        s.setStartTime(startTime);
+        s.setEndTime(endTime);
+        s.setStartDate(startDate);
+        s.setEndDate(endDate);
+        s.setDaySlots(daySlots);
+        return s;
+    }
+
+    // getters & setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getHeadEmail() { return headEmail; }
+    public void setHeadEmail(String headEmail) { this.headEmail = headEmail; }
+    public String getHeadName() { return headName; }
+    public void setHeadName(String headName) { this.headName = headName; }
+    public String getSeminarId() { return seminarId; }
+    public void setSeminarId(String seminarId) { this.seminarId = seminarId; }
+    public String getEvent() { return event; }
+    public void setEvent(String event) { this.event = event; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public String getHallName() { return hallName; }
+    public void setHallName(String hallName) { this.hallName = hallName; }
+    public String getSlotTitle() { return slotTitle; }
+    public void setSlotTitle(String slotTitle) { this.slotTitle = slotTitle; }
+    public String getBookingName() { return bookingName; }
+    public void setBookingName(String bookingName) { this.bookingName = bookingName; }
+    public String getBookingEmail() { return bookingEmail; }
+    public void setBookingEmail(String bookingEmail) { this.bookingEmail = bookingEmail; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+    public String getDate() { return date; }
+    public void setDate(String date) { this.date = date; }
+    public String getStartTime() { return startTime; }
+    public void setStartTime(String startTime) { this.startTime = startTime; }
+    public String getEndTime() { return endTime; }
+    public void setEndTime(String endTime) { this.endTime = endTime; }
+    public String getStartDate() { return startDate; }
+    public void setStartDate(String startDate) { this.startDate = startDate; }
+    public String getEndDate() { return endDate; }
+    public void setEndDate(String endDate) { this.endDate = endDate; }
+    public Map<String, Seminar.DaySlot> getDaySlots() { return daySlots; }
+    public void setDaySlots(Map<String, Seminar.DaySlot> daySlots) { this.daySlots = daySlots; }
+    public Instant getFirstAt() { return firstAt; }
+    public void setFirstAt(Instant firstAt) { this.firstAt = firstAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Instant getDueAt() { return dueAt; }
+    public void setDueAt(Instant dueAt) { this.dueAt = dueAt; }
+}
@@ -9,6 +9,12 @@ import java.util.List;
 
 @Document(collection = "hall_operators")
 public class HallOperator {
+
+    // How booking notifications are delivered to this head (null = IMMEDIATE)
+    public static final String DIGEST_IMMEDIATE = "IMMEDIATE";
+    public static final String DIGEST_HOURLY = "HOURLY";
+    public static final String DIGEST_DAILY = "DAILY";
+
     @Id
     private String id;
 
@@ -23,6 +29,8 @@ public class HallOperator {
 
     private String phone;
 
+    private String digestMode;
+
     public HallOperator() {}
 
     public HallOperator(List<String> hallIds, List<String> hallNames, String headName, String headEmail, String phone) {
@@ -50,4 +58,7 @@ public class HallOperator {
 
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
+
+    public String getDigestMode() { return digestMode; }
+    public void setDigestMode(String digestMode) { this.digestMode = digestMode; }
 }
@@ -0,0 +1,49 @@
+package com.dtao.seminarbooking.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Daily aggregate of system_logs: how many times one actor performed one action on one day.
+ * Written by LogRetentionService (server-side $merge, id = day|action|actorEmail) and kept after the raw rows expire.
+ */
+@Document(collection = "system_log_daily")
+public class LogDailyRollup {
+
+    @Id
+    private String id;
+
+    private String day;         // yyyy-MM-dd (server time zone, same as Log.timestamp)
+    private String action;
+    private String actorEmail;
+    private List<String> actorRoles;
+    private List<String> ipAddresses;
+    private long count;
+    private LocalDateTime firstAt;
+    private LocalDateTime lastAt;
+
+    public LogDailyRollup() {}
+
+    // Getters & Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    public String getActorEmail() { return actorEmail; }
+    public void setActorEmail(String actorEmail) { this.actorEmail = actorEmail; }
+    public List<String> getActorRoles() { return actorRoles; }
+    public void setActorRoles(List<String> actorRoles) { this.actorRoles = actorRoles; }
+    public List<String> getIpAddresses() { return ipAddresses; }
+    public void setIpAddresses(List<String> ipAddresses) { this.ipAddresses = ipAddresses; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public LocalDateTime getFirstAt() { return firstAt; }
+    public void setFirstAt(LocalDateTime firstAt) { this.firstAt = firstAt; }
+    public LocalDateTime getLastAt() { return lastAt; }
+    public void setLastAt(LocalDateTime lastAt) { this.lastAt = lastAt; }
+}
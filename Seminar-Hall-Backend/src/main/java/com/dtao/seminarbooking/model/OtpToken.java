@@ -11,9 +11,11 @@ public class OtpToken {
     private String id;
 
     private String userId;
-    private String otpHash;
-    private Instant expiresAt;
+    private String otpHash;     // HMAC-SHA256(salt + otp), hex
+    private String salt;        // per-token random salt (null on legacy BCrypt tokens)
+    private Instant expiresAt;  // TTL index removes the document after this
     private boolean used = false;
+    private int attempts = 0;   // verifications made against this token
 
     public OtpToken() {}
 
@@ -24,6 +26,11 @@ public class OtpToken {
         this.used = false;
     }
 
+    public OtpToken(String userId, String otpHash, String salt, Instant expiresAt) {
+        this(userId, otpHash, expiresAt);
+        this.salt = salt;
+    }
+
     // getters & setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -35,4 +42,8 @@ public class OtpToken {
     public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
     public boolean isUsed() { return used; }
     public void setUsed(boolean used) { this.used = used; }
+    public String getSalt() { return salt; }
+    public void setSalt(String salt) { this.salt = salt; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
 }
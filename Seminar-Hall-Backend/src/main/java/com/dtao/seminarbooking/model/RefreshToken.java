@@ -0,0 +1,59 @@
+package com.dtao.seminarbooking.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Opaque refresh token (only its SHA-256 hash is stored).
+ * Tokens issued from the same login share a familyId; rotating marks the old one used.
+ * Presenting an already used / revoked token revokes the whole family (reuse detection).
+ * Documents are removed by a TTL index on expiresAt.
+ */
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id;
+
+    private String tokenHash;
+    private String familyId;
+    private String userEmail;
+    private boolean rememberMe;
+    private Instant issuedAt;
+    private Instant expiresAt;
+    private Instant usedAt;      // set when rotated
+    private boolean revoked = false;
+
+    public RefreshToken() {}
+
+    public RefreshToken(String tokenHash, String familyId, String userEmail, boolean rememberMe, Instant issuedAt, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userEmail = userEmail;
+        this.rememberMe = rememberMe;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.revoked = false;
+    }
+
+    // getters & setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getTokenHash() { return tokenHash; }
+    public void setTokenHash(String tokenHash) { this.tokenHash = tokenHash; }
+    public String getFamilyId() { return familyId; }
+    public void setFamilyId(String familyId) { this.familyId = familyId; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public boolean isRememberMe() { return rememberMe; }
+    public void setRememberMe(boolean rememberMe) { this.rememberMe = rememberMe; }
+    public Instant getIssuedAt() { return issuedAt; }
+    public void setIssuedAt(Instant issuedAt) { this.issuedAt = issuedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+    public Instant getUsedAt() { return usedAt; }
+    public void setUsedAt(Instant usedAt) { this.usedAt = usedAt; }
+    public boolean isRevoked() { return revoked; }
+    public void setRevoked(boolean revoked) { this.revoked = revoked; }
+}
@@ -0,0 +1,51 @@
+package com.dtao.seminarbooking.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token (id = the JWT "jti"), or a user-wide cutoff (id = "user:" + email)
+ * that rejects every token of that user issued before revokedAt.
+ * Kept only until the token would have expired anyway (TTL index on expiresAt).
+ */
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    public static final String USER_PREFIX = "user:";
+
+    @Id
+    private String id;
+
+    private String userEmail;
+    private String reason;      // e.g. "LOGOUT", "PASSWORD_RESET", "USER_REMOVED"
+    private Instant revokedAt;
+    private Instant expiresAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String id, String userEmail, String reason, Instant revokedAt, Instant expiresAt) {
+        this.id = id;
+        this.userEmail = userEmail;
+        this.reason = reason;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isUserCutoff() {
+        return id != null && id.startsWith(USER_PREFIX);
+    }
+
+    // getters & setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public Instant getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(Instant revokedAt) { this.revokedAt = revokedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
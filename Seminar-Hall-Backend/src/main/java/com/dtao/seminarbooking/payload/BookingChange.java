@@ -0,0 +1,14 @@
+package com.dtao.seminarbooking.payload;
+
+import java.time.Instant;
+
+/**
+ * DTO: One entry of the booking change feed (GET /api/reactive/seminars/changes and the SSE stream).
+ * Carries just enough for a client to decide what to refetch: which booking, which hall and days, and what happened.
+ * seq increases by one per change within a server run (it restarts with the server; see epoch in {@link ChangePage}).
+ *
+ * @param type CREATED, STATUS_CHANGED, CANCEL_REQUESTED or REMOVED
+ */
+public record BookingChange(long seq, String type, String seminarId, String hallName, String department,
+                            String date, String startDate, String endDate, String status, Instant at) {
+}
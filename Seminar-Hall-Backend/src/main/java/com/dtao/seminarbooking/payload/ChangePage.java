@@ -0,0 +1,11 @@
+package com.dtao.seminarbooking.payload;
+
+import java.util.List;
+
+/**
+ * DTO: Changes after a client's last seen seq, oldest first.
+ * next is the seq to poll with next time. reset = true means the feed no longer holds everything since the
+ * requested seq (too old, or from another server run / epoch): reload the views instead of applying the changes.
+ */
+public record ChangePage(String epoch, List<BookingChange> changes, long next, boolean reset) {
+}
@@ -0,0 +1,30 @@
+package com.dtao.seminarbooking.payload;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in the audit log listing: the (timestamp, id) of the last entry of a page.
+ * Sent to clients as an opaque URL-safe string (LogPage.nextCursor).
+ */
+public record LogCursor(LocalDateTime timestamp, String id) {
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Throws IllegalArgumentException for a string that was not produced by {@link #encode()}. */
+    public static LogCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            String id = raw.substring(sep + 1);
+            if (sep < 0 || id.isEmpty()) throw new IllegalArgumentException("Invalid cursor");
+            return new LogCursor(LocalDateTime.parse(raw.substring(0, sep)), id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.dtao.seminarbooking.payload;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO: Filters for the audit log listing. Null / blank fields are not applied.
+ * Time range is [from, to).
+ */
+public class LogFilter {
+
+    private String action;
+    private String actorEmail;
+    private String actorRole;
+    private String ipAddress;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public LogFilter() {}
+
+    /** True when no field is set (the whole collection is being listed). */
+    public boolean isEmpty() {
+        return isBlank(action) && isBlank(actorEmail) && isBlank(actorRole) && isBlank(ipAddress)
+                && from == null && to == null;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    // ---------- Getters & Setters ----------
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+
+    public String getActorEmail() { return actorEmail; }
+    public void setActorEmail(String actorEmail) { this.actorEmail = actorEmail; }
+
+    public String getActorRole() { return actorRole; }
+    public void setActorRole(String actorRole) { this.actorRole = actorRole; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+}
@@ -0,0 +1,41 @@
+package com.dtao.seminarbooking.payload;
+
+import com.dtao.seminarbooking.model.Log;
+
+import java.util.List;
+
+/**
+ * DTO: One page of audit logs (newest first).
+ * nextCursor is null on the last page. approxTotal is the collection's estimated size when unfiltered,
+ * otherwise an exact count capped at a limit (approxTotalCapped = true when the cap was hit).
+ */
+public class LogPage {
+
+    private List<Log> items;
+    private String nextCursor;
+    private long approxTotal;
+    private boolean approxTotalCapped;
+
+    public LogPage() {}
+
+    public LogPage(List<Log> items, String nextCursor, long approxTotal, boolean approxTotalCapped) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.approxTotal = approxTotal;
+        this.approxTotalCapped = approxTotalCapped;
+    }
+
+    // ---------- Getters & Setters ----------
+
+    public List<Log> getItems() { return items; }
+    public void setItems(List<Log> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public long getApproxTotal() { return approxTotal; }
+    public void setApproxTotal(long approxTotal) { this.approxTotal = approxTotal; }
+
+    public boolean isApproxTotalCapped() { return approxTotalCapped; }
+    public void setApproxTotalCapped(boolean approxTotalCapped) { this.approxTotalCapped = approxTotalCapped; }
+}
@@ -0,0 +1,51 @@
+package com.dtao.seminarbooking.payload;
+
+import java.time.Instant;
+
+/**
+ * DTO: Read-only projection of a User for listings.
+ * Never carries the password hash (it is excluded at query level, not just hidden).
+ */
+public class UserSummary {
+
+    private String id;
+    private String name;
+    private String department;
+    private String email;
+    private String phone;
+    private String role;
+    private String createdBy;
+    private Instant createdAt;
+    private boolean active = true;
+
+    public UserSummary() {}
+
+    // ---------- Getters & Setters ----------
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
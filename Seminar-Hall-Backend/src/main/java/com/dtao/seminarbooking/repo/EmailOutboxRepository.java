@@ -0,0 +1,11 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxMessage, String>, EmailOutboxRepositoryCustom {
+    long countByStatus(String status);
+    List<EmailOutboxMessage> findTop50ByStatusOrderByCreatedAtDesc(String status);
+}
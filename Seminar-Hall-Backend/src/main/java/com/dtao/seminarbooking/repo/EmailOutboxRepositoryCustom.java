@@ -0,0 +1,29 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claim / state transitions for the email outbox. All updates are conditional on the
+ * current lease holder so a worker whose lease expired cannot overwrite a newer claim.
+ */
+public interface EmailOutboxRepositoryCustom {
+
+    /**
+     * Claims up to batchSize due messages for a worker: PENDING with nextAttemptAt <= now,
+     * or SENDING whose lease expired (worker crashed). Each claim is an atomic findAndModify.
+     */
+    List<EmailOutboxMessage> claimBatch(String workerId, Instant now, Instant leaseUntil, int batchSize);
+
+    /** SENT and DEAD drop the body: nothing reads it afterwards, and it may carry a secret (OTP). */
+    boolean markSent(String id, String workerId, Instant sentAt, Instant purgeAt);
+
+    boolean markRetry(String id, String workerId, int attempts, Instant nextAttemptAt, String error);
+
+    boolean markDead(String id, String workerId, int attempts, String error, Instant purgeAt);
+
+    /** Returns messages claimed by this worker to PENDING without counting an attempt (shutdown). */
+    long releaseClaims(String workerId);
+}
@@ -0,0 +1,102 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link EmailOutboxRepositoryCustom}.
+ */
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public EmailOutboxRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<EmailOutboxMessage> claimBatch(String workerId, Instant now, Instant leaseUntil, int batchSize) {
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("status").is(EmailOutboxMessage.PENDING).and("nextAttemptAt").lte(now),
+                Criteria.where("status").is(EmailOutboxMessage.SENDING).and("lockedUntil").lt(now)
+        );
+        Query q = new Query(due).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update claim = new Update()
+                .set("status", EmailOutboxMessage.SENDING)
+                .set("lockedBy", workerId)
+                .set("lockedUntil", leaseUntil);
+
+        List<EmailOutboxMessage> claimed = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            EmailOutboxMessage m = mongoTemplate.findAndModify(q, claim,
+                    FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+            if (m == null) break;
+            claimed.add(m);
+        }
+        return claimed;
+    }
+
+    @Override
+    public boolean markSent(String id, String workerId, Instant sentAt, Instant purgeAt) {
+        Update u = new Update()
+                .set("status", EmailOutboxMessage.SENT)
+                .set("sentAt", sentAt)
+                .set("purgeAt", purgeAt)
+                .inc("attempts", 1)
+                .unset("htmlBody")
+                .unset("lockedBy")
+                .unset("lockedUntil")
+                .unset("lastError");
+        return mongoTemplate.updateFirst(ownedBy(id, workerId), u, EmailOutboxMessage.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean markRetry(String id, String workerId, int attempts, Instant nextAttemptAt, String error) {
+        Update u = new Update()
+                .set("status", EmailOutboxMessage.PENDING)
+                .set("attempts", attempts)
+                .set("nextAttemptAt", nextAttemptAt)
+                .set("lastError", error)
+                .unset("lockedBy")
+                .unset("lockedUntil");
+        return mongoTemplate.updateFirst(ownedBy(id, workerId), u, EmailOutboxMessage.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean markDead(String id, String workerId, int attempts, String error, Instant purgeAt) {
+        Update u = new Update()
+                .set("status", EmailOutboxMessage.DEAD)
+                .set("attempts", attempts)
+                .set("lastError", error)
+                .set("purgeAt", purgeAt)
+                .unset("htmlBody")
+                .unset("lockedBy")
+                .unset("lockedUntil");
+        return mongoTemplate.updateFirst(ownedBy(id, workerId), u, EmailOutboxMessage.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public long releaseClaims(String workerId) {
+        Query q = new Query(Criteria.where("status").is(EmailOutboxMessage.SENDING).and("lockedBy").is(workerId));
+        Update u = new Update()
+                .set("status", EmailOutboxMessage.PENDING)
+                .unset("lockedBy")
+                .unset("lockedUntil");
+        return mongoTemplate.updateMulti(q, u, EmailOutboxMessage.class).getModifiedCount();
+    }
+
+    private Query ownedBy(String id, String workerId) {
+        return new Query(Criteria.where("_id").is(id)
+                .and("status").is(EmailOutboxMessage.SENDING)
+                .and("lockedBy").is(workerId));
+    }
+}
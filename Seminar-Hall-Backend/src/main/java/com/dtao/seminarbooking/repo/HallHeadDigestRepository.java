@@ -0,0 +1,11 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface HallHeadDigestRepository extends MongoRepository<HallHeadDigestEntry, String>, HallHeadDigestRepositoryCustom {
+
+    List<HallHeadDigestEntry> findByHeadEmailOrderByFirstAtAsc(String headEmail);
+}
@@ -0,0 +1,26 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Upsert / grouping operations for the hall-head digest buffer.
+ */
+public interface HallHeadDigestRepositoryCustom {
+
+    /**
+     * Records the latest state of a booking for a head in one round trip.
+     * Overwrites event/reason/snapshot of an existing entry (coalescing); firstAt and dueAt are kept from the first event.
+     * Only a newer event (by updatedAt) replaces an entry: returns false, changing nothing, when the buffered one is
+     * as new or newer.
+     */
+    boolean upsertLatest(HallHeadDigestEntry entry);
+
+    /** Heads that have at least one entry due at or before now. */
+    List<String> findDueRecipients(Instant now);
+
+    /** Removes a flushed entry unless a newer event was coalesced into it meanwhile (that one goes out next round). */
+    boolean removeIfUnchanged(String id, Instant updatedAt);
+}
@@ -0,0 +1,74 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link HallHeadDigestRepositoryCustom}.
+ */
+public class HallHeadDigestRepositoryImpl implements HallHeadDigestRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public HallHeadDigestRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean upsertLatest(HallHeadDigestEntry e) {
+        // With a newer entry in place the filter matches nothing and the upsert's insert hits the unique
+        // (headEmail, seminarId) index: that is the "stale" answer
+        Query q = new Query(Criteria.where("headEmail").is(e.getHeadEmail()).and("seminarId").is(e.getSeminarId())
+                .and("updatedAt").lt(e.getUpdatedAt()));
+        Update u = new Update()
+                .set("headName", e.getHeadName())
+                .set("event", e.getEvent())
+                .set("reason", e.getReason())
+                .set("hallName", e.getHallName())
+                .set("slotTitle", e.getSlotTitle())
+                .set("bookingName", e.getBookingName())
+                .set("bookingEmail", e.getBookingEmail())
+                .set("department", e.getDepartment())
+                .set("phone", e.getPhone())
+                .set("date", e.getDate())
+                .set("startTime", e.getStartTime())
+                .set("endTime", e.getEndTime())
+                .set("startDate", e.getStartDate())
+                .set("endDate", e.getEndDate())
+                .set("daySlots", e.getDaySlots())
+                .set("updatedAt", e.getUpdatedAt())
+                .setOnInsert("firstAt", e.getFirstAt())
+                .setOnInsert("dueAt", e.getDueAt());
+        try {
+            mongoTemplate.upsert(q, u, HallHeadDigestEntry.class);
+            return true;
+        } catch (DuplicateKeyException first) {
+            // Also what two first events of a booking racing to insert get: the loser retries against the winner
+            try {
+                mongoTemplate.upsert(q, u, HallHeadDigestEntry.class);
+                return true;
+            } catch (DuplicateKeyException stale) {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public List<String> findDueRecipients(Instant now) {
+        return mongoTemplate.findDistinct(new Query(Criteria.where("dueAt").lte(now)), "headEmail",
+                HallHeadDigestEntry.class, String.class);
+    }
+
+    @Override
+    public boolean removeIfUnchanged(String id, Instant updatedAt) {
+        Query q = new Query(Criteria.where("_id").is(id).and("updatedAt").is(updatedAt));
+        return mongoTemplate.remove(q, HallHeadDigestEntry.class).getDeletedCount() > 0;
+    }
+}
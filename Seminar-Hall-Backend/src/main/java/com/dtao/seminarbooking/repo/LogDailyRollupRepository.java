@@ -0,0 +1,18 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface LogDailyRollupRepository extends MongoRepository<LogDailyRollup, String> {
+
+    // Days are yyyy-MM-dd strings, so a string range is a date range. Pass Range.closed for inclusive days:
+    // a plain two-argument Between is $gt / $lt and would drop the first and last day.
+    List<LogDailyRollup> findByDayBetweenOrderByDayAscCountDesc(Range<String> days);
+
+    List<LogDailyRollup> findByActorEmailAndDayBetweenOrderByDayAsc(String actorEmail, Range<String> days);
+
+    List<LogDailyRollup> findByActionAndDayBetweenOrderByDayAsc(String action, Range<String> days);
+}
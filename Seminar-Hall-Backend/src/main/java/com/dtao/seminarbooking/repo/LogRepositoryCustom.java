@@ -0,0 +1,31 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.payload.LogFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset-paginated reads of system_logs, ordered by (timestamp desc, _id desc), and the daily rollup.
+ */
+public interface LogRepositoryCustom {
+
+    /**
+     * Up to limit entries matching the filter that come strictly after the (beforeTimestamp, beforeId) position.
+     * Pass nulls for the first page.
+     */
+    List<Log> findPage(LogFilter filter, LocalDateTime beforeTimestamp, String beforeId, int limit);
+
+    /** Exact count of matching entries, but stops counting at cap. */
+    long countUpTo(LogFilter filter, long cap);
+
+    /** Collection size from metadata (no scan). */
+    long estimatedTotal();
+
+    /**
+     * Aggregates the raw rows in [from, to) into system_log_daily (one document per day + action + actor),
+     * entirely on the server. Re-running it for the same range replaces the documents, so it is idempotent.
+     */
+    void rollUpDaily(LocalDateTime from, LocalDateTime to, String timeZone);
+}
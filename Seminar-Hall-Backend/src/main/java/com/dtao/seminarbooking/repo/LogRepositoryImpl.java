@@ -0,0 +1,129 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import com.dtao.seminarbooking.payload.LogFilter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link LogRepositoryCustom}.
+ * Each equality filter has a matching (field, timestamp desc, _id desc) index, so a page is an index range scan
+ * no matter how deep it is.
+ */
+public class LogRepositoryImpl implements LogRepositoryCustom {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("_id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    public LogRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Log> findPage(LogFilter filter, LocalDateTime beforeTimestamp, String beforeId, int limit) {
+        List<Criteria> and = filterCriteria(filter);
+        if (beforeTimestamp != null && beforeId != null) {
+            and.add(keysetBefore(beforeTimestamp, beforeId));
+        }
+        Query q = new Query(combine(and)).with(NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(q, Log.class);
+    }
+
+    @Override
+    public long countUpTo(LogFilter filter, long cap) {
+        Query q = new Query(combine(filterCriteria(filter))).limit((int) Math.min(cap, Integer.MAX_VALUE));
+        return mongoTemplate.count(q, Log.class);
+    }
+
+    @Override
+    public long estimatedTotal() {
+        return mongoTemplate.estimatedCount(Log.class);
+    }
+
+    @Override
+    public void rollUpDaily(LocalDateTime from, LocalDateTime to, String timeZone) {
+        String target = mongoTemplate.getCollectionName(LogDailyRollup.class);
+        Document day = new Document("$dateToString",
+                new Document("format", "%Y-%m-%d").append("date", "$timestamp").append("timezone", timeZone));
+        Document action = new Document("$ifNull", List.of("$action", "UNKNOWN"));
+        Document actor = new Document("$ifNull", List.of("$actorEmail", "UNKNOWN"));
+
+        List<AggregationOperation> stages = List.of(
+                Aggregation.match(Criteria.where("timestamp").gte(from).lt(to)),
+                ctx -> new Document("$group", new Document("_id",
+                        new Document("day", day).append("action", action).append("actorEmail", actor))
+                        .append("count", new Document("$sum", 1))
+                        .append("firstAt", new Document("$min", "$timestamp"))
+                        .append("lastAt", new Document("$max", "$timestamp"))
+                        .append("actorRoles", new Document("$addToSet", "$actorRole"))
+                        .append("ipAddresses", new Document("$addToSet", "$ipAddress"))),
+                ctx -> new Document("$project", new Document("_id",
+                        new Document("$concat", List.of("$_id.day", "|", "$_id.action", "|", "$_id.actorEmail")))
+                        .append("day", "$_id.day")
+                        .append("action", "$_id.action")
+                        .append("actorEmail", "$_id.actorEmail")
+                        .append("actorRoles", 1)
+                        .append("ipAddresses", 1)
+                        .append("count", 1)
+                        .append("firstAt", 1)
+                        .append("lastAt", 1)),
+                ctx -> new Document("$merge", new Document("into", target)
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+
+        // $merge writes on the server and returns no documents
+        mongoTemplate.aggregate(Aggregation.newAggregation(stages), Log.class, Map.class);
+    }
+
+    private static List<Criteria> filterCriteria(LogFilter f) {
+        List<Criteria> and = new ArrayList<>();
+        if (f == null) return and;
+        if (hasText(f.getAction())) and.add(Criteria.where("action").is(f.getAction()));
+        if (hasText(f.getActorEmail())) and.add(Criteria.where("actorEmail").is(f.getActorEmail()));
+        if (hasText(f.getActorRole())) and.add(Criteria.where("actorRole").is(f.getActorRole()));
+        if (hasText(f.getIpAddress())) and.add(Criteria.where("ipAddress").is(f.getIpAddress()));
+        if (f.getFrom() != null || f.getTo() != null) {
+            Criteria ts = Criteria.where("timestamp");
+            if (f.getFrom() != null) ts = ts.gte(f.getFrom());
+            if (f.getTo() != null) ts = ts.lt(f.getTo());
+            and.add(ts);
+        }
+        return and;
+    }
+
+    // (timestamp, _id) < (beforeTimestamp, beforeId): entries sharing the timestamp are split by _id, so none is skipped
+    static Criteria keysetBefore(LocalDateTime beforeTimestamp, String beforeId) {
+        return new Criteria().orOperator(
+                Criteria.where("timestamp").lt(beforeTimestamp),
+                Criteria.where("timestamp").is(beforeTimestamp).and("_id").lt(toId(beforeId)));
+    }
+
+    private static Criteria combine(List<Criteria> and) {
+        if (and.isEmpty()) return new Criteria();
+        if (and.size() == 1) return and.get(0);
+        return new Criteria().andOperator(and);
+    }
+
+    // Ids written by the app are ObjectIds; compare as such so the order matches the index
+    private static Object toId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
@@ -4,8 +4,12 @@ import com.dtao.seminarbooking.model.OtpToken;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface OtpTokenRepository extends MongoRepository<OtpToken, String> {
+public interface OtpTokenRepository extends MongoRepository<OtpToken, String>, OtpTokenRepositoryCustom {
     // return list (there may be multiple un-used tokens); service will pick latest
     List<OtpToken> findByUserIdAndUsedIsFalse(String userId);
+
+    // latest active token only
+    Optional<OtpToken> findFirstByUserIdAndUsedIsFalseOrderByExpiresAtDesc(String userId);
 }
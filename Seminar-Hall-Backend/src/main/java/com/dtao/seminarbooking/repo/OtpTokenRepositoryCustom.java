@@ -0,0 +1,20 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.OtpToken;
+
+import java.util.Optional;
+
+/**
+ * Bulk / atomic updates for OTP tokens.
+ */
+public interface OtpTokenRepositoryCustom {
+
+    /** Marks every unused token of the user as used in one update. Returns the number touched. */
+    long invalidateAllForUser(String userId);
+
+    /**
+     * Atomically reserves one verification attempt on an unused token that has fewer than maxAttempts.
+     * Returns the token with its new attempt count, or empty when the token is used or out of attempts.
+     */
+    Optional<OtpToken> reserveAttempt(String tokenId, int maxAttempts);
+}
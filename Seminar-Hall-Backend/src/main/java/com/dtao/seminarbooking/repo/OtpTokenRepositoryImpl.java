@@ -0,0 +1,38 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.OtpToken;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link OtpTokenRepositoryCustom}.
+ */
+public class OtpTokenRepositoryImpl implements OtpTokenRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OtpTokenRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long invalidateAllForUser(String userId) {
+        Query q = new Query(Criteria.where("userId").is(userId).and("used").is(false));
+        return mongoTemplate.updateMulti(q, Update.update("used", true), OtpToken.class).getModifiedCount();
+    }
+
+    @Override
+    public Optional<OtpToken> reserveAttempt(String tokenId, int maxAttempts) {
+        OtpToken updated = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(tokenId).and("used").is(false).and("attempts").lt(maxAttempts)),
+                new Update().inc("attempts", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                OtpToken.class);
+        return Optional.ofNullable(updated);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.Seminar;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking view of the seminars collection for the read endpoints under /api/reactive.
+ * Writes keep going through {@link SeminarRepository} on the servlet stack.
+ * Date ranges are {@link Range}s so both ends can be inclusive (a plain two-argument Between is $gt / $lt).
+ */
+@Repository
+public interface ReactiveSeminarRepository extends ReactiveMongoRepository<Seminar, String> {
+
+    Flux<Seminar> findByStatusIgnoreCase(String status);
+    Flux<Seminar> findByHallName(String hallName);
+    Flux<Seminar> findByHallNameAndStatusIgnoreCase(String hallName, String status);
+
+    // Time-wise bookings (date) in a range
+    Flux<Seminar> findByDateBetween(Range<String> dates);
+    Flux<Seminar> findByHallNameAndDateBetween(String hallName, Range<String> dates);
+    Flux<Seminar> findByDepartmentAndDateBetween(String department, Range<String> dates);
+
+    // Day-range bookings overlapping [reqStartDate, reqEndDate]: startDate <= reqEndDate AND endDate >= reqStartDate
+    Flux<Seminar> findByStartDateLessThanEqualAndEndDateGreaterThanEqual(String reqEndDate, String reqStartDate);
+    Flux<Seminar> findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String hallName, String reqEndDate, String reqStartDate);
+    Flux<Seminar> findByDepartmentAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String department, String reqEndDate, String reqStartDate);
+}
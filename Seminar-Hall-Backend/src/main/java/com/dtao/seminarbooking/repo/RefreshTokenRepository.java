@@ -0,0 +1,10 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String>, RefreshTokenRepositoryCustom {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+}
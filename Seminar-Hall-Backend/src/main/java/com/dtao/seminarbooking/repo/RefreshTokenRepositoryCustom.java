@@ -0,0 +1,22 @@
+package com.dtao.seminarbooking.repo;
+
+import java.time.Instant;
+
+/**
+ * Atomic updates for refresh tokens (must not be read-modify-write from the service).
+ */
+public interface RefreshTokenRepositoryCustom {
+
+    /**
+     * Marks the token used if (and only if) it is still unused and not revoked.
+     *
+     * @return true when this caller won the rotation, false if it was already used/revoked
+     */
+    boolean markUsedIfActive(String id, Instant usedAt);
+
+    /** Revokes every token of a family. Returns the number of documents touched. */
+    long revokeFamily(String familyId);
+
+    /** Revokes every token issued to a user. Returns the number of documents touched. */
+    long revokeAllForUser(String userEmail);
+}
@@ -0,0 +1,41 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.RefreshToken;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link RefreshTokenRepositoryCustom}.
+ */
+public class RefreshTokenRepositoryImpl implements RefreshTokenRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public RefreshTokenRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean markUsedIfActive(String id, Instant usedAt) {
+        Query q = new Query(Criteria.where("_id").is(id)
+                .and("usedAt").is(null)
+                .and("revoked").is(false));
+        return mongoTemplate.updateFirst(q, Update.update("usedAt", usedAt), RefreshToken.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public long revokeFamily(String familyId) {
+        Query q = new Query(Criteria.where("familyId").is(familyId).and("revoked").is(false));
+        return mongoTemplate.updateMulti(q, Update.update("revoked", true), RefreshToken.class).getModifiedCount();
+    }
+
+    @Override
+    public long revokeAllForUser(String userEmail) {
+        Query q = new Query(Criteria.where("userEmail").is(userEmail).and("revoked").is(false));
+        return mongoTemplate.updateMulti(q, Update.update("revoked", true), RefreshToken.class).getModifiedCount();
+    }
+}
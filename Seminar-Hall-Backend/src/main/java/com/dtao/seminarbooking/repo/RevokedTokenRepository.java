@@ -0,0 +1,12 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+    // Everything still relevant (used to rebuild the in-memory Bloom filter)
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+}
@@ -0,0 +1,20 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.payload.UserSummary;
+
+import java.util.List;
+
+/**
+ * Custom (MongoTemplate backed) queries for users that derived finders cannot express.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Keyset page of users ordered by _id (ascending), without the password field.
+     *
+     * @param search  optional case-insensitive match on name / email / department
+     * @param afterId optional cursor: only users with _id greater than this are returned
+     * @param limit   max number of rows
+     */
+    List<UserSummary> findSummaries(String search, String afterId, int limit);
+}
@@ -0,0 +1,52 @@
+package com.dtao.seminarbooking.repo;
+
+import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.payload.UserSummary;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Picked up by Spring Data as the implementation of {@link UserRepositoryCustom}.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<UserSummary> findSummaries(String search, String afterId, int limit) {
+        List<Criteria> and = new ArrayList<>();
+
+        if (afterId != null && !afterId.isBlank()) {
+            Object cursor = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+            and.add(Criteria.where("_id").gt(cursor));
+        }
+
+        if (search != null && !search.isBlank()) {
+            // Quote the input: it is user supplied and must not be treated as a regex
+            Pattern p = Pattern.compile(Pattern.quote(search.trim()), Pattern.CASE_INSENSITIVE);
+            and.add(new Criteria().orOperator(
+                    Criteria.where("name").regex(p),
+                    Criteria.where("email").regex(p),
+                    Criteria.where("department").regex(p)
+            ));
+        }
+
+        Query query = and.isEmpty() ? new Query() : new Query(new Criteria().andOperator(and));
+        query.fields().exclude("password");
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        if (limit > 0) query.limit(limit);
+
+        return mongoTemplate.find(query, UserSummary.class, mongoTemplate.getCollectionName(User.class));
+    }
+}
@@ -0,0 +1,82 @@
+package com.dtao.seminarbooking.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal thread-safe Bloom filter for string keys.
+ * - mightContain == false  => key was definitely never added (no I/O needed)
+ * - mightContain == true   => key was probably added (caller must confirm)
+ * Uses double hashing (h1 + i*h2) over two 64-bit hashes, bits stored in an AtomicLongArray
+ * so put() is lock-free and safe alongside concurrent reads.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions how many keys the filter is sized for
+     * @param falsePositiveRate  target false positive probability (e.g. 0.01)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, ((m + 63) / 64) * 64); // whole longs
+        this.bitCount = m;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    public void put(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int idx = (int) (bit >>> 6);
+            long mask = 1L << (bit & 63);
+            long prev;
+            do {
+                prev = bits.get(idx);
+                if ((prev & mask) != 0) break;
+            } while (!bits.compareAndSet(idx, prev, prev | mask));
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) return false;
+        }
+        return true;
+    }
+
+    public long getBitCount() { return bitCount; }
+    public int getHashCount() { return hashCount; }
+
+    // 64-bit FNV-1a
+    private static long hash1(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // Second, independent-enough hash: MurmurHash3 fmix64 over h1 mixed with the length
+    private static long hash2(String key, long h1) {
+        long k = h1 ^ (0x9E3779B97F4A7C15L * (key.length() + 1));
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k | 1; // odd, so successive probes never collapse to the same bit
+    }
+}
@@ -1,5 +1,7 @@
 package com.dtao.seminarbooking.security;
 
+import com.dtao.seminarbooking.config.RequestTiming;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +33,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -51,10 +56,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             if (token != null && !token.isBlank()) {
-                if (tokenProvider.validateToken(token)) {
-                    String username = tokenProvider.getUsernameFromToken(token);
+                long t = RequestTiming.start();
+                Claims claims = tokenProvider.parseValidClaims(token);
+                boolean revoked = claims != null && tokenRevocationService.isRevoked(claims);
+                RequestTiming.stop(RequestTiming.JWT, t);
+                if (revoked) {
+                    LOGGER.debug("JWT token revoked jti={}", claims.getId());
+                } else if (claims != null) {
+                    String username = claims.getSubject();
                     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                        long u = RequestTiming.start();
                         UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                        RequestTiming.stop(RequestTiming.USER, u);
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
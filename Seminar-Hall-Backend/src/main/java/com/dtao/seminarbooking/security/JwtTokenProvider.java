@@ -1,7 +1,11 @@
 package com.dtao.seminarbooking.security;
 
 import io.jsonwebtoken.*;
+import com.dtao.seminarbooking.jfr.JwtParseEvent;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -36,8 +40,28 @@ public class JwtTokenProvider {
     @Value("${jwt.audience:dtao-seminar-frontend}")
     private String audience;
 
+    // Derived once; the secret does not change at runtime
+    private volatile SecretKey signingKey;
+
+    // Built once and shared (parsers are immutable): building one scans the classpath for jjwt's services,
+    // which under many polling clients serialised request threads on the jar file locks
+    private volatile JwtParser parser;
+
+    // auth.jwt.verify{outcome=valid|invalid}; optional so the provider also works outside the app context
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
     /** 🔒 Create secure HMAC key (32-byte minimum) */
     private SecretKey getSigningKey() {
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = buildSigningKey();
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private SecretKey buildSigningKey() {
         try {
             byte[] keyBytes = jwtSecret == null ? new byte[0] : jwtSecret.getBytes(StandardCharsets.UTF_8);
             if (keyBytes.length < 32) {
@@ -116,13 +140,46 @@ public class JwtTokenProvider {
 
     /** ✅ Common claims parser */
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .requireAudience(audience)
-                .requireIssuer(issuer)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getParser().parseClaimsJws(token).getBody();
+    }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .requireAudience(audience)
+                    .requireIssuer(issuer)
+                    .build();
+            parser = p;
+        }
+        return p;
+    }
+
+    /**
+     * ✅ Parse + validate in one pass.
+     * Returns the claims, or null if the token is invalid/expired (hot path: avoids parsing twice).
+     */
+    public Claims parseValidClaims(String token) {
+        if (token == null || token.isBlank()) return null;
+        Timer.Sample sample = meterRegistry == null ? null : Timer.start(meterRegistry);
+        JwtParseEvent jfr = new JwtParseEvent();
+        jfr.begin();
+        Claims claims = null;
+        try {
+            claims = getClaims(token);
+            return claims;
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        } finally {
+            if (jfr.shouldCommit()) {
+                jfr.valid = claims != null;
+                jfr.commit();
+            }
+            if (sample != null) {
+                sample.stop(meterRegistry.timer("auth.jwt.verify", "outcome", claims != null ? "valid" : "invalid"));
+            }
+        }
     }
 
     /** ✅ Validate token integrity and expiration */
@@ -0,0 +1,40 @@
+package com.dtao.seminarbooking.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times the wrapped encoder (BCrypt is deliberately slow, and it is the bulk of a login):
+ * auth.password.hash{op=encode|matches, outcome=...}.
+ * Covers every caller: the login AuthenticationManager, UserService and OTP checks.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final MeterRegistry meterRegistry;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return meterRegistry.timer("auth.password.hash", "op", "encode", "outcome", "ok")
+                .record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean ok = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(meterRegistry.timer("auth.password.hash", "op", "matches", "outcome", ok ? "match" : "mismatch"));
+        return ok;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,144 @@
+package com.dtao.seminarbooking.security;
+
+import com.dtao.seminarbooking.model.RevokedToken;
+import com.dtao.seminarbooking.repo.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access-token revocation list.
+ * - Revoked jtis are persisted in "revoked_tokens" (TTL = token expiry) and mirrored in a Bloom filter.
+ * - On the auth hot path a token that is not in the filter is accepted after a few hash probes, no I/O.
+ *   A filter hit is confirmed against a local set and, failing that, Mongo (false positives are rare).
+ * - User-wide cutoffs ("every token of X issued before T") are few and kept in a plain map.
+ * - The filter is rebuilt periodically, which drops expired entries and picks up revocations
+ *   made by other instances (so cross-instance propagation is bounded by the rebuild interval).
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    // Longest an access token can live (remember-me tokens are capped at 4 weeks in JwtTokenProvider)
+    private static final long MAX_ACCESS_TOKEN_MS = 4L * 7L * 24L * 60L * 60L * 1000L;
+
+    private volatile BloomFilter filter;
+    private final Set<String> knownRevoked = ConcurrentHashMap.newKeySet();
+    private final Map<String, Instant> userCutoffs = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.bloom-expected-insertions:100000}") int expectedInsertions,
+                                  @Value("${jwt.revocation.bloom-fpp:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /** Revokes one access token until its natural expiry. */
+    public void revoke(String jti, String userEmail, Instant expiresAt, String reason) {
+        if (jti == null || jti.isBlank()) return;
+        Instant exp = expiresAt != null ? expiresAt : Instant.now().plusMillis(MAX_ACCESS_TOKEN_MS);
+        revokedTokenRepository.save(new RevokedToken(jti, normalize(userEmail), reason, Instant.now(), exp));
+        knownRevoked.add(jti);
+        filter.put(jti);
+    }
+
+    /** Revokes every access token of a user issued up to now (removed or compromised accounts). */
+    public void revokeAllForUser(String userEmail, String reason) {
+        String email = normalize(userEmail);
+        if (email == null) return;
+        Instant now = Instant.now();
+        revokedTokenRepository.save(new RevokedToken(RevokedToken.USER_PREFIX + email, email, reason, now,
+                now.plusMillis(MAX_ACCESS_TOKEN_MS)));
+        userCutoffs.put(email, now);
+    }
+
+    /** Hot path: called by JwtAuthenticationFilter for every authenticated request. */
+    public boolean isRevoked(Claims claims) {
+        if (!userCutoffs.isEmpty() && claims.getSubject() != null) {
+            Instant cutoff = userCutoffs.get(claims.getSubject());
+            // iat has second precision: only reject tokens issued in an earlier second than the cutoff
+            if (cutoff != null && claims.getIssuedAt() != null
+                    && claims.getIssuedAt().toInstant().getEpochSecond() < cutoff.getEpochSecond()) {
+                return true;
+            }
+        }
+
+        String jti = claims.getId();
+        if (jti == null || !filter.mightContain(jti)) return false;
+        if (knownRevoked.contains(jti)) return true;
+
+        // Bloom hit we cannot confirm locally: either a false positive or revoked by another instance
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        if (revoked) knownRevoked.add(jti);
+        return revoked;
+    }
+
+    /** Rebuilds the filter from the persisted list (also drops entries that have expired). */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.rebuild-ms:60000}")
+    public void rebuild() {
+        try {
+            // Revocations can land while the query runs: only entries seen before it may be dropped
+            Set<String> localBefore = Set.copyOf(knownRevoked);
+            List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(Instant.now());
+
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, active.size() * 2), falsePositiveRate);
+            Set<String> jtis = ConcurrentHashMap.newKeySet();
+            Map<String, Instant> cutoffs = new ConcurrentHashMap<>();
+            for (RevokedToken t : active) {
+                if (t.isUserCutoff()) {
+                    cutoffs.merge(t.getUserEmail(), t.getRevokedAt(), TokenRevocationService::later);
+                } else {
+                    next.put(t.getId());
+                    jtis.add(t.getId());
+                }
+            }
+
+            // Keep anything revoked locally while the query was running
+            for (String jti : knownRevoked) {
+                if (!jtis.contains(jti)) next.put(jti);
+            }
+            knownRevoked.removeIf(jti -> localBefore.contains(jti) && !jtis.contains(jti));
+            knownRevoked.addAll(jtis);
+            this.filter = next;
+            // A revoke() between the loop above and the swap only reached the old filter; revoke() adds to
+            // knownRevoked before it reads `filter`, so after the swap this pass sees every such jti
+            for (String jti : knownRevoked) {
+                next.put(jti);
+            }
+
+            // Never replace a newer local cutoff with an older stored one, and only drop a cutoff once
+            // every token it covers has expired (one made during the query is not in `cutoffs` yet)
+            cutoffs.forEach((email, cutoff) -> userCutoffs.merge(email, cutoff, TokenRevocationService::later));
+            Instant expiredBefore = Instant.now().minusMillis(MAX_ACCESS_TOKEN_MS);
+            userCutoffs.values().removeIf(cutoff -> cutoff.isBefore(expiredBefore));
+
+            log.debug("Revocation filter rebuilt: {} tokens, {} user cutoffs", jtis.size(), cutoffs.size());
+        } catch (Exception ex) {
+            log.warn("Failed to rebuild token revocation filter: {}", ex.getMessage());
+        }
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,223 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.jfr.AuditFlushEvent;
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.repo.LogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single background writer for system_logs.
+ * - Callers only put the entry into a bounded buffer; one thread writes batches with insertMany,
+ *   flushing when batch-size entries are waiting or flush-ms has passed since the first one.
+ * - A full buffer makes the caller wait up to offer-timeout-ms (backpressure), after which the entry is dropped and counted.
+ * - On shutdown the buffer is drained; entries arriving after that are written directly.
+ */
+@Service
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private final LogRepository logRepository;
+    private final ArrayBlockingQueue<Log> buffer;
+    private final int batchSize;
+    private final long flushMs;
+    private final long offerTimeoutMs;
+    private final long drainTimeoutMs;
+    private final boolean virtualThread;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastDropWarnAt = 0;
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public AuditLogWriter(LogRepository logRepository,
+                          @Value("${app.audit.buffer-capacity:10000}") int capacity,
+                          @Value("${app.audit.batch-size:200}") int batchSize,
+                          @Value("${app.audit.flush-ms:500}") long flushMs,
+                          @Value("${app.audit.offer-timeout-ms:50}") long offerTimeoutMs,
+                          @Value("${app.audit.drain-timeout-ms:10000}") long drainTimeoutMs,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThread) {
+        this.logRepository = logRepository;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushMs = Math.max(1, flushMs);
+        this.offerTimeoutMs = Math.max(0, offerTimeoutMs);
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.virtualThread = virtualThread;
+    }
+
+    /** Queues an entry for the writer. Returns false if it was dropped because the buffer stayed full. */
+    public boolean submit(Log entry) {
+        if (!running) {
+            writeDirect(entry);
+            return true;
+        }
+        boolean queued;
+        try {
+            queued = buffer.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (queued) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        long total = dropped.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (now - lastDropWarnAt > 10_000) {
+            lastDropWarnAt = now;
+            log.warn("Audit log buffer full ({} entries); dropped {} entries so far", buffer.size(), total);
+        }
+        return false;
+    }
+
+    // =========================================================================
+    // LIFECYCLE
+    // =========================================================================
+
+    @Override
+    public void start() {
+        running = true;
+        // insertMany on the Mongo driver (5.x) blocks on locks, not monitors, so a virtual writer does not pin its carrier
+        worker = virtualThread
+                ? Thread.ofVirtual().name("audit-log-writer").start(this::runLoop)
+                : Thread.ofPlatform().name("audit-log-writer").daemon().start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        // No interrupt: the loop notices within flush-ms, and an interrupted Mongo call would lose its batch
+        try {
+            worker.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Audit log writer did not drain within {} ms; {} entries left", drainTimeoutMs, buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server and the email dispatcher, so entries from in-flight requests are still batched
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    // =========================================================================
+    // WRITER LOOP
+    // =========================================================================
+
+    private void runLoop() {
+        List<Log> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Log first = buffer.poll(flushMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // Wait (up to flush-ms after the first entry) for the batch to fill up
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMs);
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+                    long waitNs = deadline - System.nanoTime();
+                    if (waitNs <= 0) break;
+                    Log next = buffer.poll(waitNs, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                log.warn("Audit log writer loop error: {}", ex.getMessage());
+            }
+        }
+        // Final drain on shutdown
+        flush(batch);
+        while (!buffer.isEmpty()) {
+            buffer.drainTo(batch, batchSize);
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Log> batch) {
+        if (batch.isEmpty()) return;
+        AuditFlushEvent jfr = new AuditFlushEvent();
+        jfr.begin();
+        try {
+            logRepository.insert(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            jfr.succeeded = true;
+        } catch (Exception ex) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write {} audit log entries: {}", batch.size(), ex.getMessage());
+        } finally {
+            if (jfr.shouldCommit()) {
+                jfr.entries = batch.size();
+                jfr.queuedAfter = buffer.size();
+                jfr.commit();
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeDirect(Log entry) {
+        try {
+            logRepository.save(entry);
+            written.incrementAndGet();
+        } catch (Exception ex) {
+            failed.incrementAndGet();
+            log.error("Failed to save audit log", ex);
+        }
+    }
+
+    // =========================================================================
+    // METRICS
+    // =========================================================================
+
+    public int getQueueSize() { return buffer.size(); }
+    public int getCapacity() { return buffer.size() + buffer.remainingCapacity(); }
+    public long getAcceptedCount() { return accepted.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("queued", buffer.size());
+        m.put("capacity", getCapacity());
+        m.put("accepted", accepted.get());
+        m.put("written", written.get());
+        m.put("batches", batches.get());
+        m.put("dropped", dropped.get());
+        m.put("failed", failed.get());
+        return m;
+    }
+}
@@ -0,0 +1,188 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.event.BookingCancelRequestedEvent;
+import com.dtao.seminarbooking.event.BookingCreatedEvent;
+import com.dtao.seminarbooking.event.BookingEvent;
+import com.dtao.seminarbooking.event.BookingRemovedEvent;
+import com.dtao.seminarbooking.event.BookingStatusChangedEvent;
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.payload.BookingChange;
+import com.dtao.seminarbooking.payload.ChangePage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.ConnectableFlux;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process feed of booking changes, fed by the booking events the servlet controllers publish after each write.
+ * - The last `capacity` changes are kept for polling clients (changesSince) and for SSE clients resuming with Last-Event-ID.
+ * - Live changes are multicast to every open stream; a stream that falls more than subscriber-buffer changes behind
+ *   loses the oldest ones (it can catch up from the seq gap via changesSince).
+ * Changes are only seen by the instance that made them: with several instances, clients also need to poll the views.
+ * On shutdown open streams and long polls are ended first, so the graceful web server shutdown does not wait for them.
+ */
+@Service
+public class BookingChangeFeed implements SmartLifecycle {
+
+    // Identifies this server run: seq restarts at 1 on every start
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final int capacity;
+    private final int subscriberBuffer;
+    private final ConcurrentSkipListMap<Long, BookingChange> recent = new ConcurrentSkipListMap<>();
+    private final Sinks.Many<BookingChange> live = Sinks.many().multicast().directBestEffort();
+    // Keeps seq order = emission order; a lock rather than synchronized so virtual threads do not pin
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Sinks.Empty<Void> stopped = Sinks.empty();
+    private volatile boolean running = false;
+    // Written under publishLock once the change is in `recent`; read without it, since an emit to every open
+    // stream holds the lock long enough to queue up each new poll and stream request behind it
+    private volatile long seq = 0;
+
+    public BookingChangeFeed(@Value("${app.reactive.feed.capacity:1000}") int capacity,
+                             @Value("${app.reactive.feed.subscriber-buffer:256}") int subscriberBuffer) {
+        this.capacity = Math.max(1, capacity);
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+    }
+
+    // Runs on the publishing request thread: a map insert and a non-blocking emit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent e) {
+        String type = switch (e) {
+            case BookingCreatedEvent c -> "CREATED";
+            case BookingStatusChangedEvent c -> "STATUS_CHANGED";
+            case BookingCancelRequestedEvent c -> "CANCEL_REQUESTED";
+            case BookingRemovedEvent c -> "REMOVED";
+        };
+        publish(type, e.seminar());
+    }
+
+    void publish(String type, Seminar s) {
+        publishLock.lock();
+        try {
+            BookingChange change = new BookingChange(seq + 1, type, s.getId(), s.getHallName(), s.getDepartment(),
+                    s.getDate(), s.getStartDate(), s.getEndDate(), s.getStatus(), Instant.now());
+            recent.put(change.seq(), change);
+            while (recent.size() > capacity) recent.pollFirstEntry();
+            seq = change.seq();
+            live.tryEmitNext(change); // no subscribers / cancelled: nothing to do
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    public String getEpoch() { return epoch; }
+
+    public long currentSeq() { return seq; }
+
+    public int getSubscriberCount() { return live.currentSubscriberCount(); }
+
+    // =========================================================================
+    // POLLING
+    // =========================================================================
+
+    /**
+     * Changes after `after` (oldest first, at most limit). after = null starts a client at the current position.
+     * A different epoch, or an `after` older than what is kept, comes back with reset = true.
+     */
+    public ChangePage changesSince(String clientEpoch, Long after, int limit) {
+        long current = currentSeq();
+        if (after == null) return new ChangePage(epoch, List.of(), current, false);
+        if (!canResume(clientEpoch, after)) return new ChangePage(epoch, List.of(), current, true);
+        List<BookingChange> page = new ArrayList<>(Math.min(limit, 64));
+        for (BookingChange c : recent.tailMap(after, false).values()) {
+            if (page.size() >= limit) break;
+            page.add(c);
+        }
+        long next = page.isEmpty() ? after : page.get(page.size() - 1).seq();
+        return new ChangePage(epoch, page, next, false);
+    }
+
+    /** True if every change after `after` is still kept (and it is from this run). */
+    public boolean canResume(String clientEpoch, long after) {
+        if (clientEpoch != null && !epoch.equals(clientEpoch)) return false;
+        long current = currentSeq();
+        if (after < 0 || after > current) return false;
+        Map.Entry<Long, BookingChange> oldest = recent.firstEntry();
+        return after == current || (oldest != null && oldest.getKey() <= after + 1);
+    }
+
+    // =========================================================================
+    // STREAMING
+    // =========================================================================
+
+    /**
+     * Kept changes after `after`, then live ones, without gaps or duplicates in between: the live subscription starts
+     * (keeping a short history) before the kept changes are read, and live changes already replayed are skipped.
+     * Everything then goes through one bounded buffer, which drops the oldest changes for a client that cannot keep up.
+     */
+    public Flux<BookingChange> stream(long after) {
+        return Flux.defer(() -> {
+            ConnectableFlux<BookingChange> hot = live.asFlux().replay(subscriberBuffer);
+            Disposable connection = hot.connect();
+            List<BookingChange> kept = new ArrayList<>(recent.tailMap(after, false).values());
+            long replayedUpTo = kept.isEmpty() ? after : kept.get(kept.size() - 1).seq();
+            return Flux.fromIterable(kept)
+                    .concatWith(hot.filter(c -> c.seq() > replayedUpTo))
+                    .onBackpressureBuffer(kept.size() + subscriberBuffer, dropped -> {}, BufferOverflowStrategy.DROP_OLDEST)
+                    .takeUntilOther(stopped.asMono())
+                    .doFinally(signal -> connection.dispose());
+        });
+    }
+
+    /** Completes when the application stops. */
+    public Mono<Void> whenStopped() {
+        return stopped.asMono();
+    }
+
+    /** SSE event id: epoch:seq, so a reconnect after a restart is recognised. */
+    public String eventId(BookingChange c) {
+        return epoch + ":" + c.seq();
+    }
+
+    /** The seq to resume after for a Last-Event-ID, or -1 if the stream cannot be resumed without a gap. */
+    public long resumePoint(String lastEventId) {
+        int colon = lastEventId == null ? -1 : lastEventId.lastIndexOf(':');
+        if (colon <= 0) return -1;
+        try {
+            long after = Long.parseLong(lastEventId.substring(colon + 1));
+            return canResume(lastEventId.substring(0, colon), after) ? after : -1;
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    // =========================================================================
+    // LIFECYCLE
+    // =========================================================================
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    // Default phase: stops before the web server's graceful shutdown, which would otherwise wait for every open stream
+    @Override
+    public void stop() {
+        running = false;
+        stopped.tryEmitEmpty();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,10 +1,12 @@
 package com.dtao.seminarbooking.service;
 
+import com.dtao.seminarbooking.jfr.CalendarBuildEvent;
 import com.dtao.seminarbooking.model.Department;
 import com.dtao.seminarbooking.model.Seminar;
 import com.dtao.seminarbooking.payload.CalendarDaySummary;
 import com.dtao.seminarbooking.repo.DepartmentRepository;
 import com.dtao.seminarbooking.repo.SeminarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -25,6 +27,9 @@ public class DepartmentService {
     @Autowired
     private SeminarRepository seminarRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public Department addDepartment(Department d) {
         if (d.getName() == null || d.getName().trim().isEmpty()) {
             throw new ResponseStatusException(BAD_REQUEST, "Department name cannot be empty");
@@ -70,11 +75,27 @@ public class DepartmentService {
      * month should be 1..12
      */
     public List<CalendarDaySummary> getDepartmentCalendar(String departmentName, int year, int month) {
+        CalendarBuildEvent jfr = new CalendarBuildEvent();
+        jfr.begin();
+        List<CalendarDaySummary> summary = meterRegistry.timer("booking.calendar.generate", "source", "department")
+                .record(() -> buildDepartmentCalendar(departmentName, year, month, jfr));
+        if (jfr.shouldCommit()) {
+            jfr.source = "department";
+            jfr.scope = departmentName;
+            jfr.year = year;
+            jfr.month = month;
+            jfr.commit();
+        }
+        return summary;
+    }
+
+    private List<CalendarDaySummary> buildDepartmentCalendar(String departmentName, int year, int month, CalendarBuildEvent jfr) {
         YearMonth ym = YearMonth.of(year, month);
         String start = ym.atDay(1).toString();
         String end = ym.atEndOfMonth().toString();
 
         List<Seminar> seminars = seminarRepository.findByDepartmentAndDateBetween(departmentName, start, end);
+        jfr.bookingsRead = seminars.size();
 
         Map<String, Long> dayCounts = seminars.stream()
                 .collect(Collectors.groupingBy(Seminar::getDate, Collectors.counting()));
@@ -0,0 +1,234 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.repo.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Background worker that drains the email outbox.
+ * - Claims due messages in batches (leased, so several instances can run side by side)
+ * - Retries failures with exponential backoff + jitter, dead-letters after max attempts
+ * - On shutdown finishes the current batch (bounded by drain-timeout) and releases unsent claims
+ * - While the SMTP circuit is open nothing is claimed; mail waits in the outbox without burning attempts
+ */
+@Service
+public class EmailDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final EmailOutboxRepository outboxRepository;
+    private final SmtpSender smtpSender;
+    private final SmtpCircuitBreaker breaker;
+    private final MeterRegistry meterRegistry;
+    private final String workerId = "dispatcher-" + UUID.randomUUID();
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.poll-ms:2000}")
+    private long pollMs;
+
+    @Value("${app.mail.outbox.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-base-ms:30000}")
+    private long backoffBaseMs;
+
+    @Value("${app.mail.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    @Value("${app.mail.outbox.drain-timeout-ms:20000}")
+    private long drainTimeoutMs;
+
+    @Value("${app.mail.outbox.sent-retention-days:7}")
+    private long sentRetentionDays;
+
+    @Value("${app.mail.outbox.dead-retention-days:30}")
+    private long deadRetentionDays;
+
+    // Off even with spring.threads.virtual.enabled: Jakarta Mail's SMTPTransport does its socket I/O inside
+    // synchronized methods (connect, sendMessage, isConnected, close), which pins a virtual thread to its carrier
+    // for the whole SMTP round trip on JDK 21 - one carrier per CPU, so a slow server would stall request handling.
+    @Value("${app.mail.outbox.virtual-thread:false}")
+    private boolean virtualThread;
+
+    private volatile boolean running = false;
+    private Thread worker;
+
+    public EmailDispatcher(EmailOutboxService outboxService, EmailOutboxRepository outboxRepository,
+                           SmtpSender smtpSender, SmtpCircuitBreaker breaker, MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.outboxRepository = outboxRepository;
+        this.smtpSender = smtpSender;
+        this.breaker = breaker;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // =========================================================================
+    // LIFECYCLE
+    // =========================================================================
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Email outbox dispatcher disabled (app.mail.outbox.enabled=false)");
+            return;
+        }
+        running = true;
+        worker = virtualThread
+                ? Thread.ofVirtual().name("email-dispatcher").start(this::runLoop)
+                : Thread.ofPlatform().name("email-dispatcher").daemon().start(this::runLoop);
+        log.info("Email outbox dispatcher started as {}", workerId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+        running = false;
+        outboxService.signal();
+        try {
+            worker.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Email dispatcher did not drain within {} ms; interrupting", drainTimeoutMs);
+            worker.interrupt();
+        }
+        try {
+            long released = outboxRepository.releaseClaims(workerId);
+            if (released > 0) log.info("Released {} claimed emails back to the outbox", released);
+        } catch (Exception ex) {
+            log.warn("Could not release outbox claims on shutdown: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (which stops in a higher phase), so mail queued by in-flight requests is drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // =========================================================================
+    // WORK LOOP
+    // =========================================================================
+
+    private void runLoop() {
+        while (running) {
+            try {
+                int processed = dispatchOnce();
+                // A full batch means there is probably more waiting: go again without sleeping
+                if (processed < batchSize) outboxService.awaitWork(pollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.warn("Email dispatcher loop error: {}", ex.getMessage());
+                sleepQuietly(pollMs);
+            }
+        }
+        // Final drain: whatever is already due gets one more pass
+        try {
+            dispatchOnce();
+        } catch (Exception ex) {
+            log.warn("Final outbox drain failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Claims and processes one batch (sent over a single pooled SMTP connection). Returns how many messages were claimed. */
+    int dispatchOnce() {
+        if (!breaker.isCallPermitted()) return 0;
+        Instant now = Instant.now();
+        // Half-open: claim a single message as the probe instead of a batch that would bounce back
+        int size = SmtpCircuitBreaker.CLOSED.equals(breaker.getState()) ? batchSize : 1;
+        List<EmailOutboxMessage> batch = outboxRepository.claimBatch(workerId, now, now.plusMillis(leaseMs), size);
+        List<EmailOutboxMessage> sendable = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage m : batch) {
+            try {
+                m.setHtmlBody(outboxService.bodyOf(m)); // sealed bodies are opened here, in memory only
+                sendable.add(m);
+            } catch (IllegalStateException ex) {
+                recordResult(m, ex);
+            }
+        }
+        if (!sendable.isEmpty()) {
+            meterRegistry.timer("mail.send.batch").record(() -> smtpSender.sendBatch(sendable, this::recordResult));
+        }
+        return batch.size();
+    }
+
+    private void recordResult(EmailOutboxMessage m, Exception failure) {
+        try {
+            handleResult(m, failure);
+        } finally {
+            String outcome = failure == null ? "sent"
+                    : failure instanceof SmtpDeferredException ? "deferred"
+                    : m.getAttempts() + 1 >= maxAttempts ? "dead" : "retry";
+            meterRegistry.counter("mail.send", "template", String.valueOf(m.getTemplate()), "outcome", outcome).increment();
+        }
+    }
+
+    private void handleResult(EmailOutboxMessage m, Exception failure) {
+        if (failure == null) {
+            Instant now = Instant.now();
+            outboxRepository.markSent(m.getId(), workerId, now, now.plus(Duration.ofDays(sentRetentionDays)));
+            log.info("Email sent successfully to: {} ({})", m.getToEmail(), m.getTemplate());
+            return;
+        }
+        if (failure instanceof SmtpDeferredException) {
+            // Not attempted: hand it back unchanged, due when the circuit may close again
+            outboxRepository.markRetry(m.getId(), workerId, m.getAttempts(), breaker.getRetryAt(), failure.getMessage());
+            return;
+        }
+        int attempts = m.getAttempts() + 1;
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (attempts >= maxAttempts) {
+            outboxRepository.markDead(m.getId(), workerId, attempts, error, Instant.now().plus(Duration.ofDays(deadRetentionDays)));
+            log.error("Email to {} ({}) dead-lettered after {} attempts: {}", m.getToEmail(), m.getTemplate(), attempts, error);
+        } else {
+            Instant next = Instant.now().plusMillis(backoffMs(attempts));
+            outboxRepository.markRetry(m.getId(), workerId, attempts, next, error);
+            log.warn("Email to {} ({}) failed (attempt {}), retry at {}: {}", m.getToEmail(), m.getTemplate(), attempts, next, error);
+        }
+    }
+
+    // base * 2^(attempt-1), capped, with +/-20% jitter so retries of a burst do not line up
+    private long backoffMs(int attempt) {
+        long exp = backoffBaseMs << Math.min(attempt - 1, 20);
+        long capped = Math.min(exp, backoffMaxMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    private void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
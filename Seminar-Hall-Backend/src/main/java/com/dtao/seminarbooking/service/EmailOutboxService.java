@@ -0,0 +1,145 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.repo.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Front door of the persistent email outbox.
+ * enqueue() is a single insert on the caller's thread (right after the domain change);
+ * delivery happens later in {@link EmailDispatcher}.
+ * Bodies carrying a secret (OTP) go in through enqueueSealed: AES-GCM under a server key, opened only in memory
+ * by the dispatcher, so reading email_outbox does not give the secret away.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom random = new SecureRandom();
+
+    private final EmailOutboxRepository outboxRepository;
+
+    @Value("${app.mail.outbox.secret:${app.otp.secret:${jwt.secret:change_this_secret_at_least_32_chars}}}")
+    private String outboxSecret;
+
+    private volatile SecretKey sealKey;
+
+    // Lets the dispatcher wake up immediately after an enqueue instead of waiting for the next poll
+    private final Semaphore workSignal = new Semaphore(0);
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Persists a message for delivery.
+     * Returns true if the message is (or already was) in the outbox; a duplicate idempotency key is not an error.
+     */
+    public boolean enqueue(String idempotencyKey, String template, String to, String subject, String htmlBody) {
+        return insert(new EmailOutboxMessage(idempotencyKey, template, to, subject, htmlBody));
+    }
+
+    /** Like enqueue, for bodies that carry a secret: the body is stored sealed and dropped once sent or dead. */
+    public boolean enqueueSealed(String idempotencyKey, String template, String to, String subject, String htmlBody) {
+        EmailOutboxMessage m = new EmailOutboxMessage(idempotencyKey, template, to, subject, seal(htmlBody));
+        m.setSealed(true);
+        return insert(m);
+    }
+
+    private boolean insert(EmailOutboxMessage m) {
+        try {
+            outboxRepository.insert(m);
+            workSignal.release();
+            return true;
+        } catch (DuplicateKeyException dup) {
+            log.debug("Email already queued (key={})", m.getIdempotencyKey());
+            return true;
+        } catch (Exception ex) {
+            log.error("Failed to queue {} email to {}: {}", m.getTemplate(), m.getToEmail(), ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    /** The body to send: opens sealed bodies (throws if the key changed since it was queued). */
+    String bodyOf(EmailOutboxMessage m) {
+        if (!m.isSealed() || m.getHtmlBody() == null) return m.getHtmlBody();
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(m.getHtmlBody()));
+            byte[] iv = new byte[IV_BYTES];
+            in.get(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, iv));
+            return new String(cipher.doFinal(in.array(), in.position(), in.remaining()), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException | BufferUnderflowException ex) {
+            throw new IllegalStateException("Sealed email body cannot be opened", ex);
+        }
+    }
+
+    /** Blocks until work is signalled or the timeout passes. */
+    void awaitWork(long timeoutMs) throws InterruptedException {
+        if (workSignal.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+            workSignal.drainPermits();
+        }
+    }
+
+    /** Wakes the dispatcher (used on shutdown). */
+    void signal() {
+        workSignal.release();
+    }
+
+    public long countByStatus(String status) {
+        return outboxRepository.countByStatus(status);
+    }
+
+    // =========================================================================
+    // SEALING
+    // =========================================================================
+
+    // Base64(iv || ciphertext+tag)
+    private String seal(String body) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key(), new GCMParameterSpec(TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(body.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to seal email body", ex);
+        }
+    }
+
+    // Derived from the secret rather than used as-is, so the OTP HMAC key and this key never coincide
+    private SecretKey key() throws GeneralSecurityException {
+        SecretKey k = sealKey;
+        if (k == null) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(outboxSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            k = new SecretKeySpec(mac.doFinal("email-outbox-body".getBytes(StandardCharsets.UTF_8)), "AES");
+            sealKey = k;
+        }
+        return k;
+    }
+}
@@ -1,125 +1,124 @@
 package com.dtao.seminarbooking.service;
 
+import com.dtao.seminarbooking.config.RequestTiming;
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
 import com.dtao.seminarbooking.model.HallOperator;
 import com.dtao.seminarbooking.model.Seminar;
 import com.dtao.seminarbooking.model.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.io.UnsupportedEncodingException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
-    // You can change this display name in .env if needed
-    private static final String SENDER_NAME = "Venue Booking System";
 
-    private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from}")
-    private String mailFrom;
-
-    @Value("${app.mail.website}")
-    private String websiteUrl;
-
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    // Static variants picked per message (no per-message string building)
+    private static final String APPROVED_BANNER =
+            "<div style='background:#e9f7ef;border:1px solid #c7efd3;padding:10px;border-radius:6px;margin-bottom:12px'>" +
+            "<strong style='color:#2f8a4b'>Approved by Administrator</strong>" +
+            "<div style='font-size:13px;color:#444;margin-top:6px'>Your booking has been approved.</div></div>";
+    private static final String CLOSING_APPROVED = "<p style='margin-top:12px;color:#333'>Status: <strong style='color:green'>APPROVED</strong></p>";
+    private static final String CLOSING_PENDING = "<p style='margin-top:12px;color:#333'>Our admin team will review this request.</p>";
+    private static final String MSG_APPROVED = "<p style='color:green'>Your booking has been APPROVED.</p>";
+    private static final String MSG_REJECTED = "<p style='color:red'>Your booking request has been REJECTED.</p>";
+    private static final String MSG_CANCELLED = "<p style='color:orange'>Your booking has been CANCELLED.</p>";
+
+    private final EmailOutboxService outboxService;
+    private final EmailTemplateEngine templates;
+
+    // Identical messages to the same recipient inside this window collapse into one (double submits, client retries)
+    @Value("${app.mail.outbox.dedupe-window-seconds:60}")
+    private long dedupeWindowSeconds;
+
+    public EmailService(EmailOutboxService outboxService, EmailTemplateEngine templates) {
+        this.outboxService = outboxService;
+        this.templates = templates;
     }
 
     // =========================================================================
-    // CORE SMTP HELPER
+    // CORE HELPER: render -> outbox (delivery happens in EmailDispatcher)
     // =========================================================================
 
-    private boolean sendHtml(String to, String subject, String htmlBody) {
+    private boolean sendHtml(String template, String to, String subject, String htmlBody) {
+        return sendHtml(template, to, subject, htmlBody, false);
+    }
+
+    // secret = the body carries a secret (OTP): stored sealed, and kept out of the idempotency key, whose body hash
+    // could be brute-forced back to a 6-digit code
+    private boolean sendHtml(String template, String to, String subject, String htmlBody, boolean secret) {
         if (!validEmail(to)) {
             logger.warn("Attempted to send email to invalid address: {}", to);
             return false;
         }
+        String recipient = to.trim();
+        long t = RequestTiming.start();
         try {
-            MimeMessage msg = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
-
-            helper.setFrom(mailFrom, SENDER_NAME);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-
-            mailSender.send(msg);
-            logger.info("Email sent successfully to: {}", to);
-            return true;
-        } catch (MessagingException | UnsupportedEncodingException e) {
-            logger.error("Failed to send SMTP email to {}", to, e);
-            return false;
+            if (secret) {
+                String key = template + ":" + recipient.toLowerCase() + ":" + UUID.randomUUID();
+                return outboxService.enqueueSealed(key, template, recipient, subject, htmlBody);
+            }
+            return outboxService.enqueue(idempotencyKey(template, recipient, subject, htmlBody), template, recipient, subject, htmlBody);
+        } finally {
+            RequestTiming.stop(RequestTiming.MAIL, t);
         }
     }
 
+    private String idempotencyKey(String template, String to, String subject, String htmlBody) {
+        long window = Math.max(1, dedupeWindowSeconds);
+        long bucket = Instant.now().getEpochSecond() / window;
+        return template + ":" + to.toLowerCase() + ":" + DigestUtils.sha256Hex(subject + "\n" + htmlBody) + ":" + bucket;
+    }
+
     // =========================================================================
     // 1. OTP
     // =========================================================================
 
-    public boolean sendOtp(String toEmail, String otp) {
-        if (!validEmail(toEmail) || otp == null) return false;
+    public CompletableFuture<Boolean> sendOtp(String toEmail, String otp) {
+        if (!validEmail(toEmail) || otp == null) return done(false);
         String subject = "Seminar Booking - Password Reset OTP";
-        String html = "<html><body style='font-family:Arial,Helvetica,sans-serif;padding:18px'>" +
-                "<h2>OTP for Seminar Booking</h2>" +
-                "<p>Your OTP is: <strong>" + escape(otp) + "</strong></p>" +
-                "<p>Valid for 5 minutes.</p>" +
-                "</body></html>";
-        return sendHtml(toEmail, subject, html);
+        String html = templates.render(EmailTemplateEngine.OTP, Map.of("otp", otp));
+        return done(sendHtml("OTP", toEmail, subject, html, true));
     }
 
     // =========================================================================
     // 2. USER NOTIFICATIONS
     // =========================================================================
 
-    @Async
     public CompletableFuture<Boolean> sendWelcomeEmail(User user) {
         if (user == null || !validEmail(user.getEmail())) return done(false);
         String to = user.getEmail();
         String name = user.getName() == null ? "User" : user.getName();
 
         String subject = "Welcome to Venue Booking System";
-        String html = "<html><body style='font-family:Arial,Helvetica,sans-serif;color:#111;padding:18px;'>" +
-                "<div style='max-width:650px;margin:0 auto;border:1px solid #e6e6e6;padding:18px;border-radius:6px;'>" +
-                "<h2 style='color:#0b5ed7'>Welcome to " + SENDER_NAME + "</h2>" +
-                "<p>Dear " + escape(name) + ",</p>" +
-                "<p>Thank you for creating an account on the Seminar Booking portal.</p>" +
-                "<p><strong>Account</strong><br/>Email: " + escape(to) + "</p>" +
-                "<p>Visit: <a href='" + websiteUrl + "'>" + websiteUrl + "</a></p>" +
-                footerHtml() + "</div></body></html>";
-
-        return done(sendHtml(to, subject, html));
+        String html = templates.render(EmailTemplateEngine.WELCOME, Map.of("name", name, "email", to));
+        return done(sendHtml("WELCOME", to, subject, html));
     }
 
-    @Async
     public CompletableFuture<Boolean> sendAccountRemovedEmail(User user) {
         if (user == null || !validEmail(user.getEmail())) return done(false);
         String to = user.getEmail();
         String subject = "Account removed from Venue Booking System";
-        String html = "<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>" +
-                "<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px'>" +
-                "<h2 style='color:#d9534f'>Account Removed</h2>" +
-                "<p>Dear " + escape(user.getName() == null ? "User" : user.getName()) + ",</p>" +
-                "<p>Your account has been removed from the portal.</p>" +
-                footerHtml() + "</div></body></html>";
-        return done(sendHtml(to, subject, html));
+        String html = templates.render(EmailTemplateEngine.ACCOUNT_REMOVED, Map.of("name", user.getName() == null ? "User" : user.getName()));
+        return done(sendHtml("ACCOUNT_REMOVED", to, subject, html));
     }
 
     // =========================================================================
     // 3. SEMINAR BOOKING ACTIONS
     // =========================================================================
 
-    @Async
     public CompletableFuture<Boolean> sendBookingCreatedEmail(Seminar s) {
         if (s == null || !validEmail(s.getEmail())) return done(false);
         String to = s.getEmail();
@@ -127,165 +126,184 @@ public class EmailService {
 
         boolean isApproved = "APPROVED".equalsIgnoreCase(s.getStatus()) || "ADMIN".equalsIgnoreCase(s.getCreatedBy());
 
-        StringBuilder html = new StringBuilder();
-        html.append("<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>")
-                .append("<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px;background:#fff'>");
-
-        if (isApproved) {
-            html.append("<div style='background:#e9f7ef;border:1px solid #c7efd3;padding:10px;border-radius:6px;margin-bottom:12px'>")
-                    .append("<strong style='color:#2f8a4b'>Approved by Administrator</strong>")
-                    .append("<div style='font-size:13px;color:#444;margin-top:6px'>Your booking has been approved.</div>")
-                    .append("</div>");
-        }
-
-        html.append("<h2 style='color:#0b5ed7;margin-top:0;'>Seminar Booking Received</h2>")
-                .append("<p>Dear ").append(escape(s.getBookingName() == null ? "User" : s.getBookingName())).append(",</p>")
-                .append("<p>Your booking request has been successfully received.</p>")
-                .append("<table style='width:100%;border-collapse:collapse;margin-top:10px;'>")
-                .append(rowTd("Hall", safe(s.getHallName())))
-                .append(rowTd("Event", safe(s.getSlotTitle())))
-                .append(getDateAndTimesRows(s)) // ✅ DYNAMIC DATE/TIME ROW
-                .append(rowTd("Department", safe(s.getDepartment())))
-                .append(rowTd("Contact", safe(s.getPhone())))
-                .append(rowTd("Email", safe(s.getEmail())))
-                .append("</table>");
-
-        if (isApproved)
-            html.append("<p style='margin-top:12px;color:#333'>Status: <strong style='color:green'>APPROVED</strong></p>");
-        else
-            html.append("<p style='margin-top:12px;color:#333'>Our admin team will review this request.</p>");
-
-        html.append(footerHtml()).append("</div></body></html>");
-
-        return done(sendHtml(to, subject, html.toString()));
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", safe(s.getHallName()));
+        row(rows, "Event", safe(s.getSlotTitle()));
+        dateAndTimeRows(rows, s); // ✅ DYNAMIC DATE/TIME ROW
+        row(rows, "Department", safe(s.getDepartment()));
+        row(rows, "Contact", safe(s.getPhone()));
+        row(rows, "Email", safe(s.getEmail()));
+
+        String html = templates.render(EmailTemplateEngine.BOOKING_CREATED, Map.of(
+                "banner", isApproved ? APPROVED_BANNER : "",
+                "name", s.getBookingName() == null ? "User" : s.getBookingName(),
+                "rows", rows.toString(),
+                "closing", isApproved ? CLOSING_APPROVED : CLOSING_PENDING));
+        return done(sendHtml("BOOKING_CREATED", to, subject, html));
     }
 
-    @Async
     public CompletableFuture<Boolean> sendSeminarRemovedEmail(Seminar s) {
         if (s == null || !validEmail(s.getEmail())) return done(false);
         String to = s.getEmail();
         String subject = "Seminar booking removed — " + safe(s.getHallName());
 
-        StringBuilder html = new StringBuilder();
-        html.append("<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>")
-                .append("<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px'>")
-                .append("<h2 style='color:#d9534f'>Seminar Booking Removed</h2>")
-                .append("<p>Dear ").append(escape(s.getBookingName())).append(",</p>")
-                .append("<p>Your booking has been removed.</p>")
-                .append("<table style='width:100%;border-collapse:collapse'>")
-                .append(rowTd("Hall", safe(s.getHallName())))
-                .append(getDateAndTimesRows(s)) // ✅ DYNAMIC DATE/TIME
-                .append(rowTd("Event", safe(s.getSlotTitle())))
-                .append("</table>")
-                .append(footerHtml()).append("</div></body></html>");
-
-        return done(sendHtml(to, subject, html.toString()));
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", safe(s.getHallName()));
+        dateAndTimeRows(rows, s); // ✅ DYNAMIC DATE/TIME
+        row(rows, "Event", safe(s.getSlotTitle()));
+
+        String html = templates.render(EmailTemplateEngine.SEMINAR_REMOVED, Map.of(
+                "name", s.getBookingName() == null ? "" : s.getBookingName(),
+                "rows", rows.toString()));
+        return done(sendHtml("SEMINAR_REMOVED", to, subject, html));
     }
 
     // =========================================================================
     // 4. HALL OPERATOR NOTIFICATIONS
+    // (all heads of a hall share one rendered details block; only the greeting differs)
     // =========================================================================
 
-    @Async
     public CompletableFuture<Boolean> sendWelcomeEmailForOperator(HallOperator operator) {
         if (operator == null || !validEmail(operator.getHeadEmail())) return done(false);
         // ... (Same as before, straightforward text)
         return done(true); // Shortened for brevity as logic is unchanged
     }
 
-    @Async
     public CompletableFuture<Boolean> sendHallHeadBookingCreatedEmail(HallOperator head, Seminar s) {
-        if (head == null || !validEmail(head.getHeadEmail()) || s == null) return done(false);
-        String to = head.getHeadEmail();
+        return sendHallHeadBookingCreatedEmails(Collections.singletonList(head), s).get(0);
+    }
+
+    /** One future per head, in the same order as heads. */
+    public List<CompletableFuture<Boolean>> sendHallHeadBookingCreatedEmails(List<HallOperator> heads, Seminar s) {
+        if (s == null) return failedForEach(heads);
         String subject = "New booking requested for " + safe(s.getHallName());
 
-        String html = "<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>"
-                + "<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px'>"
-                + "<h2 style='color:#0b5ed7;margin-top:0;'>New Booking Request</h2>"
-                + "<p>Hello " + escape(head.getHeadName()) + ",</p>"
-                + "<p>A new booking has been created for your hall.</p>"
-                + "<table style='width:100%;border-collapse:collapse;margin-top:10px;'>"
-                + rowTd("Hall", safe(s.getHallName()))
-                + getDateAndTimesRows(s) // ✅ DYNAMIC
-                + rowTd("Event", safe(s.getSlotTitle()))
-                + rowTd("Booked By", safe(s.getBookingName()) + " (" + safe(s.getEmail()) + ")")
-                + rowTd("Department", safe(s.getDepartment()))
-                + rowTd("Contact", safe(s.getPhone()))
-                + "</table>"
-                + footerHtml() + "</div></body></html>";
-
-        return done(sendHtml(to, subject, html));
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", safe(s.getHallName()));
+        dateAndTimeRows(rows, s); // ✅ DYNAMIC
+        row(rows, "Event", safe(s.getSlotTitle()));
+        row(rows, "Booked By", safe(s.getBookingName()) + " (" + safe(s.getEmail()) + ")");
+        row(rows, "Department", safe(s.getDepartment()));
+        row(rows, "Contact", safe(s.getPhone()));
+        String sharedRows = rows.toString();
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(heads.size());
+        for (HallOperator head : heads) {
+            if (head == null || !validEmail(head.getHeadEmail())) {
+                results.add(done(false));
+                continue;
+            }
+            String html = templates.render(EmailTemplateEngine.HALL_HEAD_BOOKING_CREATED, Map.of(
+                    "headName", head.getHeadName() == null ? "" : head.getHeadName(),
+                    "rows", sharedRows));
+            results.add(done(sendHtml("HALL_HEAD_BOOKING_CREATED", head.getHeadEmail(), subject, html)));
+        }
+        return results;
     }
 
-    @Async
     public CompletableFuture<Boolean> sendHallHeadBookingApprovedEmail(HallOperator head, Seminar s, String reason) {
-        return sendOperatorStatusEmail(head, s, "Confirmed", "#28a745", reason);
+        return sendHallHeadStatusEmails(Collections.singletonList(head), s, "APPROVED", reason).get(0);
     }
 
-    @Async
     public CompletableFuture<Boolean> sendHallHeadBookingRejectedEmail(HallOperator head, Seminar s, String reason) {
-        return sendOperatorStatusEmail(head, s, "Rejected", "#dc3545", reason);
+        return sendHallHeadStatusEmails(Collections.singletonList(head), s, "REJECTED", reason).get(0);
     }
 
-    @Async
     public CompletableFuture<Boolean> sendHallHeadBookingCancelledEmail(HallOperator head, Seminar s, String reason) {
-        return sendOperatorStatusEmail(head, s, "Cancelled", "#fd7e14", reason);
+        return sendHallHeadStatusEmails(Collections.singletonList(head), s, "CANCELLED", reason).get(0);
     }
 
-    private CompletableFuture<Boolean> sendOperatorStatusEmail(HallOperator head, Seminar s, String statusTitle, String color, String reason) {
-        if (head == null || !validEmail(head.getHeadEmail()) || s == null) return done(false);
-        String to = head.getHeadEmail();
+    /**
+     * Status email to every head of the hall. status: APPROVED / REJECTED / CANCELLED.
+     * One future per head, in the same order as heads.
+     */
+    public List<CompletableFuture<Boolean>> sendHallHeadStatusEmails(List<HallOperator> heads, Seminar s, String status, String reason) {
+        String statusTitle;
+        String color;
+        switch (status == null ? "" : status.toUpperCase()) {
+            case "APPROVED" -> { statusTitle = "Confirmed"; color = "#28a745"; }
+            case "REJECTED" -> { statusTitle = "Rejected"; color = "#dc3545"; }
+            case "CANCELLED" -> { statusTitle = "Cancelled"; color = "#fd7e14"; }
+            default -> { return failedForEach(heads); }
+        }
+        if (s == null) return failedForEach(heads);
         String subject = "Booking " + statusTitle + " for " + safe(s.getHallName());
 
-        StringBuilder html = new StringBuilder();
-        html.append("<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>")
-                .append("<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px'>")
-                .append("<h2 style='color:").append(color).append("'>Booking ").append(statusTitle).append("</h2>")
-                .append("<p>Hello ").append(escape(head.getHeadName())).append(",</p>")
-                .append("<p>The following booking has been updated:</p>")
-                .append("<table style='width:100%;border-collapse:collapse'>")
-                .append(rowTd("Hall", safe(s.getHallName())))
-                .append(getDateAndTimesRows(s)) // ✅ DYNAMIC
-                .append(rowTd("Event", safe(s.getSlotTitle())))
-                .append(rowTd("Booked by", safe(s.getBookingName()) + " (" + safe(s.getEmail()) + ")"));
-        if (reason != null && !reason.isBlank()) html.append(rowTd("Remarks", escape(reason)));
-        html.append("</table>").append(footerHtml()).append("</div></body></html>");
-
-        return done(sendHtml(to, subject, html.toString()));
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", safe(s.getHallName()));
+        dateAndTimeRows(rows, s); // ✅ DYNAMIC
+        row(rows, "Event", safe(s.getSlotTitle()));
+        row(rows, "Booked by", safe(s.getBookingName()) + " (" + safe(s.getEmail()) + ")");
+        if (reason != null && !reason.isBlank()) row(rows, "Remarks", reason);
+        String sharedRows = rows.toString();
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(heads.size());
+        for (HallOperator head : heads) {
+            if (head == null || !validEmail(head.getHeadEmail())) {
+                results.add(done(false));
+                continue;
+            }
+            String html = templates.render(EmailTemplateEngine.HALL_HEAD_STATUS, Map.of(
+                    "color", color,
+                    "statusTitle", statusTitle,
+                    "headName", head.getHeadName() == null ? "" : head.getHeadName(),
+                    "rows", sharedRows));
+            results.add(done(sendHtml("HALL_HEAD_STATUS", head.getHeadEmail(), subject, html)));
+        }
+        return results;
+    }
+
+    /** One summary email for several buffered booking events (see HallHeadDigestService). */
+    public CompletableFuture<Boolean> sendHallHeadDigest(HallOperator head, List<HallHeadDigestEntry> entries) {
+        if (head == null || !validEmail(head.getHeadEmail()) || entries == null || entries.isEmpty()) return done(false);
+
+        LinkedHashSet<String> halls = new LinkedHashSet<>();
+        StringBuilder rows = new StringBuilder(512 * entries.size());
+        for (HallHeadDigestEntry e : entries) {
+            halls.add(safe(e.getHallName()));
+            templates.append(rows, EmailTemplateEngine.DIGEST_ROW, Map.of(
+                    "color", digestColor(e.getEvent()),
+                    "update", digestLabel(e.getEvent()),
+                    "hall", safe(e.getHallName()),
+                    "event", safe(e.getSlotTitle()),
+                    "when", whenText(e),
+                    "bookedBy", safe(e.getBookingName()) + " (" + safe(e.getBookingEmail()) + ")",
+                    "remarks", e.getReason() == null || e.getReason().isBlank() ? "—" : e.getReason()));
+        }
+
+        String subject = entries.size() + " booking updates for " + String.join(", ", halls);
+        String html = templates.render(EmailTemplateEngine.HALL_HEAD_DIGEST, Map.of(
+                "headName", head.getHeadName() == null ? "" : head.getHeadName(),
+                "count", String.valueOf(entries.size()),
+                "rows", rows.toString()));
+        return done(sendHtml("HALL_HEAD_DIGEST", head.getHeadEmail(), subject, html));
     }
 
     // =========================================================================
     // 5. GENERIC STATUS NOTIFICATION (USER)
     // =========================================================================
 
-    @Async
     public CompletableFuture<Boolean> sendStatusNotification(String toEmail, Seminar seminar, String newStatus, String reason) {
         if (!validEmail(toEmail)) return done(false);
         String status = newStatus == null ? "UPDATE" : newStatus.toUpperCase();
         String subject = "Seminar Booking Update — " + safe(seminar.getHallName());
 
-        StringBuilder html = new StringBuilder();
-        html.append("<html><body style='font-family:Arial,Helvetica,sans-serif;color:#111;background:#fff;padding:18px;'>")
-                .append("<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:18px;border-radius:8px;'>")
-                .append("<h2 style='color:#0b5ed7;margin:0 0 12px 0;'>Seminar Booking Notification</h2>")
-                .append("<p>Hello,</p>")
-                .append("<p>There is an update on your seminar booking:</p>")
-                .append("<table style='width:100%;border-collapse:collapse;margin-top:10px'>")
-                .append(rowTd("Hall", safe(seminar.getHallName())))
-                .append(getDateAndTimesRows(seminar)) // ✅ DYNAMIC
-                .append(rowTd("Event", safe(seminar.getSlotTitle())))
-                .append(rowTd("Status", escape(status)));
-        if (reason != null && !reason.isBlank()) html.append(rowTd("Remarks", escape(reason)));
-        html.append("</table>").append("<div style='margin-top:14px'>");
-
-        if ("APPROVED".equals(status)) html.append("<p style='color:green'>Your booking has been APPROVED.</p>");
-        else if ("REJECTED".equals(status)) html.append("<p style='color:red'>Your booking request has been REJECTED.</p>");
-        else if ("CANCELLED".equals(status)) html.append("<p style='color:orange'>Your booking has been CANCELLED.</p>");
-        else html.append("<p>Status changed to: <strong>").append(escape(status)).append("</strong>.</p>");
-
-        html.append("</div>").append(footerHtml()).append("</div></body></html>");
-
-        return done(sendHtml(toEmail, subject, html.toString()));
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", safe(seminar.getHallName()));
+        dateAndTimeRows(rows, seminar); // ✅ DYNAMIC
+        row(rows, "Event", safe(seminar.getSlotTitle()));
+        row(rows, "Status", status);
+        if (reason != null && !reason.isBlank()) row(rows, "Remarks", reason);
+
+        String message = switch (status) {
+            case "APPROVED" -> MSG_APPROVED;
+            case "REJECTED" -> MSG_REJECTED;
+            case "CANCELLED" -> MSG_CANCELLED;
+            default -> "<p>Status changed to: <strong>" + EmailTemplate.escapeToString(status) + "</strong>.</p>";
+        };
+
+        String html = templates.render(EmailTemplateEngine.STATUS_NOTIFICATION, Map.of("rows", rows.toString(), "message", message));
+        return done(sendHtml("STATUS_NOTIFICATION", toEmail, subject, html));
     }
 
     // =========================================================================
@@ -293,54 +311,79 @@ public class EmailService {
     // =========================================================================
 
     // ✅✅ NEW: Logic to intelligently display Date/Time or Date Range
-    private String getDateAndTimesRows(Seminar s) {
-        StringBuilder sb = new StringBuilder();
-
+    private void dateAndTimeRows(StringBuilder rows, Seminar s) {
         // 1. Day Wise Booking (Range)
         if (s.getStartDate() != null && s.getEndDate() != null) {
-            sb.append(rowTd("From Date", safe(s.getStartDate())));
-            sb.append(rowTd("To Date", safe(s.getEndDate())));
+            row(rows, "From Date", safe(s.getStartDate()));
+            row(rows, "To Date", safe(s.getEndDate()));
             // If they have specific slot config, hint at it, otherwise imply full day
             if (s.getDaySlots() != null && !s.getDaySlots().isEmpty()) {
-                sb.append(rowTd("Time", "Multi-day (See details in portal)"));
+                row(rows, "Time", "Multi-day (See details in portal)");
             } else {
-                sb.append(rowTd("Time", "Full Day"));
+                row(rows, "Time", "Full Day");
             }
         }
         // 2. Time Wise Booking (Single Date)
         else {
-            sb.append(rowTd("Date", safe(s.getDate())));
+            row(rows, "Date", safe(s.getDate()));
             if (s.getStartTime() != null && s.getEndTime() != null) {
-                sb.append(rowTd("Time", safe(s.getStartTime()) + " — " + safe(s.getEndTime())));
+                row(rows, "Time", safe(s.getStartTime()) + " — " + safe(s.getEndTime()));
             } else {
-                sb.append(rowTd("Time", "Full Day"));
+                row(rows, "Time", "Full Day");
             }
         }
-        return sb.toString();
     }
 
-    private CompletableFuture<Boolean> done(boolean val) {
-        return CompletableFuture.completedFuture(val);
+    private String digestLabel(String event) {
+        if (event == null) return "Updated";
+        return switch (event) {
+            case HallHeadDigestEntry.CREATED -> "New request";
+            case HallHeadDigestEntry.CANCEL_REQUESTED -> "Cancellation requested";
+            case HallHeadDigestEntry.APPROVED -> "Confirmed";
+            case HallHeadDigestEntry.REJECTED -> "Rejected";
+            case HallHeadDigestEntry.CANCELLED -> "Cancelled";
+            default -> "Updated";
+        };
     }
 
-    private String rowTd(String key, String value) {
-        return "<tr><td style='padding:6px;border:1px solid #f0f0f0;width:30%'><strong>" + escape(key) + "</strong></td>" +
-                "<td style='padding:6px;border:1px solid #f0f0f0'>" + escape(value) + "</td></tr>";
+    private String digestColor(String event) {
+        if (event == null) return "#0b5ed7";
+        return switch (event) {
+            case HallHeadDigestEntry.APPROVED -> "#28a745";
+            case HallHeadDigestEntry.REJECTED -> "#dc3545";
+            case HallHeadDigestEntry.CANCELLED, HallHeadDigestEntry.CANCEL_REQUESTED -> "#fd7e14";
+            default -> "#0b5ed7";
+        };
     }
 
-    private String footerHtml() {
-        return "<hr style='border:none;border-top:1px solid #eee'/>" +
-                "<p style='font-size:13px;color:#666'>" + SENDER_NAME + "<br/>" +
-                "Visit: <a href='" + websiteUrl + "'>" + websiteUrl + "</a></p>";
+    // Compact one-cell version of dateAndTimeRows for the digest table
+    private String whenText(HallHeadDigestEntry e) {
+        if (e.getStartDate() != null && e.getEndDate() != null) {
+            return safe(e.getStartDate()) + " → " + safe(e.getEndDate());
+        }
+        if (e.getStartTime() != null && e.getEndTime() != null) {
+            return safe(e.getDate()) + " " + e.getStartTime() + " — " + e.getEndTime();
+        }
+        return safe(e.getDate()) + " (Full Day)";
     }
 
-    private String safe(String s) {
-        return s == null || s.isBlank() ? "—" : s;
+    // Values are escaped by the template
+    private void row(StringBuilder rows, String key, String value) {
+        templates.append(rows, EmailTemplateEngine.ROW, Map.of("key", key, "value", value));
+    }
+
+    private CompletableFuture<Boolean> done(boolean val) {
+        return CompletableFuture.completedFuture(val);
     }
 
-    private String escape(String s) {
-        if (s == null) return "";
-        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    private List<CompletableFuture<Boolean>> failedForEach(List<HallOperator> heads) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(heads.size());
+        for (int i = 0; i < heads.size(); i++) results.add(done(false));
+        return results;
+    }
+
+    private String safe(String s) {
+        return s == null || s.isBlank() ? "—" : s;
     }
 
     private boolean validEmail(String e) {
@@ -348,4 +391,4 @@ public class EmailService {
         String t = e.trim();
         return !t.isEmpty() && t.contains("@") && t.length() <= 254;
     }
-}
\ No newline at end of file
+}
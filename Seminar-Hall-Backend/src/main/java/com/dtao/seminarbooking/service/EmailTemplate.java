@@ -0,0 +1,122 @@
+package com.dtao.seminarbooking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled once into static char segments and the slots between them.
+ * Syntax: {{name}} is HTML-escaped, {{{name}}} is inserted as-is (pre-rendered fragments only).
+ * Names found in the compile-time constants are resolved during compilation, so their text
+ * becomes part of the static segments (footer, website link, ...).
+ */
+public final class EmailTemplate {
+
+    private final String name;
+    private final char[][] segments; // segments.length == slots.length + 1
+    private final String[] slots;
+    private final boolean[] raw;
+    private final int staticLength;
+
+    private EmailTemplate(String name, char[][] segments, String[] slots, boolean[] raw) {
+        this.name = name;
+        this.segments = segments;
+        this.slots = slots;
+        this.raw = raw;
+        int len = 0;
+        for (char[] seg : segments) len += seg.length;
+        this.staticLength = len;
+    }
+
+    public static EmailTemplate compile(String name, String source, Map<String, String> constants) {
+        List<String> segs = new ArrayList<>();
+        List<String> slotNames = new ArrayList<>();
+        List<Boolean> rawFlags = new ArrayList<>();
+
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            int open = source.indexOf("{{", i);
+            if (open < 0) {
+                current.append(source, i, source.length());
+                break;
+            }
+            current.append(source, i, open);
+
+            boolean isRaw = source.startsWith("{{{", open);
+            String close = isRaw ? "}}}" : "}}";
+            int start = open + (isRaw ? 3 : 2);
+            int end = source.indexOf(close, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in email template '" + name + "' at " + open);
+            }
+            String slot = source.substring(start, end).trim();
+            i = end + close.length();
+
+            if (constants.containsKey(slot)) {
+                String value = constants.get(slot);
+                current.append(isRaw ? value : escapeToString(value));
+            } else {
+                segs.add(current.toString());
+                current.setLength(0);
+                slotNames.add(slot);
+                rawFlags.add(isRaw);
+            }
+        }
+        segs.add(current.toString());
+
+        char[][] segments = new char[segs.size()][];
+        for (int s = 0; s < segments.length; s++) segments[s] = segs.get(s).toCharArray();
+        boolean[] raw = new boolean[rawFlags.size()];
+        for (int r = 0; r < raw.length; r++) raw[r] = rawFlags.get(r);
+        return new EmailTemplate(name, segments, slotNames.toArray(new String[0]), raw);
+    }
+
+    /** Appends the rendered template to out; missing values render as empty. */
+    public void renderTo(StringBuilder out, Map<String, String> model) {
+        out.ensureCapacity(out.length() + staticLength + 64 * slots.length);
+        for (int s = 0; s < slots.length; s++) {
+            out.append(segments[s]);
+            String value = model.get(slots[s]);
+            if (value != null) {
+                if (raw[s]) out.append(value);
+                else escapeTo(out, value);
+            }
+        }
+        out.append(segments[slots.length]);
+    }
+
+    public String getName() { return name; }
+    public int getSlotCount() { return slots.length; }
+
+    // =========================================================================
+    // ESCAPING
+    // =========================================================================
+
+    /** HTML-escapes straight into the output (no intermediate strings for the common no-op case). */
+    public static void escapeTo(StringBuilder out, String s) {
+        int last = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String rep = switch (s.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (rep != null) {
+                out.append(s, last, i).append(rep);
+                last = i + 1;
+            }
+        }
+        out.append(s, last, s.length());
+    }
+
+    public static String escapeToString(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        escapeTo(sb, s);
+        return sb.toString();
+    }
+}
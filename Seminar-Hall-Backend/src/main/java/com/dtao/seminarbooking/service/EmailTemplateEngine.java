@@ -0,0 +1,95 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.config.RequestTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the email templates from classpath:templates/email/*.html and compiles them once at startup.
+ * Template lines are trimmed and joined, so files can be indented freely.
+ * Site-wide values (website, senderName, footer) are compile-time constants baked into the static segments.
+ * Rendering reuses a per-thread builder, so a message costs one final String copy.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    public static final String OTP = "otp";
+    public static final String WELCOME = "welcome";
+    public static final String ACCOUNT_REMOVED = "account-removed";
+    public static final String BOOKING_CREATED = "booking-created";
+    public static final String SEMINAR_REMOVED = "seminar-removed";
+    public static final String HALL_HEAD_BOOKING_CREATED = "hall-head-booking-created";
+    public static final String HALL_HEAD_STATUS = "hall-head-status";
+    public static final String STATUS_NOTIFICATION = "status-notification";
+    public static final String HALL_HEAD_DIGEST = "hall-head-digest";
+    public static final String ROW = "row";
+    public static final String DIGEST_ROW = "digest-row";
+
+    private static final List<String> TEMPLATES = List.of(OTP, WELCOME, ACCOUNT_REMOVED, BOOKING_CREATED,
+            SEMINAR_REMOVED, HALL_HEAD_BOOKING_CREATED, HALL_HEAD_STATUS, HALL_HEAD_DIGEST, STATUS_NOTIFICATION,
+            ROW, DIGEST_ROW);
+
+    // Bodies are a few KB; a builder that grew past this (unusually large remarks) is not kept around
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    public EmailTemplateEngine(@Value("${app.mail.website}") String websiteUrl,
+                               @Value("${app.mail.sender-name:Venue Booking System}") String senderName) {
+        Map<String, String> constants = new HashMap<>();
+        constants.put("website", websiteUrl);
+        constants.put("senderName", senderName);
+
+        StringBuilder footer = new StringBuilder();
+        EmailTemplate.compile("footer", load("footer"), constants).renderTo(footer, Map.of());
+        constants.put("footer", footer.toString());
+
+        for (String name : TEMPLATES) {
+            templates.put(name, EmailTemplate.compile(name, load(name), constants));
+        }
+    }
+
+    /** Renders a full message body. */
+    public String render(String name, Map<String, String> model) {
+        long t = RequestTiming.start();
+        StringBuilder sb = buffers.get();
+        sb.setLength(0);
+        template(name).renderTo(sb, model);
+        String result = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) buffers.remove();
+        RequestTiming.stop(RequestTiming.RENDER, t);
+        return result;
+    }
+
+    /** Appends a fragment (e.g. a table row) to a caller-owned builder. */
+    public void append(StringBuilder out, String name, Map<String, String> model) {
+        template(name).renderTo(out, model);
+    }
+
+    private EmailTemplate template(String name) {
+        EmailTemplate t = templates.get(name);
+        if (t == null) throw new IllegalArgumentException("Unknown email template: " + name);
+        return t;
+    }
+
+    private static String load(String name) {
+        ClassPathResource resource = new ClassPathResource("templates/email/" + name + ".html");
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(String::strip)
+                    .collect(Collectors.joining());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Missing email template " + resource.getPath(), ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import com.dtao.seminarbooking.model.HallOperator;
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.repo.HallHeadDigestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hall-head notifications, buffered per recipient.
+ * - Every booking event is upserted into hall_head_digest keyed by (head, booking), so rapid status flips
+ *   on one booking collapse into its final state.
+ * - The head's digestMode decides when the buffer is flushed: IMMEDIATE (after a short coalescing delay),
+ *   HOURLY (top of the hour) or DAILY (at daily-hour).
+ * - A flush sends one email per head: the usual single-booking email for one entry, a summary table otherwise.
+ */
+@Service
+public class HallHeadDigestService {
+
+    private static final Logger log = LoggerFactory.getLogger(HallHeadDigestService.class);
+
+    private final HallOperatorService hallOperatorService;
+    private final HallHeadDigestRepository digestRepository;
+    private final EmailService emailService;
+
+    @Value("${app.mail.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.digest.immediate-delay-seconds:60}")
+    private long immediateDelaySeconds;
+
+    @Value("${app.mail.digest.daily-hour:8}")
+    private int dailyHour;
+
+    @Value("${app.mail.digest.zone:}")
+    private String zone;
+
+    public HallHeadDigestService(HallOperatorService hallOperatorService,
+                                 HallHeadDigestRepository digestRepository,
+                                 EmailService emailService) {
+        this.hallOperatorService = hallOperatorService;
+        this.digestRepository = digestRepository;
+        this.emailService = emailService;
+    }
+
+    /**
+     * Records a booking event for every head of the booking's hall.
+     * event: one of the HallHeadDigestEntry event constants; occurredAt: when it happened (BookingEvent.occurredAt),
+     * so an event handled after a newer one of the same booking does not replace it.
+     */
+    public void record(Seminar s, String event, String reason, Instant occurredAt) {
+        if (s == null || s.getHallName() == null) return;
+        List<HallOperator> heads = hallOperatorService.findByHallName(s.getHallName());
+        if (heads.isEmpty()) return;
+
+        if (!enabled || s.getId() == null) {
+            sendNow(heads, s, event, reason);
+            return;
+        }
+
+        // Mongo keeps millisecond precision; match it so removeIfUnchanged compares like with like
+        Instant at = (occurredAt != null ? occurredAt : Instant.now()).truncatedTo(ChronoUnit.MILLIS);
+        for (HallOperator head : heads) {
+            if (head == null || head.getHeadEmail() == null || head.getHeadEmail().isBlank()) continue;
+            try {
+                if (!digestRepository.upsertLatest(toEntry(head, s, event, reason, at))) {
+                    log.debug("Skipped stale {} notification for booking {} (a newer one is buffered)", event, s.getId());
+                }
+            } catch (Exception ex) {
+                log.error("Failed to buffer {} notification for hall head {}: {}", event, head.getHeadEmail(), ex.getMessage());
+            }
+        }
+    }
+
+    /** Sends every recipient whose buffer has something due. */
+    @Scheduled(fixedDelayString = "${app.mail.digest.flush-ms:30000}")
+    public void flushDue() {
+        List<String> recipients;
+        try {
+            recipients = digestRepository.findDueRecipients(Instant.now());
+        } catch (Exception ex) {
+            log.warn("Could not read hall-head digest buffer: {}", ex.getMessage());
+            return;
+        }
+        for (String email : recipients) {
+            try {
+                flush(email);
+            } catch (Exception ex) {
+                log.error("Failed to flush hall-head digest for {}: {}", email, ex.getMessage());
+            }
+        }
+    }
+
+    private void flush(String headEmail) {
+        // Everything buffered for the head goes out together (not only the due entries)
+        List<HallHeadDigestEntry> entries = digestRepository.findByHeadEmailOrderByFirstAtAsc(headEmail);
+        if (entries.isEmpty()) return;
+
+        HallOperator head = new HallOperator(null, null, entries.get(entries.size() - 1).getHeadName(), headEmail, null);
+        boolean queued;
+        if (entries.size() == 1) {
+            HallHeadDigestEntry e = entries.get(0);
+            queued = sendNow(Collections.singletonList(head), e.toSeminar(), e.getEvent(), e.getReason());
+        } else {
+            queued = Boolean.TRUE.equals(emailService.sendHallHeadDigest(head, entries).join());
+        }
+
+        if (!queued) {
+            log.warn("Hall-head digest for {} not queued; will retry on next flush", headEmail);
+            return;
+        }
+        for (HallHeadDigestEntry e : entries) {
+            digestRepository.removeIfUnchanged(e.getId(), e.getUpdatedAt());
+        }
+    }
+
+    // Single-event path (digest disabled, or a buffer holding one booking)
+    private boolean sendNow(List<HallOperator> heads, Seminar s, String event, String reason) {
+        List<CompletableFuture<Boolean>> results;
+        if (HallHeadDigestEntry.CREATED.equals(event) || HallHeadDigestEntry.CANCEL_REQUESTED.equals(event)) {
+            results = emailService.sendHallHeadBookingCreatedEmails(heads, s); // cancel-request re-uses the created template
+        } else {
+            results = emailService.sendHallHeadStatusEmails(heads, s, event, reason);
+        }
+        return results.stream().allMatch(f -> Boolean.TRUE.equals(f.join()));
+    }
+
+    private HallHeadDigestEntry toEntry(HallOperator head, Seminar s, String event, String reason, Instant now) {
+        HallHeadDigestEntry e = new HallHeadDigestEntry();
+        e.setHeadEmail(head.getHeadEmail().trim().toLowerCase());
+        e.setHeadName(head.getHeadName());
+        e.setSeminarId(s.getId());
+        e.setEvent(event);
+        e.setReason(reason);
+        e.setHallName(s.getHallName());
+        e.setSlotTitle(s.getSlotTitle());
+        e.setBookingName(s.getBookingName());
+        e.setBookingEmail(s.getEmail());
+        e.setDepartment(s.getDepartment());
+        e.setPhone(s.getPhone());
+        e.setDate(s.getDate());
+        e.setStartTime(s.getStartTime());
+        e.setEndTime(s.getEndTime());
+        e.setStartDate(s.getStartDate());
+        e.setEndDate(s.getEndDate());
+        e.setDaySlots(s.getDaySlots());
+        e.setFirstAt(now);
+        e.setUpdatedAt(now);
+        e.setDueAt(dueAt(head.getDigestMode(), now));
+        return e;
+    }
+
+    private Instant dueAt(String mode, Instant now) {
+        if (HallOperator.DIGEST_HOURLY.equals(mode)) {
+            return now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+        }
+        if (HallOperator.DIGEST_DAILY.equals(mode)) {
+            ZoneId z = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+            ZonedDateTime at = now.atZone(z).truncatedTo(ChronoUnit.DAYS).withHour(dailyHour);
+            if (!at.toInstant().isAfter(now)) at = at.plusDays(1);
+            return at.toInstant();
+        }
+        return now.plusSeconds(immediateDelaySeconds);
+    }
+}
@@ -49,6 +49,15 @@ public class HallOperatorService {
         throw new ResponseStatusException(BAD_REQUEST, "Head email must be @newhorizonindia.edu or @gmail.com");
     }
 
+    private String normalizeDigestMode(String mode) {
+        if (mode == null || mode.isBlank()) return null;
+        String m = mode.trim().toUpperCase();
+        if (!m.equals(HallOperator.DIGEST_IMMEDIATE) && !m.equals(HallOperator.DIGEST_HOURLY) && !m.equals(HallOperator.DIGEST_DAILY)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Digest mode must be IMMEDIATE, HOURLY or DAILY");
+        }
+        return m;
+    }
+
     private void validatePhoneOptional(String phone) {
         if (phone == null || phone.isBlank()) return;
         if (!PHONE_PATTERN.matcher(phone.trim()).matches()) {
@@ -71,6 +80,7 @@ public class HallOperatorService {
 
         validateEmailDomain(op.getHeadEmail());
         validatePhoneOptional(op.getPhone());
+        op.setDigestMode(normalizeDigestMode(op.getDigestMode()));
 
         // --- duplicate email check ---
         Optional<HallOperator> existing = hallOperatorRepository.findByHeadEmailIgnoreCase(op.getHeadEmail());
@@ -134,11 +144,13 @@ public class HallOperatorService {
         }
         if (op.getPhone() != null)
             validatePhoneOptional(op.getPhone());
+        String digestMode = normalizeDigestMode(op.getDigestMode());
 
         return hallOperatorRepository.findById(id).map(existing -> {
             if (op.getHeadName() != null) existing.setHeadName(op.getHeadName());
             if (op.getHeadEmail() != null) existing.setHeadEmail(op.getHeadEmail());
             if (op.getPhone() != null) existing.setPhone(op.getPhone());
+            if (digestMode != null) existing.setDigestMode(digestMode);
             // update hall list if provided
             if (op.getHallIds() != null && !op.getHallIds().isEmpty())
                 existing.setHallIds(op.getHallIds());
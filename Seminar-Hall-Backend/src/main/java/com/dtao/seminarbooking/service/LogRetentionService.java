@@ -0,0 +1,90 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.repo.LogRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Bounded storage for system_logs.
+ * - Raw rows expire through a TTL index on timestamp after retention-days (0 = keep forever).
+ * - Every night the last rollup-lookback-days complete days are aggregated into system_log_daily
+ *   (per day, action and actor). Re-running a day replaces its rollups, so overlapping runs or
+ *   several instances do no harm, and a missed night is caught up on the next one.
+ * Retention is kept longer than the lookback so a day is always rolled up before its raw rows go.
+ */
+@Service
+public class LogRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(LogRetentionService.class);
+
+    private final LogRepository logRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.audit.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${app.audit.rollup.lookback-days:3}")
+    private int lookbackDays;
+
+    public LogRetentionService(LogRepository logRepository, MongoTemplate mongoTemplate) {
+        this.logRepository = logRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /** Creates (or re-times) the TTL index once Mongo is reachable. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyRetention() {
+        if (retentionDays <= 0) {
+            log.info("Audit log retention disabled (app.audit.retention-days=0); system_logs is kept forever");
+            return;
+        }
+        long days = Math.max(retentionDays, lookbackDays + 2L);
+        long seconds = Duration.ofDays(days).toSeconds();
+        try {
+            mongoTemplate.indexOps(Log.class).createIndex(
+                    new Index().on("timestamp", Sort.Direction.ASC).expire(seconds).named("timestamp_ttl"));
+        } catch (Exception ex) {
+            // Index exists with another expiry: change it in place instead of dropping / rebuilding
+            try {
+                mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(Log.class))
+                        .append("index", new Document("name", "timestamp_ttl").append("expireAfterSeconds", seconds)));
+            } catch (Exception collModEx) {
+                log.warn("Could not apply audit log retention of {} days: {}", days, collModEx.getMessage());
+                return;
+            }
+        }
+        log.info("Audit log retention: raw entries expire after {} days", days);
+    }
+
+    @Scheduled(cron = "${app.audit.rollup.cron:0 15 0 * * *}")
+    public void rollUpRecentDays() {
+        LocalDate today = LocalDate.now();
+        rollUp(today.minusDays(Math.max(1, lookbackDays)), today);
+    }
+
+    /** Rolls up the days in [fromDay, toDay). */
+    public void rollUp(LocalDate fromDay, LocalDate toDay) {
+        if (!fromDay.isBefore(toDay)) return;
+        try {
+            long start = System.currentTimeMillis();
+            logRepository.rollUpDaily(fromDay.atStartOfDay(), toDay.atStartOfDay(), ZoneId.systemDefault().getId());
+            log.info("Audit log rollup for {} .. {} done in {} ms", fromDay, toDay.minusDays(1), System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            log.error("Audit log rollup for {} .. {} failed: {}", fromDay, toDay.minusDays(1), ex.getMessage());
+        }
+    }
+}
@@ -1,48 +1,160 @@
 package com.dtao.seminarbooking.service;
 
 import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.payload.LogCursor;
+import com.dtao.seminarbooking.payload.LogFilter;
+import com.dtao.seminarbooking.payload.LogPage;
 import com.dtao.seminarbooking.repo.LogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.concurrent.CompletableFuture;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class LogService {
 
     private static final Logger log = LoggerFactory.getLogger(LogService.class);
+    private final AuditLogWriter auditLogWriter;
     private final LogRepository logRepository;
 
-    public LogService(LogRepository logRepository) {
+    @Value("${app.audit.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${app.audit.page.count-cap:10000}")
+    private long countCap;
+
+    // Read-audit policy: repeats of a read action (same actor, IP, action, target) inside the window are
+    // collapsed into one entry. The actor alone is not enough: read endpoints often log a fixed "ADMIN".
+    @Value("${app.audit.read-dedup.enabled:true}")
+    private boolean readDedupEnabled;
+
+    @Value("${app.audit.read-dedup.window-seconds:300}")
+    private long readDedupWindowSeconds;
+
+    @Value("${app.audit.read-dedup.action-prefixes:VIEW_}")
+    private List<String> readActionPrefixes;
+
+    @Value("${app.audit.read-dedup.max-keys:10000}")
+    private int readDedupMaxKeys;
+
+    // LRU of recently logged reads -> {logged at (ms), repeats suppressed since}; evicting a key only means
+    // its next read is logged again, so a bounded map is enough
+    private final Map<String, long[]> recentReads = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+            return size() > readDedupMaxKeys;
+        }
+    };
+    private final AtomicLong readsSuppressed = new AtomicLong();
+
+    public LogService(AuditLogWriter auditLogWriter, LogRepository logRepository) {
+        this.auditLogWriter = auditLogWriter;
         this.logRepository = logRepository;
     }
 
     /**
-     * Async method to save logs so it doesn't slow down the main app.
+     * Queues the log entry for the background batch writer so it doesn't slow down the main app.
      */
     public void logAction(HttpServletRequest request, String action, String email, String role, String targetId, String details) {
 
         // --- CRITICAL FIX START ---
         // We must extract the IP Address HERE (Synchronously) while the request is valid.
-        // If we do this inside CompletableFuture, the request object might be destroyed (recycled) by then.
+        // If we do this on the writer thread, the request object might be destroyed (recycled) by then.
         String clientIp = getClientIp(request);
         // --- CRITICAL FIX END ---
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                // Now we use the string 'clientIp' we captured earlier, instead of 'request'
-                Log entry = new Log(action, email, role, targetId, details, clientIp);
-                logRepository.save(entry);
-                log.info("[AUDIT] Action: {}, User: {}, IP: {}", action, email, clientIp);
-            } catch (Exception e) {
-                log.error("Failed to save audit log", e);
+        logAction(clientIp, action, email, role, targetId, details);
+    }
+
+    /**
+     * Same as above for callers that already captured the client IP (e.g. booking event listeners).
+     */
+    public void logAction(String clientIp, String action, String email, String role, String targetId, String details) {
+        if (readDedupEnabled && isReadAction(action)) {
+            long repeats = admitRead(clientIp, action, email, targetId);
+            if (repeats < 0) return;
+            if (repeats > 0) {
+                details = details + " (+" + repeats + " repeats in previous " + readDedupWindowSeconds + "s)";
+            }
+        }
+        // Timestamp is taken here; the entry is written later in a batch by AuditLogWriter
+        Log entry = new Log(action, email, role, targetId, details, clientIp);
+        if (auditLogWriter.submit(entry)) {
+            log.info("[AUDIT] Action: {}, User: {}, IP: {}", action, email, clientIp);
+        }
+    }
+
+    /** Reads suppressed by the read-audit policy since startup. */
+    public long getReadsSuppressed() {
+        return readsSuppressed.get();
+    }
+
+    // Write-type actions never match, so they are always logged
+    private boolean isReadAction(String action) {
+        if (action == null) return false;
+        for (String prefix : readActionPrefixes) {
+            if (!prefix.isBlank() && action.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns -1 if this read repeats one logged within the window (suppressed),
+     * otherwise the number of repeats suppressed since the previous logged one.
+     */
+    private long admitRead(String clientIp, String action, String email, String targetId) {
+        String key = email + '|' + clientIp + '|' + action + '|' + targetId;
+        long now = System.currentTimeMillis();
+        synchronized (recentReads) {
+            long[] seen = recentReads.get(key);
+            if (seen != null && now - seen[0] < readDedupWindowSeconds * 1000) {
+                seen[1]++;
+                readsSuppressed.incrementAndGet();
+                return -1;
             }
-        });
+            long repeats = seen == null ? 0 : seen[1];
+            recentReads.put(key, new long[]{now, 0});
+            return repeats;
+        }
+    }
+
+    /**
+     * One page of logs, newest first. cursor is the nextCursor of the previous page (null for the first page).
+     * Throws IllegalArgumentException for a cursor that was not issued by this method.
+     */
+    public LogPage findPage(LogFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        LogCursor before = cursor == null || cursor.isBlank() ? null : LogCursor.decode(cursor);
+
+        // One extra row tells us whether there is a next page
+        List<Log> rows = logRepository.findPage(filter,
+                before == null ? null : before.timestamp(), before == null ? null : before.id(), limit + 1);
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Log last = rows.get(limit - 1);
+            next = new LogCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        long total;
+        boolean capped = false;
+        if (filter == null || filter.isEmpty()) {
+            total = logRepository.estimatedTotal();
+        } else {
+            total = logRepository.countUpTo(filter, countCap);
+            capped = total >= countCap;
+        }
+        return new LogPage(rows, next, total, capped);
     }
 
     // Helper to get real IP even behind proxy/load balancer
-    private String getClientIp(HttpServletRequest request) {
+    public String getClientIp(HttpServletRequest request) {
         if (request == null) return "UNKNOWN";
         String ip = request.getHeader("X-Forwarded-For");
         if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
@@ -4,20 +4,35 @@ import com.dtao.seminarbooking.model.OtpToken;
 import com.dtao.seminarbooking.model.User;
 import com.dtao.seminarbooking.repo.OtpTokenRepository;
 import com.dtao.seminarbooking.repo.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
-import java.util.List;
+import java.util.HexFormat;
 import java.util.Optional;
 
+/**
+ * OTP flow for password recovery.
+ * A 6-digit, 5-minute secret does not need BCrypt: it is stored as HMAC-SHA256 (server key + per-token salt),
+ * and brute force is stopped by the per-token attempt limit instead of hashing cost.
+ * Expired tokens are removed by the TTL index on expiresAt.
+ */
 @Service
 public class OtpService {
 
+    private static final Logger log = LoggerFactory.getLogger(OtpService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -30,7 +45,14 @@ public class OtpService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Value("${app.otp.secret:${jwt.secret:change_this_secret_at_least_32_chars}}")
+    private String otpSecret;
+
+    @Value("${app.otp.max-attempts:5}")
+    private int maxAttempts;
+
     private static final SecureRandom random = new SecureRandom();
+    private static final String HMAC_ALGO = "HmacSHA256";
 
     // Generate OTP & send to email
     public boolean generateOtp(String email) {
@@ -39,55 +61,57 @@ public class OtpService {
 
         User user = maybeUser.get();
 
-        // Invalidate all old tokens
-        List<OtpToken> oldTokens = otpTokenRepository.findByUserIdAndUsedIsFalse(user.getId());
-        for (OtpToken t : oldTokens) {
-            t.setUsed(true);
-            otpTokenRepository.save(t);
-        }
+        // Invalidate all old tokens (single update)
+        otpTokenRepository.invalidateAllForUser(user.getId());
 
         // Generate 6-digit OTP
         String otp = String.format("%06d", random.nextInt(1_000_000));
-        String otpHash = passwordEncoder.encode(otp);
+        byte[] saltBytes = new byte[16];
+        random.nextBytes(saltBytes);
+        String salt = HexFormat.of().formatHex(saltBytes);
 
         // Save new OTP valid for 5 minutes
-        OtpToken otpToken = new OtpToken(user.getId(), otpHash, Instant.now().plus(5, ChronoUnit.MINUTES));
+        OtpToken otpToken = new OtpToken(user.getId(), hmac(salt, otp), salt, Instant.now().plus(5, ChronoUnit.MINUTES));
         otpTokenRepository.save(otpToken);
 
-        // Send mail (returns boolean but we still return true even if email fails to avoid leaking user presence)
-        emailService.sendOtp(user.getEmail(), otp);
+        // Queue the mail for the outbox dispatcher (we return true even if email fails to avoid leaking user presence)
+        emailService.sendOtp(user.getEmail(), otp).whenComplete((ok, ex) -> {
+            if (ex != null || !Boolean.TRUE.equals(ok)) {
+                log.warn("OTP email to {} was not sent: {}", user.getEmail(), ex == null ? "send returned false" : ex.getMessage());
+            }
+        });
 
         return true;
     }
 
     // Verify OTP with detailed status
-    // returns: "VALID", "EXPIRED", "INVALID", "NO_TOKEN", "USER_NOT_FOUND"
+    // returns: "VALID", "EXPIRED", "INVALID", "NO_TOKEN", "USER_NOT_FOUND", "TOO_MANY_ATTEMPTS"
     public String verifyOtp(String email, String enteredOtp) {
         Optional<User> maybeUser = userRepository.findByEmail(email);
         if (maybeUser.isEmpty()) return "USER_NOT_FOUND";
 
         User user = maybeUser.get();
 
-        List<OtpToken> tokens = otpTokenRepository.findByUserIdAndUsedIsFalse(user.getId());
-        if (tokens.isEmpty()) return "NO_TOKEN";
-
         // Pick the latest OTP (by expiresAt)
-        OtpToken token = tokens.stream()
-                .max(Comparator.comparing(OtpToken::getExpiresAt))
-                .orElse(null);
-
+        OtpToken token = otpTokenRepository.findFirstByUserIdAndUsedIsFalseOrderByExpiresAtDesc(user.getId()).orElse(null);
         if (token == null) return "NO_TOKEN";
         if (token.getExpiresAt().isBefore(Instant.now())) return "EXPIRED";
 
-        if (passwordEncoder.matches(enteredOtp, token.getOtpHash())) {
+        // Take an attempt before comparing, so parallel guesses cannot all pass the limit on the same read
+        OtpToken reserved = otpTokenRepository.reserveAttempt(token.getId(), maxAttempts).orElse(null);
+        if (reserved == null) return "TOO_MANY_ATTEMPTS"; // out of attempts (or just used)
+
+        if (enteredOtp != null && matches(enteredOtp.trim(), reserved)) {
             // Mark all tokens as used
-            for (OtpToken t : tokens) {
-                t.setUsed(true);
-                otpTokenRepository.save(t);
-            }
+            otpTokenRepository.invalidateAllForUser(user.getId());
             return "VALID";
         }
 
+        // Burn the token once the limit is reached
+        if (reserved.getAttempts() >= maxAttempts) {
+            otpTokenRepository.invalidateAllForUser(user.getId());
+            return "TOO_MANY_ATTEMPTS";
+        }
         return "INVALID";
     }
 
@@ -103,12 +127,33 @@ public class OtpService {
         userRepository.save(user);
 
         // Mark all tokens as used
-        List<OtpToken> tokens = otpTokenRepository.findByUserIdAndUsedIsFalse(user.getId());
-        for (OtpToken t : tokens) {
-            t.setUsed(true);
-            otpTokenRepository.save(t);
-        }
+        otpTokenRepository.invalidateAllForUser(user.getId());
 
         return true;
     }
+
+    // =========================================================================
+    // HASHING
+    // =========================================================================
+
+    private boolean matches(String otp, OtpToken token) {
+        if (token.getSalt() == null) {
+            // Token issued before the switch to HMAC (lives at most 5 minutes)
+            return passwordEncoder.matches(otp, token.getOtpHash());
+        }
+        byte[] expected = token.getOtpHash().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hmac(token.getSalt(), otp).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, actual); // constant time
+    }
+
+    private String hmac(String salt, String otp) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGO);
+            mac.init(new SecretKeySpec(otpSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGO));
+            mac.update(salt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(mac.doFinal(otp.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to compute OTP hash", ex);
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.payload.CalendarDaySummary;
+import com.dtao.seminarbooking.repo.ReactiveSeminarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Range;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking versions of the high fan-out reads (listing, calendars, day views) for /api/reactive.
+ * Nothing here blocks: queries go through {@link ReactiveSeminarRepository} and the calendar counts are folded
+ * as documents arrive, so no thread is held while Mongo answers.
+ * Unlike the servlet versions, every query covers both kinds of booking (time-wise `date` and day-range
+ * `startDate`..`endDate`) with inclusive date bounds.
+ */
+@Service
+public class ReactiveSeminarService {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final ReactiveSeminarRepository repository;
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveSeminarService(ReactiveSeminarRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // =========================================================================
+    // 1. LISTING & DAY VIEWS
+    // =========================================================================
+
+    public Flux<Seminar> list(String status, String hallName) {
+        String statusNorm = blankToNull(status);
+        String hallNorm = blankToNull(hallName);
+        if (hallNorm != null && statusNorm != null) return repository.findByHallNameAndStatusIgnoreCase(hallNorm, statusNorm);
+        if (hallNorm != null) return repository.findByHallName(hallNorm);
+        if (statusNorm != null) return repository.findByStatusIgnoreCase(statusNorm);
+        return repository.findAll();
+    }
+
+    /** Bookings on one day (optionally one hall): time-wise bookings on that date plus day ranges covering it. */
+    public Flux<Seminar> day(String date, String hallName) {
+        String hallNorm = blankToNull(hallName);
+        Range<String> day = Range.closed(date, date);
+        Flux<Seminar> timeWise = hallNorm != null ? repository.findByHallNameAndDateBetween(hallNorm, day) : repository.findByDateBetween(day);
+        Flux<Seminar> ranges = hallNorm != null
+                ? repository.findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(hallNorm, date, date)
+                : repository.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(date, date);
+        return Flux.concat(timeWise, ranges).distinct(Seminar::getId);
+    }
+
+    public Flux<Seminar> departmentDay(String department, String date) {
+        return Flux.concat(
+                repository.findByDepartmentAndDateBetween(department, Range.closed(date, date)),
+                repository.findByDepartmentAndStartDateLessThanEqualAndEndDateGreaterThanEqual(department, date, date)
+        ).distinct(Seminar::getId);
+    }
+
+    // =========================================================================
+    // 2. CALENDARS
+    // =========================================================================
+
+    public Mono<List<CalendarDaySummary>> hallCalendar(String hallName, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+        String startStr = start.format(DATE_FMT);
+        String endStr = end.format(DATE_FMT);
+        String hallNorm = blankToNull(hallName);
+
+        Flux<Seminar> timeWise = hallNorm != null
+                ? repository.findByHallNameAndDateBetween(hallNorm, Range.closed(startStr, endStr))
+                : repository.findByDateBetween(Range.closed(startStr, endStr));
+        Flux<Seminar> ranges = hallNorm != null
+                ? repository.findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(hallNorm, endStr, startStr)
+                : repository.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(endStr, startStr);
+        return timed(monthSummary(Flux.merge(timeWise, ranges), start, end), "reactive-hall");
+    }
+
+    public Mono<List<CalendarDaySummary>> departmentCalendar(String department, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+        String startStr = start.format(DATE_FMT);
+        String endStr = end.format(DATE_FMT);
+
+        Flux<Seminar> bookings = Flux.merge(
+                repository.findByDepartmentAndDateBetween(department, Range.closed(startStr, endStr)),
+                repository.findByDepartmentAndStartDateLessThanEqualAndEndDateGreaterThanEqual(department, endStr, startStr));
+        return timed(monthSummary(bookings, start, end), "reactive-department");
+    }
+
+    // Counts per day of [start, end], folded into one int[] as documents arrive
+    private static Mono<List<CalendarDaySummary>> monthSummary(Flux<Seminar> bookings, LocalDate start, LocalDate end) {
+        int days = end.getDayOfMonth();
+        return bookings
+                .distinct(Seminar::getId) // a booking may match both queries
+                .collect(() -> new int[days], (counts, s) -> count(s, start, end, counts))
+                .map(counts -> {
+                    List<CalendarDaySummary> result = new ArrayList<>(days);
+                    for (int i = 0; i < days; i++) {
+                        result.add(new CalendarDaySummary(start.plusDays(i), counts[i] == 0, counts[i]));
+                    }
+                    return result;
+                });
+    }
+
+    private static void count(Seminar s, LocalDate start, LocalDate end, int[] counts) {
+        try {
+            if (s.getStartDate() != null && s.getEndDate() != null) {
+                LocalDate from = LocalDate.parse(s.getStartDate(), DATE_FMT);
+                LocalDate to = LocalDate.parse(s.getEndDate(), DATE_FMT);
+                if (from.isBefore(start)) from = start;
+                if (to.isAfter(end)) to = end;
+                for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) counts[d.getDayOfMonth() - 1]++;
+            } else if (s.getDate() != null) {
+                LocalDate d = LocalDate.parse(s.getDate(), DATE_FMT);
+                if (!d.isBefore(start) && !d.isAfter(end)) counts[d.getDayOfMonth() - 1]++;
+            }
+        } catch (Exception ignored) {}
+    }
+
+    // Same timer as the servlet calendars, measured from subscription to the last document
+    private <T> Mono<T> timed(Mono<T> mono, String source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono.doFinally(signal -> sample.stop(meterRegistry.timer("booking.calendar.generate", "source", source)));
+        });
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s.trim();
+    }
+}
@@ -0,0 +1,191 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.RefreshToken;
+import com.dtao.seminarbooking.repo.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * - Only the SHA-256 of a token is stored (tokens are 256-bit random, so a slow hash is not needed).
+ * - Every refresh rotates the token; presenting a rotated/revoked token revokes the whole family.
+ * - Recently issued tokens are kept in a small in-memory LRU so a refresh normally skips the lookup query.
+ *   The atomic "mark used" update in Mongo stays the source of truth, so a stale cache entry cannot
+ *   be rotated twice.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom random = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Map<String, RefreshToken> hotCache;
+
+    @Value("${jwt.refresh-expiration-ms:86400000}")
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh-remember-me-expiration-ms:2592000000}")
+    private long refreshRememberMeExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-cache-size:10000}") int cacheSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.hotCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RefreshToken> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Result of a rotation.
+     * status: "VALID", "EXPIRED", "INVALID", "REUSED"
+     */
+    public static class RotationResult {
+        private final String status;
+        private final String userEmail;
+        private final boolean rememberMe;
+        private final String newToken;
+        private final long expiresInSeconds;
+
+        private RotationResult(String status, String userEmail, boolean rememberMe, String newToken, long expiresInSeconds) {
+            this.status = status;
+            this.userEmail = userEmail;
+            this.rememberMe = rememberMe;
+            this.newToken = newToken;
+            this.expiresInSeconds = expiresInSeconds;
+        }
+
+        static RotationResult failed(String status, String userEmail) {
+            return new RotationResult(status, userEmail, false, null, 0);
+        }
+
+        public String getStatus() { return status; }
+        public String getUserEmail() { return userEmail; }
+        public boolean isRememberMe() { return rememberMe; }
+        public String getNewToken() { return newToken; }
+        public long getExpiresInSeconds() { return expiresInSeconds; }
+    }
+
+    /** Starts a new token family (call on login). Returns the raw token to hand to the client. */
+    public String issue(String userEmail, boolean rememberMe) {
+        return create(UUID.randomUUID().toString(), userEmail, rememberMe);
+    }
+
+    public long getExpiresInSeconds(boolean rememberMe) {
+        return lifetimeMs(rememberMe) / 1000L;
+    }
+
+    /** Validates the presented token and exchanges it for a new one of the same family. */
+    public RotationResult rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return RotationResult.failed("INVALID", null);
+
+        String hash = hash(rawToken.trim());
+        RefreshToken token = hotCache.get(hash);
+        if (token == null) {
+            Optional<RefreshToken> maybe = refreshTokenRepository.findByTokenHash(hash);
+            if (maybe.isEmpty()) return RotationResult.failed("INVALID", null);
+            token = maybe.get();
+        }
+
+        if (token.isRevoked() || token.getUsedAt() != null) {
+            return reuseDetected(hash, token);
+        }
+        if (token.getExpiresAt() == null || token.getExpiresAt().isBefore(Instant.now())) {
+            hotCache.remove(hash);
+            return RotationResult.failed("EXPIRED", token.getUserEmail());
+        }
+
+        // Atomic: only one concurrent caller may rotate a given token
+        if (!refreshTokenRepository.markUsedIfActive(token.getId(), Instant.now())) {
+            return reuseDetected(hash, token);
+        }
+        hotCache.remove(hash);
+
+        String next = create(token.getFamilyId(), token.getUserEmail(), token.isRememberMe());
+        return new RotationResult("VALID", token.getUserEmail(), token.isRememberMe(), next, getExpiresInSeconds(token.isRememberMe()));
+    }
+
+    /** Revokes the family the given token belongs to (logout). Unknown tokens are ignored. */
+    public void revokeFamilyOf(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return;
+        String hash = hash(rawToken.trim());
+        RefreshToken token = hotCache.remove(hash);
+        if (token == null) token = refreshTokenRepository.findByTokenHash(hash).orElse(null);
+        if (token == null) return;
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        evictFamily(token.getFamilyId());
+    }
+
+    /** Revokes every refresh token of a user (password reset, account removal). */
+    public void revokeAllForUser(String userEmail) {
+        if (userEmail == null) return;
+        String normalized = userEmail.trim().toLowerCase();
+        refreshTokenRepository.revokeAllForUser(normalized);
+        synchronized (hotCache) {
+            hotCache.values().removeIf(t -> normalized.equals(t.getUserEmail()));
+        }
+    }
+
+    // =========================================================================
+    // HELPERS
+    // =========================================================================
+
+    private String create(String familyId, String userEmail, boolean rememberMe) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        String email = userEmail == null ? null : userEmail.trim().toLowerCase();
+        RefreshToken token = new RefreshToken(hash(raw), familyId, email, rememberMe, now, now.plusMillis(lifetimeMs(rememberMe)));
+        RefreshToken saved = refreshTokenRepository.save(token);
+        hotCache.put(saved.getTokenHash(), saved);
+        return raw;
+    }
+
+    private RotationResult reuseDetected(String hash, RefreshToken token) {
+        log.warn("Refresh token reuse detected for user={} family={} - revoking family", token.getUserEmail(), token.getFamilyId());
+        hotCache.remove(hash);
+        refreshTokenRepository.revokeFamily(token.getFamilyId());
+        evictFamily(token.getFamilyId());
+        return RotationResult.failed("REUSED", token.getUserEmail());
+    }
+
+    private void evictFamily(String familyId) {
+        synchronized (hotCache) {
+            hotCache.values().removeIf(t -> familyId.equals(t.getFamilyId()));
+        }
+    }
+
+    private long lifetimeMs(boolean rememberMe) {
+        return rememberMe ? refreshRememberMeExpirationMs : refreshExpirationMs;
+    }
+
+    private static String hash(String raw) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.dtao.seminarbooking.service;
 
+import com.dtao.seminarbooking.config.RequestTiming;
+import com.dtao.seminarbooking.jfr.CalendarBuildEvent;
+import com.dtao.seminarbooking.jfr.ConflictCheckEvent;
 import com.dtao.seminarbooking.model.Seminar;
 import com.dtao.seminarbooking.model.Seminar.DaySlot;
 import com.dtao.seminarbooking.payload.CalendarDaySummary;
 import com.dtao.seminarbooking.repo.SeminarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +27,9 @@ public class SeminarService {
     @Autowired
     private SeminarRepository seminarRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9._%+-]+@newhorizonindia\\.edu$");
     private static final Pattern PHONE_PATTERN = Pattern.compile("^[6-9][0-9]{9}$");
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
@@ -50,7 +58,10 @@ public class SeminarService {
         if (seminar.getAppliedAt() == null) {
             seminar.setAppliedAt(Instant.now().toString());
         }
-        return seminarRepository.save(seminar);
+        long t = RequestTiming.start();
+        Seminar saved = seminarRepository.save(seminar);
+        RequestTiming.stop(RequestTiming.SAVE, t);
+        return saved;
     }
 
     // =========================================================================
@@ -85,7 +96,10 @@ public class SeminarService {
             validatePayloadShapeOrThrow(existing);
             checkTimeConflictsForUpdate(existing, id);
 
-            return seminarRepository.save(existing);
+            long t = RequestTiming.start();
+            Seminar saved = seminarRepository.save(existing);
+            RequestTiming.stop(RequestTiming.SAVE, t);
+            return saved;
         }).orElse(null);
     }
 
@@ -101,11 +115,39 @@ public class SeminarService {
         checkConflictsInternal(seminar, excludeId);
     }
 
+    /**
+     * Timed as booking.conflict.check{case=time-wise|day-range, outcome=ok|rejected}.
+     */
+    private void checkConflictsInternal(Seminar req, String excludeId) {
+        String kind = req.getDate() != null ? "time-wise" : "day-range";
+        String outcome = "ok";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long t = RequestTiming.start();
+        ConflictCheckEvent jfr = new ConflictCheckEvent();
+        jfr.begin();
+        try {
+            checkConflicts(req, excludeId, jfr);
+        } catch (RuntimeException ex) {
+            outcome = "rejected";
+            throw ex;
+        } finally {
+            if (jfr.shouldCommit()) {
+                jfr.hall = req.getHallName();
+                jfr.bookingCase = kind;
+                jfr.rejected = !"ok".equals(outcome);
+                jfr.commit();
+            }
+            RequestTiming.stop(RequestTiming.CONFLICT, t);
+            sample.stop(meterRegistry.timer("booking.conflict.check", "case", kind, "outcome", outcome));
+        }
+    }
+
     /**
      * The Master Conflict Checker.
      * Handles Time-Wise vs Time-Wise, Day-Wise vs Day-Wise, and Cross-Type conflicts.
+     * jfr collects how much work was done (days, candidate bookings).
      */
-    private void checkConflictsInternal(Seminar req, String excludeId) {
+    private void checkConflicts(Seminar req, String excludeId, ConflictCheckEvent jfr) {
         String hall = req.getHallName();
         if (hall == null || hall.isBlank()) throw new RuntimeException("Hall name is required.");
 
@@ -124,6 +166,8 @@ public class SeminarService {
             List<Seminar> conflicts = getSeminarsForDay(date, hall).stream()
                     .filter(s -> excludeId == null || !s.getId().equals(excludeId))
                     .collect(Collectors.toList());
+            jfr.daysChecked = 1;
+            jfr.candidatesScanned += conflicts.size();
 
             for (Seminar e : conflicts) {
                 // Existing is Day-Wise (Full or Range)
@@ -170,6 +214,8 @@ public class SeminarService {
                 List<Seminar> onThisDay = getSeminarsForDay(dStr, hall).stream()
                         .filter(s -> excludeId == null || !s.getId().equals(excludeId))
                         .collect(Collectors.toList());
+                jfr.daysChecked++;
+                jfr.candidatesScanned += onThisDay.size();
 
                 if (!onThisDay.isEmpty()) {
                     // We found an existing booking on this day.
@@ -256,6 +302,24 @@ public class SeminarService {
     // =========================================================================
 
     public List<CalendarDaySummary> getCalendarMonthSummary(String hallName, int year, int month) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CalendarBuildEvent jfr = new CalendarBuildEvent();
+        jfr.begin();
+        try {
+            return buildCalendarMonthSummary(hallName, year, month, jfr);
+        } finally {
+            if (jfr.shouldCommit()) {
+                jfr.source = "hall-summary";
+                jfr.scope = hallName;
+                jfr.year = year;
+                jfr.month = month;
+                jfr.commit();
+            }
+            sample.stop(meterRegistry.timer("booking.calendar.generate", "source", "hall-summary"));
+        }
+    }
+
+    private List<CalendarDaySummary> buildCalendarMonthSummary(String hallName, int year, int month, CalendarBuildEvent jfr) {
         LocalDate start = LocalDate.of(year, month, 1);
         LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
         String startStr = start.format(DATE_FMT);
@@ -283,6 +347,8 @@ public class SeminarService {
         if (hallNorm != null) rangeBookings = seminarRepository.findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(hallNorm, endStr, startStr);
         else rangeBookings = seminarRepository.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(endStr, startStr);
 
+        jfr.bookingsRead = timeBookings.size() + rangeBookings.size();
+
         for (Seminar s : rangeBookings) {
             try {
                 LocalDate sd = LocalDate.parse(s.getStartDate(), DATE_FMT);
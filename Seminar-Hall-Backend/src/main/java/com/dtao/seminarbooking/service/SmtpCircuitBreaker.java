@@ -0,0 +1,138 @@
+package com.dtao.seminarbooking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker for the SMTP server.
+ * CLOSED: sends go through; failure-threshold consecutive connection-level failures open the circuit.
+ * OPEN: nothing is sent for open-ms (mail simply stays in the outbox); each open period doubles up to max-open-ms.
+ * HALF_OPEN: a single probe message is let through; success closes the circuit, failure re-opens it.
+ * Recipient rejections (SendFailedException) are not server health problems and do not count.
+ */
+@Component
+public class SmtpCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpCircuitBreaker.class);
+
+    public static final String CLOSED = "CLOSED";
+    public static final String OPEN = "OPEN";
+    public static final String HALF_OPEN = "HALF_OPEN";
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final long maxOpenMs;
+
+    private String state = CLOSED;
+    private int consecutiveFailures = 0;
+    private long currentOpenMs;
+    private long openUntil = 0;
+    private boolean probeInFlight = false;
+    private String lastError;
+    private Instant lastStateChange = Instant.now();
+
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong timesOpened = new AtomicLong();
+
+    public SmtpCircuitBreaker(@Value("${app.mail.breaker.failure-threshold:5}") int failureThreshold,
+                              @Value("${app.mail.breaker.open-ms:30000}") long openMs,
+                              @Value("${app.mail.breaker.max-open-ms:600000}") long maxOpenMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = openMs;
+        this.maxOpenMs = Math.max(openMs, maxOpenMs);
+        this.currentOpenMs = openMs;
+    }
+
+    /** Asks to send one message. Returns false (and counts a rejection) while the circuit is open or a probe is running. */
+    public synchronized boolean tryAcquire() {
+        if (CLOSED.equals(state)) return true;
+        if (OPEN.equals(state) && System.currentTimeMillis() >= openUntil) {
+            transition(HALF_OPEN);
+        }
+        if (HALF_OPEN.equals(state) && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejectedCalls.incrementAndGet();
+        return false;
+    }
+
+    /** Cheap check for pollers: would a send be attempted right now? (does not take the probe slot) */
+    public synchronized boolean isCallPermitted() {
+        if (CLOSED.equals(state)) return true;
+        if (OPEN.equals(state)) return System.currentTimeMillis() >= openUntil;
+        return !probeInFlight;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (!CLOSED.equals(state)) {
+            currentOpenMs = openMs;
+            transition(CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(Throwable error) {
+        lastError = error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage();
+        probeInFlight = false;
+        if (HALF_OPEN.equals(state)) {
+            currentOpenMs = Math.min(currentOpenMs * 2, maxOpenMs);
+            open();
+            return;
+        }
+        if (++consecutiveFailures >= failureThreshold && CLOSED.equals(state)) {
+            open();
+        }
+    }
+
+    /** The permitted call never reached the server (e.g. bulkhead full): frees the probe slot without a verdict. */
+    public synchronized void onNotAttempted() {
+        probeInFlight = false;
+    }
+
+    /** Earliest time a send may be attempted again. */
+    public synchronized Instant getRetryAt() {
+        return OPEN.equals(state) ? Instant.ofEpochMilli(openUntil) : Instant.now();
+    }
+
+    public synchronized String getState() {
+        return state;
+    }
+
+    public long getRejectedCalls() { return rejectedCalls.get(); }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("state", state);
+        m.put("consecutiveFailures", consecutiveFailures);
+        m.put("rejectedCalls", rejectedCalls.get());
+        m.put("timesOpened", timesOpened.get());
+        m.put("retryAt", OPEN.equals(state) ? Instant.ofEpochMilli(openUntil).toString() : null);
+        m.put("lastError", lastError);
+        m.put("lastStateChange", lastStateChange.toString());
+        return m;
+    }
+
+    private void open() {
+        openUntil = System.currentTimeMillis() + currentOpenMs;
+        timesOpened.incrementAndGet();
+        transition(OPEN);
+        log.warn("SMTP circuit OPEN for {} ms after failure: {}", currentOpenMs, lastError);
+    }
+
+    private void transition(String next) {
+        if (next.equals(state)) return;
+        log.info("SMTP circuit {} -> {}", state, next);
+        state = next;
+        lastStateChange = Instant.now();
+        if (CLOSED.equals(next)) consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,203 @@
+package com.dtao.seminarbooking.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.NoSuchProviderException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small pool of connected + authenticated SMTP transports.
+ * JavaMailSenderImpl.send() opens, authenticates and closes a connection per call; with the pool
+ * a handshake is paid once per connection and reused until the connection errors, idles out
+ * or reaches max-messages-per-connection.
+ */
+@Component
+public class SmtpConnectionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final int maxConnections;
+
+    private final long idleTimeoutMs;
+    private final long validateAfterMs;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMs;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+
+    private volatile boolean shutdown = false;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              @Value("${app.mail.pool.max-connections:2}") int maxConnections,
+                              @Value("${app.mail.pool.idle-timeout-ms:30000}") long idleTimeoutMs,
+                              @Value("${app.mail.pool.validate-after-ms:5000}") long validateAfterMs,
+                              @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                              @Value("${app.mail.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs) {
+        this.mailSender = mailSender;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.permits = new Semaphore(this.maxConnections, true);
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validateAfterMs = validateAfterMs;
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    /** No connection became free within borrow-timeout (the pool is the SMTP bulkhead). */
+    public static class BulkheadFullException extends MessagingException {
+        public BulkheadFullException(String msg) {
+            super(msg);
+        }
+    }
+
+    /** A pooled transport. Give it back with {@link #release} (healthy) or {@link #invalidate} (broken). */
+    public static final class Connection {
+        private final Transport transport;
+        private int sent;
+        private long lastUsed;
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        public Transport transport() { return transport; }
+
+        void markSent() {
+            sent++;
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /** Returns a connected transport, reusing an idle one when possible. */
+    public Connection borrow() throws MessagingException {
+        if (shutdown) throw new MessagingException("SMTP pool is shut down");
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new BulkheadFullException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP connection");
+        }
+
+        try {
+            Connection c;
+            while ((c = idle.pollFirst()) != null) {
+                if (isUsable(c)) return c;
+                closeQuietly(c);
+            }
+            return open();
+        } catch (MessagingException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /** Returns a healthy connection to the pool (or retires it once it has sent enough). */
+    public void release(Connection c) {
+        try {
+            if (shutdown || c.sent >= maxMessagesPerConnection) {
+                closeQuietly(c);
+            } else {
+                idle.offerFirst(c); // LIFO: keeps the warmest connection busy, lets the rest idle out
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Drops a connection after an error (the next borrow opens a fresh one). */
+    public void invalidate(Connection c) {
+        try {
+            closeQuietly(c);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Records a successful send; returns true once the connection should be handed back and retired. */
+    public boolean recordSent(Connection c) {
+        c.markSent();
+        return c.sent >= maxMessagesPerConnection;
+    }
+
+    /** Closes idle connections older than idle-timeout (servers drop them anyway, usually after ~5 min). */
+    @Scheduled(fixedDelayString = "${app.mail.pool.evict-interval-ms:15000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (Connection c : idle) {
+            if (now - c.lastUsed > idleTimeoutMs && idle.remove(c)) {
+                closeQuietly(c);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        Connection c;
+        while ((c = idle.pollFirst()) != null) {
+            closeQuietly(c);
+        }
+        log.info("SMTP pool closed (opened={}, closed={})", opened.get(), closed.get());
+    }
+
+    public int getIdleCount() { return idle.size(); }
+    public int getInUseCount() { return maxConnections - permits.availablePermits(); }
+    public long getOpenedCount() { return opened.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+
+    // =========================================================================
+    // INTERNALS
+    // =========================================================================
+
+    private boolean isUsable(Connection c) {
+        long idleFor = System.currentTimeMillis() - c.lastUsed;
+        if (idleFor > idleTimeoutMs) return false;
+        // isConnected() sends a NOOP round trip, so only probe connections that have been quiet for a while
+        return idleFor < validateAfterMs || c.transport.isConnected();
+    }
+
+    private Connection open() throws MessagingException {
+        Session session = mailSender.getSession();
+        Transport transport;
+        try {
+            String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp";
+            transport = session.getTransport(protocol);
+        } catch (NoSuchProviderException ex) {
+            throw new MessagingException("No SMTP transport available", ex);
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        opened.incrementAndGet();
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new Connection(transport);
+    }
+
+    private void closeQuietly(Connection c) {
+        try {
+            c.transport.close();
+        } catch (MessagingException ignored) {
+            // already gone
+        }
+        closed.incrementAndGet();
+    }
+}
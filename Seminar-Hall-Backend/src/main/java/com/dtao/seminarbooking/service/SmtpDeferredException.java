@@ -0,0 +1,14 @@
+package com.dtao.seminarbooking.service;
+
+import org.springframework.mail.MailException;
+
+/**
+ * A message was not attempted because SMTP is unavailable right now (circuit open or no free connection).
+ * Not a delivery failure: the dispatcher leaves the message in the outbox without counting an attempt.
+ */
+public class SmtpDeferredException extends MailException {
+
+    public SmtpDeferredException(String msg) {
+        super(msg);
+    }
+}
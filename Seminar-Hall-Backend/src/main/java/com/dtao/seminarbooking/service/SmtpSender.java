@@ -0,0 +1,180 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.jfr.EmailSendEvent;
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Low-level SMTP delivery of already rendered HTML emails.
+ * Failures are reported (not swallowed) so the outbox dispatcher can decide to retry or dead-letter.
+ * With app.mail.pool.enabled a batch goes out over one kept-alive connection from {@link SmtpConnectionPool};
+ * otherwise every message uses JavaMailSender.send() (one connection per message).
+ * Every attempt goes through {@link SmtpCircuitBreaker}: while it is open nothing touches the network and
+ * messages are reported with SmtpDeferredException (the dispatcher leaves them in the outbox).
+ * The pool's connection limit is the bulkhead: a sender that cannot get a connection in time is deferred the same way.
+ */
+@Service
+public class SmtpSender {
+
+    private final JavaMailSender mailSender;
+    private final SmtpConnectionPool pool;
+    private final SmtpCircuitBreaker breaker;
+    private final String mailFrom;
+    private final String senderName;
+    private final boolean pooled;
+
+    public SmtpSender(JavaMailSender mailSender,
+                      SmtpConnectionPool pool,
+                      SmtpCircuitBreaker breaker,
+                      @Value("${app.mail.from}") String mailFrom,
+                      @Value("${app.mail.sender-name:Venue Booking System}") String senderName,
+                      @Value("${app.mail.pool.enabled:true}") boolean pooled) {
+        this.mailSender = mailSender;
+        this.pool = pool;
+        this.breaker = breaker;
+        this.mailFrom = mailFrom;
+        this.senderName = senderName;
+        this.pooled = pooled;
+    }
+
+    public void send(String to, String subject, String htmlBody) throws MailException {
+        Exception[] failure = new Exception[1];
+        sendBatch(List.of(new EmailOutboxMessage(null, null, to, subject, htmlBody)), (m, ex) -> failure[0] = ex);
+        if (failure[0] instanceof MailException me) throw me;
+        if (failure[0] != null) throw new MailSendException("Failed to send email to " + to, failure[0]);
+    }
+
+    /**
+     * Sends a batch, reporting each message to onResult (exception == null means delivered).
+     * A broken connection is dropped and the rest of the batch continues on a fresh one;
+     * once the breaker opens, the remaining messages are reported as not attempted.
+     */
+    public void sendBatch(List<EmailOutboxMessage> batch, BiConsumer<EmailOutboxMessage, Exception> onResult) {
+        SmtpConnectionPool.Connection conn = null;
+        try {
+            for (EmailOutboxMessage m : batch) {
+                EmailSendEvent jfr = new EmailSendEvent();
+                jfr.begin();
+                BiConsumer<EmailOutboxMessage, Exception> report = (sent, ex) -> {
+                    commit(jfr, sent, ex);
+                    onResult.accept(sent, ex);
+                };
+                MimeMessage msg;
+                try {
+                    msg = build(m.getToEmail(), m.getSubject(), m.getHtmlBody());
+                } catch (Exception ex) {
+                    report.accept(m, ex);
+                    continue;
+                }
+
+                if (!breaker.tryAcquire()) {
+                    report.accept(m, new SmtpDeferredException("SMTP circuit open until " + breaker.getRetryAt()));
+                    continue;
+                }
+
+                if (!pooled) {
+                    try {
+                        mailSender.send(msg);
+                        breaker.onSuccess();
+                        report.accept(m, null);
+                    } catch (MailSendException ex) {
+                        if (rejectedOnly(ex)) breaker.onSuccess();
+                        else breaker.onFailure(ex);
+                        report.accept(m, ex);
+                    } catch (Exception ex) {
+                        breaker.onFailure(ex);
+                        report.accept(m, ex);
+                    }
+                    continue;
+                }
+
+                if (conn == null) {
+                    try {
+                        conn = pool.borrow();
+                    } catch (SmtpConnectionPool.BulkheadFullException ex) {
+                        breaker.onNotAttempted();
+                        report.accept(m, new SmtpDeferredException(ex.getMessage()));
+                        continue;
+                    } catch (MessagingException | RuntimeException ex) {
+                        breaker.onFailure(ex);
+                        report.accept(m, ex);
+                        continue;
+                    }
+                }
+
+                try {
+                    msg.setSentDate(new Date());
+                    msg.saveChanges();
+                    conn.transport().sendMessage(msg, msg.getAllRecipients());
+                    breaker.onSuccess();
+                    boolean retire = pool.recordSent(conn);
+                    report.accept(m, null);
+                    if (retire) {
+                        pool.release(conn);
+                        conn = null;
+                    }
+                } catch (SendFailedException ex) {
+                    // Rejected recipient/message; the session itself is still usable and the server is healthy
+                    breaker.onSuccess();
+                    report.accept(m, ex);
+                } catch (MessagingException | RuntimeException ex) {
+                    pool.invalidate(conn);
+                    conn = null;
+                    breaker.onFailure(ex);
+                    report.accept(m, ex);
+                }
+            }
+        } finally {
+            if (conn != null) pool.release(conn);
+        }
+    }
+
+    /**
+     * JavaMailSenderImpl lists every message of the call in failedMessages whatever went wrong, connection failures
+     * included; the server is only healthy when each one was refused with SendFailedException (recipient / message
+     * rejected on a working session).
+     */
+    private static boolean rejectedOnly(MailSendException ex) {
+        if (ex.getFailedMessages().isEmpty()) return false;
+        for (Exception cause : ex.getFailedMessages().values()) {
+            if (!(cause instanceof SendFailedException)) return false;
+        }
+        return true;
+    }
+
+    private void commit(EmailSendEvent jfr, EmailOutboxMessage m, Exception ex) {
+        if (!jfr.shouldCommit()) return;
+        jfr.template = m.getTemplate();
+        jfr.pooled = pooled;
+        jfr.outcome = ex == null ? "sent" : ex instanceof SmtpDeferredException ? "deferred" : "failed";
+        jfr.commit();
+    }
+
+    MimeMessage build(String to, String subject, String htmlBody) {
+        try {
+            MimeMessage msg = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
+            helper.setFrom(mailFrom, senderName);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(htmlBody, true);
+            return msg;
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            throw new MailPreparationException("Could not build email for " + to, e);
+        }
+    }
+}
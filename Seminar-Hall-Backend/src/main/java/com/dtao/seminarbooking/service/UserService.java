@@ -1,6 +1,7 @@
 package com.dtao.seminarbooking.service;
 
 import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.payload.UserSummary;
 import com.dtao.seminarbooking.repo.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -75,6 +76,17 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // -------------------------
+    // Listings (projected: password hash is never loaded)
+    // -------------------------
+    public List<UserSummary> getAllUserSummaries() {
+        return userRepository.findSummaries(null, null, 0);
+    }
+
+    public List<UserSummary> getUserSummaries(String search, String afterId, int limit) {
+        return userRepository.findSummaries(search, afterId, limit);
+    }
+
     public Optional<User> getUserById(String id) {
         return userRepository.findById(id);
     }
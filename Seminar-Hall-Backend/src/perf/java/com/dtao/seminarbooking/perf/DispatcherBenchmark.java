@@ -0,0 +1,124 @@
+package com.dtao.seminarbooking.perf;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.perf.inmemory.InMemoryRepository;
+import com.dtao.seminarbooking.service.EmailOutboxService;
+import com.dtao.seminarbooking.service.SmtpCircuitBreaker;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The whole mail path, outbox -> EmailDispatcher -> SmtpSender -> {@link LocalSmtpSink}, with the in-memory repositories:
+ * 1. throughput: enqueue a burst and time until the sink has accepted all of it
+ * 2. outage (mail.outage-s > 0): take the sink down, enqueue more, watch the circuit breaker open and hold the
+ *    connection attempts back, bring the sink up and time the recovery until the backlog is delivered
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.DispatcherBenchmark
+ *
+ * System properties (defaults in brackets): mail.messages [2000], mail.outage-messages [200], mail.outage-s [10],
+ * mail.timeout-s [120], smtp.handshake-ms [5], smtp.message-latency-ms [0], smtp.reject-rate [0], smtp.drop-rate [0].
+ * Compare pooled and per-message delivery with -Dapp.mail.pool.enabled=false; breaker and retry timings are
+ * shortened so the outage fits in a run (app.mail.breaker.*, app.mail.outbox.backoff-*), -D overrides them.
+ */
+public class DispatcherBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int messages = Integer.getInteger("mail.messages", 2_000);
+        int outageMessages = Integer.getInteger("mail.outage-messages", 200);
+        int outageS = Integer.getInteger("mail.outage-s", 10);
+        Duration timeout = Duration.ofSeconds(Integer.getInteger("mail.timeout-s", 120));
+
+        try (LocalSmtpSink sink = new LocalSmtpSink(Long.getLong("smtp.handshake-ms", 5))) {
+            sink.setMessageLatencyMs(Long.getLong("smtp.message-latency-ms", 0));
+            sink.setRejectRate(Double.parseDouble(System.getProperty("smtp.reject-rate", "0")));
+            sink.setDropRate(Double.parseDouble(System.getProperty("smtp.drop-rate", "0")));
+
+            try (ConfigurableApplicationContext ctx = start(sink.getPort())) {
+                EmailOutboxService outbox = ctx.getBean(EmailOutboxService.class);
+                SmtpCircuitBreaker breaker = ctx.getBean(SmtpCircuitBreaker.class);
+                System.out.printf("Dispatcher: pool %s (max %s connections), batch %s, handshake %d ms%n",
+                        ctx.getEnvironment().getProperty("app.mail.pool.enabled"),
+                        ctx.getEnvironment().getProperty("app.mail.pool.max-connections"),
+                        ctx.getEnvironment().getProperty("app.mail.outbox.batch-size"), Long.getLong("smtp.handshake-ms", 5));
+
+                // ----- warmup -----
+                enqueue(outbox, "warmup", 100);
+                sink.awaitMessages(100, timeout);
+                Thread.sleep(500);
+                sink.reset();
+
+                // ----- throughput -----
+                long start = System.nanoTime();
+                enqueue(outbox, "run", messages);
+                long expected = Math.round(messages * (1 - rejectAndDropShare()));
+                boolean done = sink.awaitMessages(expected, timeout);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%nThroughput: %d of %d accepted in %.2f s = %.1f msg/s (enqueue to accepted)%s%n",
+                        sink.getMessages(), messages, seconds, sink.getMessages() / seconds, done ? "" : " - TIMED OUT");
+                System.out.printf("  sink: %s%n", sink.summary());
+                printOutbox(outbox, breaker);
+
+                if (outageS > 0) outage(sink, outbox, breaker, outageMessages, outageS, timeout);
+            }
+        }
+    }
+
+    private static void outage(LocalSmtpSink sink, EmailOutboxService outbox, SmtpCircuitBreaker breaker,
+                               int messages, int outageS, Duration timeout) throws InterruptedException {
+        Thread.sleep(500);
+        sink.reset();
+        sink.setDown(true);
+        long rejectedBefore = breaker.getRejectedCalls();
+        enqueue(outbox, "outage", messages);
+        Thread.sleep(outageS * 1_000L);
+        System.out.printf("%nOutage %d s: %d connection attempts, breaker %s, %d calls held back by the breaker%n",
+                outageS, sink.getConnections(), breaker.getState(), breaker.getRejectedCalls() - rejectedBefore);
+        printOutbox(outbox, breaker);
+
+        sink.reset();
+        sink.setDown(false);
+        long start = System.nanoTime();
+        long expected = Math.round(messages * (1 - rejectAndDropShare()));
+        boolean done = sink.awaitMessages(expected, timeout);
+        System.out.printf("Recovery: %d of %d accepted %.2f s after the sink came back%s%n",
+                sink.getMessages(), messages, (System.nanoTime() - start) / 1e9, done ? "" : " - TIMED OUT");
+        System.out.printf("  sink: %s%n", sink.summary());
+        printOutbox(outbox, breaker);
+    }
+
+    private static ConfigurableApplicationContext start(int smtpPort) {
+        return PerfApp.start(WebApplicationType.NONE, Map.ofEntries(
+                Map.entry("spring.mail.host", "127.0.0.1"),
+                Map.entry("spring.mail.port", String.valueOf(smtpPort)),
+                Map.entry("spring.mail.properties.mail.smtp.ssl.enable", "false"),
+                Map.entry("app.mail.breaker.open-ms", "2000"),
+                Map.entry("app.mail.breaker.max-open-ms", "5000"),
+                Map.entry("app.mail.outbox.backoff-base-ms", "500"),
+                Map.entry("app.mail.outbox.backoff-max-ms", "5000"),
+                Map.entry("app.mail.outbox.max-attempts", "20"),
+                Map.entry("app.mail.digest.enabled", "false"),
+                // One INFO line per sent mail would measure the console, not the dispatcher
+                Map.entry("logging.level.com.dtao.seminarbooking", "WARN")), InMemoryRepository.PROFILE);
+    }
+
+    private static void enqueue(EmailOutboxService outbox, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            outbox.enqueue(prefix + "-" + i, "BENCH", "user" + i + "@example.com",
+                    "Booking update #" + i, "<p>Your booking #" + i + " was approved.</p>");
+        }
+    }
+
+    // Rejected and dropped messages are retried by the dispatcher and may still arrive; only count on the rest
+    private static double rejectAndDropShare() {
+        return Double.parseDouble(System.getProperty("smtp.reject-rate", "0")) + Double.parseDouble(System.getProperty("smtp.drop-rate", "0"));
+    }
+
+    private static void printOutbox(EmailOutboxService outbox, SmtpCircuitBreaker breaker) {
+        System.out.printf("  outbox: pending=%d sent=%d dead=%d, breaker %s%n",
+                outbox.countByStatus(EmailOutboxMessage.PENDING), outbox.countByStatus(EmailOutboxMessage.SENT),
+                outbox.countByStatus(EmailOutboxMessage.DEAD), breaker.snapshot());
+    }
+}
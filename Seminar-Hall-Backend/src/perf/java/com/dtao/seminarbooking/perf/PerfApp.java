@@ -0,0 +1,34 @@
+package com.dtao.seminarbooking.perf;
+
+import com.dtao.seminarbooking.SeminarBookingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the application from the perf tools. The settings that normally come from the environment
+ * (JWT secret, mail account, website) get harmless defaults so no .env is needed.
+ * Defaults are set as system properties only when absent: they outrank application.properties,
+ * and anything passed with -D still wins.
+ */
+public final class PerfApp {
+
+    private PerfApp() {}
+
+    public static ConfigurableApplicationContext start(WebApplicationType web, Map<String, String> defaults, String... profiles) {
+        Map<String, String> all = new LinkedHashMap<>();
+        all.put("JWT_SECRET", "perf-test-secret-perf-test-secret-perf-test");
+        all.put("MAIL_USERNAME", "perf@example.com");
+        all.put("MAIL_PASSWORD", "perf");
+        all.put("APP_MAIL_WEBSITE", "http://localhost");
+        all.putAll(defaults);
+        all.forEach(System.getProperties()::putIfAbsent);
+        return new SpringApplicationBuilder(SeminarBookingApplication.class)
+                .web(web)
+                .profiles(profiles)
+                .run();
+    }
+}
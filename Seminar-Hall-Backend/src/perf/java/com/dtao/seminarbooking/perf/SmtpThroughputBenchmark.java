@@ -0,0 +1,96 @@
+package com.dtao.seminarbooking.perf;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.service.SmtpCircuitBreaker;
+import com.dtao.seminarbooking.service.SmtpConnectionPool;
+import com.dtao.seminarbooking.service.SmtpSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Email throughput: one connection per message (JavaMailSender.send) vs. pooled batches (SmtpSender.sendBatch),
+ * both against {@link LocalSmtpSink}.
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.SmtpThroughputBenchmark
+ *
+ * System properties: smtp.messages (default 500), smtp.batch (20), smtp.handshake-ms (5),
+ * smtp.message-latency-ms (0), smtp.reject-rate (0), smtp.drop-rate (0) - see {@link LocalSmtpSink}.
+ */
+public class SmtpThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int messages = Integer.getInteger("smtp.messages", 500);
+        int batchSize = Integer.getInteger("smtp.batch", 20);
+        long handshakeMs = Long.getLong("smtp.handshake-ms", 5);
+        double rejectRate = Double.parseDouble(System.getProperty("smtp.reject-rate", "0"));
+        double dropRate = Double.parseDouble(System.getProperty("smtp.drop-rate", "0"));
+
+        System.out.printf("SMTP throughput: %d messages, batch %d, simulated handshake %d ms, message latency %d ms, reject %.2f, drop %.2f%n",
+                messages, batchSize, handshakeMs, Long.getLong("smtp.message-latency-ms", 0), rejectRate, dropRate);
+
+        // Warm up class loading / JIT on both paths before measuring
+        run("warmup", 50, batchSize, handshakeMs, false, true);
+        run("warmup", 50, batchSize, handshakeMs, true, true);
+
+        run("per-message", messages, batchSize, handshakeMs, false, false);
+        run("pooled", messages, batchSize, handshakeMs, true, false);
+    }
+
+    private static void run(String label, int messages, int batchSize, long handshakeMs,
+                            boolean pooled, boolean quiet) throws Exception {
+        try (LocalSmtpSink sink = new LocalSmtpSink(handshakeMs)) {
+            sink.setMessageLatencyMs(Long.getLong("smtp.message-latency-ms", 0));
+            if (!quiet) {
+                sink.setRejectRate(Double.parseDouble(System.getProperty("smtp.reject-rate", "0")));
+                sink.setDropRate(Double.parseDouble(System.getProperty("smtp.drop-rate", "0")));
+            }
+            JavaMailSenderImpl mailSender = mailSender(sink.getPort());
+            SmtpConnectionPool pool = new SmtpConnectionPool(mailSender, 1, 30_000, 5_000, 1_000, 10_000);
+            SmtpCircuitBreaker breaker = new SmtpCircuitBreaker(5, 30_000, 600_000);
+            SmtpSender sender = new SmtpSender(mailSender, pool, breaker, "bench@example.com", "Benchmark", pooled);
+
+            List<EmailOutboxMessage> all = new ArrayList<>(messages);
+            for (int i = 0; i < messages; i++) {
+                all.add(new EmailOutboxMessage("k" + i, "BENCH", "user" + i + "@example.com",
+                        "Booking update #" + i, "<p>Your booking #" + i + " was approved.</p>"));
+            }
+
+            AtomicInteger failed = new AtomicInteger();
+            long start = System.nanoTime();
+            for (int from = 0; from < messages; from += batchSize) {
+                sender.sendBatch(all.subList(from, Math.min(messages, from + batchSize)), (m, ex) -> {
+                    if (ex != null) failed.incrementAndGet();
+                });
+            }
+            long elapsedNs = System.nanoTime() - start;
+            pool.shutdown();
+
+            if (!quiet) {
+                double seconds = elapsedNs / 1e9;
+                System.out.printf("%-12s %8.1f msg/s  %7.2f ms/msg  failed=%d  breaker=%s%n",
+                        label, messages / seconds, elapsedNs / 1e6 / messages, failed.get(), breaker.getState());
+                System.out.printf("%-12s sink: %s%n", "", sink.summary());
+            }
+            // The pool was built with one connection; anything more means the bulkhead leaked
+            if (pooled) sink.assertPeakSessionsAtMost(1);
+        }
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.setUsername("bench");
+        sender.setPassword("bench");
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.connectiontimeout", "5000");
+        props.put("mail.smtp.timeout", "5000");
+        sender.setJavaMailProperties(props);
+        return sender;
+    }
+}
@@ -0,0 +1,398 @@
+package com.dtao.seminarbooking.perf.data;
+
+import com.dtao.seminarbooking.model.Department;
+import com.dtao.seminarbooking.model.HallOperator;
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.model.Seminar.DaySlot;
+import com.dtao.seminarbooking.model.SeminarHall;
+import com.dtao.seminarbooking.model.User;
+import org.bson.types.ObjectId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Deterministic synthetic data: halls, departments, users, hall operators and spec.years() of bookings.
+ *
+ * Traffic follows an academic year: weekdays busy, Saturdays light, Sundays almost empty, May / June / December
+ * quiet, plus a few peak weeks per year. Hall popularity is Zipf-skewed. Active bookings (APPROVED, PENDING,
+ * CANCEL_REQUESTED) never overlap in a hall, like the conflict check guarantees; rejected / cancelled ones may.
+ * Ids are ObjectIds built from the appliedAt time and a counter, so they are stable across runs too.
+ */
+public final class DatasetGenerator {
+
+    /** Password of every generated user; stored as a fixed bcrypt hash (a fresh salt would change the output). */
+    public static final String PASSWORD = "Perf@12345";
+    static final String PASSWORD_HASH = "$2a$10$PyyLEDvuVte6r4CbeCrnJuglSoGrSjkkt9Kw9f7quHudo4.aZNdhm";
+    public static final String ADMIN_EMAIL = "perf.admin@newhorizonindia.edu";
+    public static final String CREATED_BY = "dataset";
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    private static final String[] DEPARTMENTS = {"CSE-1", "CSE-2", "ISE", "ECE", "EEE", "MECH", "CIVIL", "AIML", "DS",
+            "MCA", "MBA", "BBA", "BCA", "BCOM", "PHYSICS", "CHEMISTRY", "MATHS", "ENGLISH", "PLACEMENT", "IQAC"};
+    private static final String[] HALLS = {"Main Auditorium", "Seminar Hall 1", "Seminar Hall 2", "Conference Room",
+            "MBA Seminar Hall", "Open Air Theatre", "Library Hall", "Board Room"};
+    private static final String[] FIRST_NAMES = {"Anita", "Rahul", "Priya", "Suresh", "Kavya", "Arjun", "Meera", "Vikram",
+            "Divya", "Naveen", "Lakshmi", "Karthik", "Sneha", "Ravi", "Pooja", "Manoj"};
+    private static final String[] LAST_NAMES = {"Rao", "Sharma", "Reddy", "Iyer", "Nair", "Gowda", "Kumar", "Menon",
+            "Patil", "Shetty", "Joshi", "Hegde"};
+    private static final String[] TOPICS = {"Guest Lecture", "Workshop", "Faculty Development Programme", "Hackathon",
+            "Department Meeting", "Placement Drive", "Alumni Talk", "Paper Presentation", "Orientation", "Seminar",
+            "Cultural Rehearsal", "Project Review"};
+
+    // Monday .. Sunday
+    private static final double[] WEEKDAY_FACTOR = {1.0, 1.05, 1.1, 1.1, 0.95, 0.35, 0.05};
+    // January .. December
+    private static final double[] MONTH_FACTOR = {0.9, 1.1, 1.2, 1.0, 0.4, 0.5, 0.9, 1.1, 1.2, 1.0, 1.1, 0.5};
+
+    // Placement grid: half-hours from 08:00 to 20:00, one bit each
+    private static final int DAY_START = 8 * 60;
+    private static final int SLOTS = 24;
+    private static final long FULL_DAY = (1L << SLOTS) - 1;
+    private static final int HALL_ATTEMPTS = 4;
+
+    public record Dataset(DatasetSpec spec, List<SeminarHall> halls, List<Department> departments, List<User> users,
+                          List<HallOperator> operators, List<Seminar> seminars) {
+
+        /** Users with the DEPARTMENT role, in generation order. */
+        public List<User> departmentUsers() {
+            return users.stream().filter(u -> "DEPARTMENT".equals(u.getRole())).toList();
+        }
+
+        public Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            for (Seminar s : seminars) counts.merge(s.getStatus(), 1L, Long::sum);
+            return counts;
+        }
+
+        /** CRC32 over every generated document's identifying fields: equal fingerprints = identical datasets. */
+        public String fingerprint() {
+            CRC32 crc = new CRC32();
+            for (SeminarHall h : halls) update(crc, h.getId(), h.getName(), h.getCapacity());
+            for (Department d : departments) update(crc, d.getId(), d.getName());
+            for (User u : users) update(crc, u.getId(), u.getEmail(), u.getPhone(), u.getRole(), u.getDepartment());
+            for (HallOperator o : operators) update(crc, o.getId(), o.getHeadEmail(), o.getHallNames(), o.getDigestMode());
+            for (Seminar s : seminars) {
+                update(crc, s.getId(), s.getHallName(), s.getEmail(), s.getDate(), s.getStartTime(), s.getEndTime(),
+                        s.getStartDate(), s.getEndDate(), s.getStatus(), s.getAppliedAt());
+                if (s.getDaySlots() != null) {
+                    s.getDaySlots().forEach((day, slot) -> update(crc, day, slot.getStartTime(), slot.getEndTime()));
+                }
+            }
+            return String.format("%08x", crc.getValue());
+        }
+
+        private static void update(CRC32 crc, Object... values) {
+            for (Object v : values) {
+                crc.update(String.valueOf(v).getBytes(StandardCharsets.UTF_8));
+                crc.update('|');
+            }
+        }
+    }
+
+    private final DatasetSpec spec;
+    private final SplittableRandom random;
+    private final int idMachine;
+    private int idCounter;
+
+    private DatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.idMachine = Long.hashCode(spec.seed());
+    }
+
+    public static Dataset generate(DatasetSpec spec) {
+        return new DatasetGenerator(spec).run();
+    }
+
+    private Dataset run() {
+        Instant setupTime = spec.from().minusDays(90).atStartOfDay(ZONE).toInstant();
+
+        List<SeminarHall> halls = new ArrayList<>();
+        for (int i = 0; i < spec.halls(); i++) {
+            String name = i < HALLS.length ? HALLS[i] : "Seminar Hall " + (i - HALLS.length + 3);
+            // The first hall is the auditorium; the rest are classroom-sized
+            SeminarHall hall = new SeminarHall(name, i == 0 ? 600 : 40 + 20 * random.nextInt(8));
+            hall.setId(id(setupTime));
+            halls.add(hall);
+        }
+
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < spec.departments(); i++) {
+            Department d = new Department(i < DEPARTMENTS.length ? DEPARTMENTS[i] : String.format("DEPT-%02d", i + 1));
+            d.setId(id(setupTime));
+            departments.add(d);
+        }
+
+        List<User> users = new ArrayList<>();
+        users.add(user(setupTime, "Perf Admin", ADMIN_EMAIL, "ADMIN", "ADMIN", 0));
+        int phone = 1;
+        for (Department d : departments) {
+            String slug = d.getName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+            for (int k = 1; k <= spec.usersPerDepartment(); k++) {
+                users.add(user(setupTime, personName(), slug + "." + k + "@newhorizonindia.edu", "DEPARTMENT", d.getName(), phone++));
+            }
+        }
+
+        List<HallOperator> operators = new ArrayList<>();
+        for (int i = 0, n = 1; i < halls.size(); n++) {
+            // Every third head looks after two halls
+            int covered = (n % 3 == 0 && i + 1 < halls.size()) ? 2 : 1;
+            List<SeminarHall> own = halls.subList(i, i + covered);
+            HallOperator op = new HallOperator(
+                    new ArrayList<>(own.stream().map(SeminarHall::getId).toList()),
+                    new ArrayList<>(own.stream().map(SeminarHall::getName).toList()),
+                    personName(), "hallhead." + n + "@newhorizonindia.edu", String.format("8%09d", 700_000_000 + n));
+            op.setId(id(setupTime));
+            int mode = random.nextInt(100);
+            op.setDigestMode(mode < 60 ? null : mode < 85 ? HallOperator.DIGEST_HOURLY : HallOperator.DIGEST_DAILY);
+            operators.add(op);
+            i += covered;
+        }
+
+        List<Seminar> seminars = bookings(halls, departments, users);
+        return new Dataset(spec, halls, departments, users, operators, seminars);
+    }
+
+    // =========================================================================
+    // BOOKINGS
+    // =========================================================================
+
+    private List<Seminar> bookings(List<SeminarHall> halls, List<Department> departments, List<User> users) {
+        int days = (int) ChronoUnit.DAYS.between(spec.from(), spec.to()) + 1;
+        long[][] occupied = new long[halls.size()][days];
+        double[] hallWeights = zipf(halls.size(), spec.hallSkew());
+        double[] departmentWeights = zipf(departments.size(), 0.6);
+        Map<String, List<User>> usersByDepartment = new LinkedHashMap<>();
+        for (User u : users) {
+            if ("DEPARTMENT".equals(u.getRole())) usersByDepartment.computeIfAbsent(u.getDepartment(), k -> new ArrayList<>()).add(u);
+        }
+        Set<Integer> peakWeeks = peakWeeks(days);
+
+        String[] statuses = spec.statusMix().keySet().toArray(new String[0]);
+        double[] statusWeights = spec.statusMix().values().stream().mapToDouble(Integer::doubleValue).toArray();
+
+        List<Seminar> out = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            LocalDate date = spec.from().plusDays(day);
+            double lambda = spec.bookingsPerDay()
+                    * WEEKDAY_FACTOR[date.getDayOfWeek().getValue() - 1]
+                    * MONTH_FACTOR[date.getMonthValue() - 1]
+                    * (peakWeeks.contains(day / 7) ? spec.peakFactor() : 1.0);
+            int count = poisson(lambda);
+            for (int b = 0; b < count; b++) {
+                String status = statuses[pick(statusWeights)];
+                boolean active = "APPROVED".equals(status) || "PENDING".equals(status) || "CANCEL_REQUESTED".equals(status);
+                String department = departments.get(pick(departmentWeights)).getName();
+                List<User> candidates = usersByDepartment.get(department);
+                User user = candidates.get(random.nextInt(candidates.size()));
+
+                Seminar s = random.nextDouble() < spec.dayRangeShare()
+                        ? dayRange(date, Math.min(days - day, 2 + random.nextInt(4)))
+                        : timeWise(date);
+                int hall = place(s, day, active, occupied, hallWeights);
+                if (hall < 0) continue; // every hall tried was taken: the booking would have been refused
+
+                s.setHallName(halls.get(hall).getName());
+                s.setBookingName(user.getName());
+                s.setEmail(user.getEmail());
+                s.setDepartment(department);
+                s.setPhone(user.getPhone());
+                s.setSlotTitle(TOPICS[random.nextInt(TOPICS.length)] + " - " + department);
+                s.setStatus(status);
+                s.setRemarks(remarks(status));
+                if ("CANCELLED".equals(status) || "CANCEL_REQUESTED".equals(status)) s.setCancellationReason("Event postponed");
+                if ("APPROVED".equals(status) && random.nextInt(20) == 0) s.setCreatedBy("ADMIN");
+
+                // Most requests come in a few days ahead, some weeks ahead
+                int leadDays = 1 + (int) Math.min(60, -Math.log(1 - random.nextDouble()) * 8);
+                Instant applied = date.minusDays(leadDays).atTime(9, 0).atZone(ZONE).toInstant()
+                        .plusSeconds(random.nextInt(10 * 3600));
+                s.setAppliedAt(applied.toString());
+                s.setId(id(applied));
+                out.add(s);
+            }
+        }
+        return out;
+    }
+
+    private Seminar timeWise(LocalDate date) {
+        int[] slot = slot();
+        Seminar s = new Seminar();
+        s.setSlot("Custom");
+        s.setDate(date.toString());
+        s.setStartTime(time(slot[0]));
+        s.setEndTime(time(slot[1]));
+        return s;
+    }
+
+    // A third of multi-day bookings reserve whole days (no daySlots); the rest mostly keep the same hours every day
+    private Seminar dayRange(LocalDate first, int length) {
+        Seminar s = new Seminar();
+        s.setSlot("DayRange");
+        s.setStartDate(first.toString());
+        s.setEndDate(first.plusDays(length - 1).toString());
+        if (random.nextInt(3) > 0) {
+            Map<String, DaySlot> slots = new LinkedHashMap<>();
+            int[] slot = slot();
+            for (int i = 0; i < length; i++) {
+                if (i > 0 && random.nextInt(5) == 0) slot = slot();
+                slots.put(first.plusDays(i).toString(), new DaySlot(time(slot[0]), time(slot[1])));
+            }
+            s.setDaySlots(slots);
+        }
+        return s;
+    }
+
+    /** Start / end as half-hour indexes: mostly on the hour between 09:00 and 16:00, 1 - 4 hours long. */
+    private int[] slot() {
+        int start = 2 + 2 * random.nextInt(8) + (random.nextInt(5) == 0 ? 1 : 0);
+        int[] lengths = {2, 2, 2, 3, 4, 4, 4, 6, 6, 8};
+        int end = Math.min(SLOTS, start + lengths[random.nextInt(lengths.length)]);
+        return new int[]{start, end};
+    }
+
+    /** Picks a hall by popularity; active bookings retry on another hall when the slot is taken. Returns -1 if none fits. */
+    private int place(Seminar s, int day, boolean active, long[][] occupied, double[] hallWeights) {
+        for (int attempt = 0; attempt < HALL_ATTEMPTS; attempt++) {
+            int hall = pick(hallWeights);
+            if (!active) return hall;
+            long[] masks = masks(s);
+            boolean free = true;
+            for (int i = 0; i < masks.length && free; i++) free = (occupied[hall][day + i] & masks[i]) == 0;
+            if (!free) continue;
+            for (int i = 0; i < masks.length; i++) occupied[hall][day + i] |= masks[i];
+            return hall;
+        }
+        return -1;
+    }
+
+    // One mask per booked day, starting at the booking's first day
+    private static long[] masks(Seminar s) {
+        if (s.getDate() != null) return new long[]{mask(s.getStartTime(), s.getEndTime())};
+        int length = (int) ChronoUnit.DAYS.between(LocalDate.parse(s.getStartDate()), LocalDate.parse(s.getEndDate())) + 1;
+        long[] masks = new long[length];
+        for (int i = 0; i < length; i++) {
+            DaySlot slot = s.getDaySlots() == null ? null
+                    : s.getDaySlots().get(LocalDate.parse(s.getStartDate()).plusDays(i).toString());
+            masks[i] = slot == null ? FULL_DAY : mask(slot.getStartTime(), slot.getEndTime());
+        }
+        return masks;
+    }
+
+    private static long mask(String start, String end) {
+        int from = (minutes(start) - DAY_START) / 30;
+        int to = (minutes(end) - DAY_START) / 30;
+        return ((1L << to) - 1) & ~((1L << from) - 1);
+    }
+
+    private static int minutes(String hhmm) {
+        return Integer.parseInt(hhmm.substring(0, 2)) * 60 + Integer.parseInt(hhmm.substring(3, 5));
+    }
+
+    private static String time(int halfHour) {
+        int m = DAY_START + 30 * halfHour;
+        return String.format("%02d:%02d", m / 60, m % 60);
+    }
+
+    private static String remarks(String status) {
+        return switch (status) {
+            case "APPROVED" -> "Approved";
+            case "REJECTED" -> "Hall not available for this event";
+            case "CANCELLED" -> "Cancelled by department";
+            default -> "Waiting for Admin Approval";
+        };
+    }
+
+    /** spec.peakWeeksPerYear() distinct week indexes (days since from / 7) per generated year. */
+    private Set<Integer> peakWeeks(int days) {
+        Set<Integer> peaks = new HashSet<>();
+        int weeks = (days + 6) / 7;
+        for (int yearStart = 0; yearStart < weeks; yearStart += 52) {
+            int span = Math.min(52, weeks - yearStart);
+            Set<Integer> year = new HashSet<>();
+            while (year.size() < Math.min(spec.peakWeeksPerYear(), span)) year.add(yearStart + random.nextInt(span));
+            peaks.addAll(year);
+        }
+        return peaks;
+    }
+
+    // =========================================================================
+    // PEOPLE + IDS
+    // =========================================================================
+
+    private User user(Instant createdAt, String name, String email, String role, String department, int n) {
+        User u = new User();
+        u.setId(id(createdAt));
+        u.setName(name);
+        u.setEmail(email);
+        u.setPhone(String.format("9%09d", 800_000_000 + n));
+        u.setPassword(PASSWORD_HASH);
+        u.setRole(role);
+        u.setDepartment(department);
+        u.setCreatedBy(CREATED_BY);
+        u.setCreatedAt(createdAt);
+        return u;
+    }
+
+    private String personName() {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    // Timestamp + seed-derived "machine" bytes + counter, so the same spec yields the same ids
+    private String id(Instant at) {
+        ByteBuffer bytes = ByteBuffer.allocate(12);
+        bytes.putInt((int) at.getEpochSecond());
+        bytes.putInt(idMachine);
+        bytes.putInt(idCounter++);
+        return new ObjectId(bytes.array()).toHexString();
+    }
+
+    // =========================================================================
+    // RANDOM HELPERS
+    // =========================================================================
+
+    private static double[] zipf(int n, double exponent) {
+        double[] w = new double[n];
+        for (int i = 0; i < n; i++) w[i] = 1.0 / Math.pow(i + 1, exponent);
+        return w;
+    }
+
+    private int pick(double[] weights) {
+        double total = 0;
+        for (double w : weights) total += w;
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    private int poisson(double lambda) {
+        if (lambda <= 0) return 0;
+        if (lambda > 30) return (int) Math.max(0, Math.round(lambda + Math.sqrt(lambda) * random.nextGaussian()));
+        double limit = Math.exp(-lambda), p = 1;
+        int k = 0;
+        do {
+            k++;
+            p *= random.nextDouble();
+        } while (p > limit);
+        return k - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.dtao.seminarbooking.perf.data;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shape of a generated dataset. The same spec (seed included) always gives the same data.
+ *
+ * @param from               first booking day; a fixed date, not "today", so the output does not drift
+ * @param bookingsPerDay     average bookings started per weekday outside peak weeks, over all halls
+ * @param dayRangeShare      share of bookings that span several days (startDate / endDate, mostly with daySlots)
+ * @param peakWeeksPerYear   weeks per year (exams, fests, placement drives) with peakFactor times the traffic
+ * @param hallSkew           Zipf exponent of hall popularity: 0 = uniform, ~1 = a few halls take most bookings
+ * @param statusMix          status -> weight, e.g. APPROVED=70,PENDING=8,...
+ */
+public record DatasetSpec(long seed, LocalDate from, int years, int halls, int departments, int usersPerDepartment,
+                          double bookingsPerDay, double dayRangeShare, int peakWeeksPerYear, double peakFactor,
+                          double hallSkew, Map<String, Integer> statusMix) {
+
+    public static final String DEFAULT_STATUS_MIX = "APPROVED=70,PENDING=8,REJECTED=10,CANCELLED=8,CANCEL_REQUESTED=4";
+
+    public DatasetSpec {
+        if (years < 1 || halls < 1 || departments < 1 || usersPerDepartment < 1) {
+            throw new IllegalArgumentException("years, halls, departments and usersPerDepartment must be at least 1");
+        }
+        if (dayRangeShare < 0 || dayRangeShare > 1) throw new IllegalArgumentException("dayRangeShare must be within 0..1");
+        if (statusMix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("statusMix has no positive weight");
+        }
+    }
+
+    /**
+     * Reads data.* system properties (defaults in brackets): data.seed [42], data.from [2024-01-01], data.years [2],
+     * data.halls [12], data.departments [20], data.users-per-department [2], data.bookings-per-day [12],
+     * data.day-range-share [0.08], data.peak-weeks [6], data.peak-factor [2.5], data.hall-skew [1.1],
+     * data.status-mix [{@value #DEFAULT_STATUS_MIX}].
+     */
+    public static DatasetSpec fromSystemProperties() {
+        return new DatasetSpec(
+                Long.getLong("data.seed", 42),
+                LocalDate.parse(System.getProperty("data.from", "2024-01-01")),
+                Integer.getInteger("data.years", 2),
+                Integer.getInteger("data.halls", 12),
+                Integer.getInteger("data.departments", 20),
+                Integer.getInteger("data.users-per-department", 2),
+                Double.parseDouble(System.getProperty("data.bookings-per-day", "12")),
+                Double.parseDouble(System.getProperty("data.day-range-share", "0.08")),
+                Integer.getInteger("data.peak-weeks", 6),
+                Double.parseDouble(System.getProperty("data.peak-factor", "2.5")),
+                Double.parseDouble(System.getProperty("data.hall-skew", "1.1")),
+                parseMix(System.getProperty("data.status-mix", DEFAULT_STATUS_MIX)));
+    }
+
+    /** Last generated day (inclusive). */
+    public LocalDate to() {
+        return from.plusYears(years).minusDays(1);
+    }
+
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Bad status mix entry '" + part + "', expected STATUS=weight");
+            mix.put(kv[0].trim().toUpperCase(Locale.ROOT), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+}
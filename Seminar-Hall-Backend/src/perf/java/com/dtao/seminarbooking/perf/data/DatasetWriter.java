@@ -0,0 +1,59 @@
+package com.dtao.seminarbooking.perf.data;
+
+import com.dtao.seminarbooking.perf.data.DatasetGenerator.Dataset;
+import com.dtao.seminarbooking.repo.DepartmentRepository;
+import com.dtao.seminarbooking.repo.HallOperatorRepository;
+import com.dtao.seminarbooking.repo.SeminarHallRepository;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import com.dtao.seminarbooking.repo.UserRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/**
+ * Writes a {@link Dataset} through the application's repositories, so the same code fills MongoDB
+ * or the in-memory stand-ins. Each batch is one repository insert(Iterable), i.e. one insertMany bulk write.
+ */
+public final class DatasetWriter {
+
+    private final ApplicationContext ctx;
+    private final int batchSize;
+
+    public DatasetWriter(ApplicationContext ctx, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be at least 1");
+        this.ctx = ctx;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * replace = empty the five target collections first (this also removes the default admin,
+     * which DataInitializer recreates on the next start). Without it, existing seminars are an error:
+     * mixing two datasets would make runs incomparable.
+     */
+    public void write(Dataset data, boolean replace) {
+        SeminarRepository seminars = ctx.getBean(SeminarRepository.class);
+        List<MongoRepository<?, String>> targets = List.of(ctx.getBean(SeminarHallRepository.class),
+                ctx.getBean(DepartmentRepository.class), ctx.getBean(UserRepository.class),
+                ctx.getBean(HallOperatorRepository.class), seminars);
+        if (replace) {
+            targets.forEach(MongoRepository::deleteAll);
+        } else if (seminars.count() > 0) {
+            throw new IllegalStateException("The seminars collection is not empty; pass -Ddata.replace=true to replace its data");
+        }
+
+        insert("halls", ctx.getBean(SeminarHallRepository.class), data.halls());
+        insert("departments", ctx.getBean(DepartmentRepository.class), data.departments());
+        insert("users", ctx.getBean(UserRepository.class), data.users());
+        insert("hall operators", ctx.getBean(HallOperatorRepository.class), data.operators());
+        insert("seminars", seminars, data.seminars());
+    }
+
+    private <T> void insert(String label, MongoRepository<T, String> repository, List<T> documents) {
+        long start = System.nanoTime();
+        for (int from = 0; from < documents.size(); from += batchSize) {
+            repository.insert(documents.subList(from, Math.min(documents.size(), from + batchSize)));
+        }
+        System.out.printf("  %-15s %8d in %6d ms%n", label, documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,40 @@
+package com.dtao.seminarbooking.perf.data;
+
+import com.dtao.seminarbooking.perf.PerfApp;
+import com.dtao.seminarbooking.perf.data.DatasetGenerator.Dataset;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+
+/**
+ * Generates a dataset ({@link DatasetSpec#fromSystemProperties()}) and bulk-inserts it into the database
+ * configured by MONGODB_URI (or the in-memory repositories with -Dspring.profiles.active=inmemory).
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.data.GenerateDataset -Ddata.years=5
+ *
+ * Extra system properties: data.replace [false] empties the target collections first,
+ * data.batch-size [5000] documents per insertMany, data.dry-run [false] only prints the summary and fingerprint.
+ * The printed fingerprint is the same for the same data.* settings on any machine.
+ */
+public class GenerateDataset {
+
+    public static void main(String[] args) {
+        DatasetSpec spec = DatasetSpec.fromSystemProperties();
+        long start = System.nanoTime();
+        Dataset data = DatasetGenerator.generate(spec);
+        System.out.printf("Dataset %s .. %s (seed %d): %d halls, %d departments, %d users, %d hall operators, %d seminars %s%n",
+                spec.from(), spec.to(), spec.seed(), data.halls().size(), data.departments().size(), data.users().size(),
+                data.operators().size(), data.seminars().size(), data.statusCounts());
+        System.out.printf("Fingerprint %s, generated in %d ms%n", data.fingerprint(), (System.nanoTime() - start) / 1_000_000);
+        if (Boolean.getBoolean("data.dry-run")) return;
+
+        // No web server, and no mail: nothing here sends any
+        try (ConfigurableApplicationContext ctx = PerfApp.start(WebApplicationType.NONE,
+                Map.of("app.mail.outbox.enabled", "false", "app.mail.digest.enabled", "false"))) {
+            System.out.println("Writing:");
+            new DatasetWriter(ctx, Integer.getInteger("data.batch-size", 5_000)).write(data, Boolean.getBoolean("data.replace"));
+            System.out.printf("Users can log in with password %s (admin: %s)%n", DatasetGenerator.PASSWORD, DatasetGenerator.ADMIN_EMAIL);
+        }
+    }
+}
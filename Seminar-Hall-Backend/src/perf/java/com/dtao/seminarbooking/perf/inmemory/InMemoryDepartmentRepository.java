@@ -0,0 +1,22 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.Department;
+import com.dtao.seminarbooking.repo.DepartmentRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryDepartmentRepository extends InMemoryRepository<Department> implements DepartmentRepository {
+
+    public InMemoryDepartmentRepository(InMemoryLatency latency) {
+        super(Department.class, latency);
+    }
+
+    @Override
+    public boolean existsByNameIgnoreCase(String name) {
+        return exists(d -> equalsIgnoreCase(d.getName(), name));
+    }
+}
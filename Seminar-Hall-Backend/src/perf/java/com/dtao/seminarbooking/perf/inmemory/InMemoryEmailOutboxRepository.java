@@ -0,0 +1,151 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.repo.EmailOutboxRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Email outbox in memory, so the dispatcher runs unchanged against it.
+ * - the unique index on idempotencyKey is kept: a second insert with the same key throws DuplicateKeyException
+ *   (keys are remembered for the life of the process; there is no TTL purge of SENT messages either)
+ * - each claim is a compare-and-set, so two dispatchers never claim the same message
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryEmailOutboxRepository extends InMemoryRepository<EmailOutboxMessage> implements EmailOutboxRepository {
+
+    // idempotencyKey -> _id
+    private final Map<String, String> keys = new ConcurrentHashMap<>();
+
+    public InMemoryEmailOutboxRepository(InMemoryLatency latency) {
+        super(EmailOutboxMessage.class, latency);
+    }
+
+    @Override
+    public <S extends EmailOutboxMessage> S insert(S entity) {
+        String key = entity.getIdempotencyKey();
+        if (key == null) return super.insert(entity);
+        if (keys.putIfAbsent(key, "") != null) {
+            roundTrip();
+            throw new DuplicateKeyException("E11000 duplicate key error collection: EmailOutboxMessage dup key: { idempotencyKey: \"" + key + "\" }");
+        }
+        try {
+            S saved = super.insert(entity);
+            keys.put(key, saved.getId());
+            return saved;
+        } catch (RuntimeException ex) {
+            keys.remove(key);
+            throw ex;
+        }
+    }
+
+    @Override
+    public long countByStatus(String status) {
+        roundTrip();
+        return store.values().stream().filter(m -> Objects.equals(m.getStatus(), status)).count();
+    }
+
+    @Override
+    public List<EmailOutboxMessage> findTop50ByStatusOrderByCreatedAtDesc(String status) {
+        List<EmailOutboxMessage> all = query(m -> Objects.equals(m.getStatus(), status), Sort.by(Sort.Direction.DESC, "createdAt"));
+        return all.size() <= 50 ? all : new ArrayList<>(all.subList(0, 50));
+    }
+
+    // =========================================================================
+    // EmailOutboxRepositoryCustom
+    // =========================================================================
+
+    @Override
+    public List<EmailOutboxMessage> claimBatch(String workerId, Instant now, Instant leaseUntil, int batchSize) {
+        Predicate<EmailOutboxMessage> due = m ->
+                (EmailOutboxMessage.PENDING.equals(m.getStatus()) && m.getNextAttemptAt() != null && !m.getNextAttemptAt().isAfter(now))
+                || (EmailOutboxMessage.SENDING.equals(m.getStatus()) && m.getLockedUntil() != null && m.getLockedUntil().isBefore(now));
+
+        // Oldest due first, like the findAndModify sort; a message claimed by someone else meanwhile is skipped
+        List<Map.Entry<String, EmailOutboxMessage>> candidates = new ArrayList<>();
+        for (Map.Entry<String, EmailOutboxMessage> e : store.entrySet()) {
+            if (due.test(e.getValue())) candidates.add(e);
+        }
+        candidates.sort(Map.Entry.comparingByValue(
+                Comparator.comparing(EmailOutboxMessage::getNextAttemptAt, Comparator.nullsFirst(Comparator.naturalOrder()))));
+
+        List<EmailOutboxMessage> claimed = new ArrayList<>(batchSize);
+        for (Map.Entry<String, EmailOutboxMessage> e : candidates) {
+            if (claimed.size() == batchSize) break;
+            roundTrip();
+            EmailOutboxMessage m = modify(e.getKey(), due, c -> {
+                c.setStatus(EmailOutboxMessage.SENDING);
+                c.setLockedBy(workerId);
+                c.setLockedUntil(leaseUntil);
+            });
+            if (m != null) claimed.add(m);
+        }
+        return claimed;
+    }
+
+    @Override
+    public boolean markSent(String id, String workerId, Instant sentAt, Instant purgeAt) {
+        return updateById(id, ownedBy(workerId), m -> {
+            m.setStatus(EmailOutboxMessage.SENT);
+            m.setSentAt(sentAt);
+            m.setPurgeAt(purgeAt);
+            m.setAttempts(m.getAttempts() + 1);
+            m.setHtmlBody(null);
+            m.setLockedBy(null);
+            m.setLockedUntil(null);
+            m.setLastError(null);
+        });
+    }
+
+    @Override
+    public boolean markRetry(String id, String workerId, int attempts, Instant nextAttemptAt, String error) {
+        return updateById(id, ownedBy(workerId), m -> {
+            m.setStatus(EmailOutboxMessage.PENDING);
+            m.setAttempts(attempts);
+            m.setNextAttemptAt(nextAttemptAt);
+            m.setLastError(error);
+            m.setLockedBy(null);
+            m.setLockedUntil(null);
+        });
+    }
+
+    @Override
+    public boolean markDead(String id, String workerId, int attempts, String error, Instant purgeAt) {
+        return updateById(id, ownedBy(workerId), m -> {
+            m.setStatus(EmailOutboxMessage.DEAD);
+            m.setAttempts(attempts);
+            m.setLastError(error);
+            m.setPurgeAt(purgeAt);
+            m.setHtmlBody(null);
+            m.setLockedBy(null);
+            m.setLockedUntil(null);
+        });
+    }
+
+    @Override
+    public long releaseClaims(String workerId) {
+        return update(ownedBy(workerId), m -> {
+            m.setStatus(EmailOutboxMessage.PENDING);
+            m.setLockedBy(null);
+            m.setLockedUntil(null);
+        }, true);
+    }
+
+    private static Predicate<EmailOutboxMessage> ownedBy(String workerId) {
+        return m -> EmailOutboxMessage.SENDING.equals(m.getStatus()) && Objects.equals(m.getLockedBy(), workerId);
+    }
+}
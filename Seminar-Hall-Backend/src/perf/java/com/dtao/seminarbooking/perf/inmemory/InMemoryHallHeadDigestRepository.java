@@ -0,0 +1,87 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.HallHeadDigestEntry;
+import com.dtao.seminarbooking.repo.HallHeadDigestRepository;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hall-head digest buffer in memory. The unique (headEmail, seminarId) index is emulated by
+ * serialising upserts, which is enough for a buffer written once per booking event.
+ * A lock rather than synchronized, and the simulated round trip outside it: parking inside a monitor
+ * would pin a virtual thread to its carrier (JDK 21) and skew runs with spring.threads.virtual.enabled.
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryHallHeadDigestRepository extends InMemoryRepository<HallHeadDigestEntry> implements HallHeadDigestRepository {
+
+    private final ReentrantLock upsertLock = new ReentrantLock();
+
+    public InMemoryHallHeadDigestRepository(InMemoryLatency latency) {
+        super(HallHeadDigestEntry.class, latency);
+    }
+
+    @Override
+    public List<HallHeadDigestEntry> findByHeadEmailOrderByFirstAtAsc(String headEmail) {
+        return query(e -> Objects.equals(e.getHeadEmail(), headEmail), Sort.by(Sort.Direction.ASC, "firstAt"));
+    }
+
+    // =========================================================================
+    // HallHeadDigestRepositoryCustom
+    // =========================================================================
+
+    /** Like the Mongo upsert: everything is overwritten except firstAt / dueAt, which only an insert sets. */
+    @Override
+    public boolean upsertLatest(HallHeadDigestEntry e) {
+        roundTrip();
+        upsertLock.lock();
+        try {
+            for (Map.Entry<String, HallHeadDigestEntry> en : store.entrySet()) {
+                HallHeadDigestEntry current = en.getValue();
+                if (!Objects.equals(current.getHeadEmail(), e.getHeadEmail()) || !Objects.equals(current.getSeminarId(), e.getSeminarId())) continue;
+                if (current.getUpdatedAt() != null && !current.getUpdatedAt().isBefore(e.getUpdatedAt())) return false;
+                HallHeadDigestEntry next = copy(e);
+                next.setId(en.getKey());
+                next.setFirstAt(current.getFirstAt());
+                next.setDueAt(current.getDueAt());
+                // Upserts are serialised; only a concurrent flush can remove the entry, then this becomes an insert
+                if (store.replace(en.getKey(), current, next)) return true;
+            }
+            HallHeadDigestEntry inserted = copy(e);
+            inserted.setId(new ObjectId().toHexString());
+            store.put(inserted.getId(), inserted);
+            return true;
+        } finally {
+            upsertLock.unlock();
+        }
+    }
+
+    @Override
+    public List<String> findDueRecipients(Instant now) {
+        Set<String> heads = new LinkedHashSet<>();
+        for (HallHeadDigestEntry e : query(e -> e.getDueAt() != null && !e.getDueAt().isAfter(now))) {
+            if (e.getHeadEmail() != null) heads.add(e.getHeadEmail());
+        }
+        return new ArrayList<>(heads);
+    }
+
+    @Override
+    public boolean removeIfUnchanged(String id, Instant updatedAt) {
+        roundTrip();
+        HallHeadDigestEntry current = id == null ? null : store.get(id);
+        return current != null && Objects.equals(current.getUpdatedAt(), updatedAt) && store.remove(id, current);
+    }
+}
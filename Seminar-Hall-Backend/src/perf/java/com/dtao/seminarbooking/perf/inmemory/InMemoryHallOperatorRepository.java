@@ -0,0 +1,50 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.HallOperator;
+import com.dtao.seminarbooking.repo.HallOperatorRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryHallOperatorRepository extends InMemoryRepository<HallOperator> implements HallOperatorRepository {
+
+    public InMemoryHallOperatorRepository(InMemoryLatency latency) {
+        super(HallOperator.class, latency);
+    }
+
+    // A query on an array field matches when any element matches
+    @Override
+    public List<HallOperator> findByHallNamesIgnoreCase(String hallName) {
+        return query(o -> anyIgnoreCase(o.getHallNames(), hallName));
+    }
+
+    @Override
+    public List<HallOperator> findByHallIdsContains(String hallId) {
+        return query(o -> o.getHallIds() != null && hallId != null && o.getHallIds().contains(hallId));
+    }
+
+    @Override
+    public Optional<HallOperator> findByHeadEmailIgnoreCase(String headEmail) {
+        return one(o -> equalsIgnoreCase(o.getHeadEmail(), headEmail));
+    }
+
+    @Override
+    public Optional<HallOperator> findFirstByHallNamesIgnoreCase(String hallName) {
+        return first(o -> anyIgnoreCase(o.getHallNames(), hallName), Sort.unsorted());
+    }
+
+    private static boolean anyIgnoreCase(List<String> values, String wanted) {
+        if (values == null) return false;
+        for (String v : values) {
+            if (equalsIgnoreCase(v, wanted)) return true;
+        }
+        return false;
+    }
+}
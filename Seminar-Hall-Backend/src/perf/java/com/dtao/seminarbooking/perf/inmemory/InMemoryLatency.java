@@ -0,0 +1,52 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated database round trip for the in-memory repositories: every repository call parks the calling
+ * thread for latency-us plus a uniform random 0..jitter-us. Both 0 (the default) = no delay at all.
+ */
+@Component
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryLatency {
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    public InMemoryLatency(@Value("${app.inmemory.latency-us:0}") long latencyMicros,
+                           @Value("${app.inmemory.jitter-us:0}") long jitterMicros) {
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, latencyMicros));
+        this.jitterNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, jitterMicros));
+    }
+
+    /** No delay (benchmarks that build repositories by hand). */
+    public static InMemoryLatency none() {
+        return new InMemoryLatency(0, 0);
+    }
+
+    void roundTrip() {
+        if (latencyNanos == 0 && jitterNanos == 0) return;
+        long nanos = sampleNanos();
+        long deadline = System.nanoTime() + nanos;
+        // parkNanos may return early (spurious wake-up)
+        while ((nanos = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    /** One round trip's delay, for callers that wait without parking a thread (the reactive repository). */
+    Duration sample() {
+        return Duration.ofNanos(sampleNanos());
+    }
+
+    private long sampleNanos() {
+        return latencyNanos + (jitterNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(jitterNanos + 1));
+    }
+}
@@ -0,0 +1,43 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import com.dtao.seminarbooking.repo.LogDailyRollupRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Daily log rollups in memory, filled by {@link InMemoryLogRepository#rollUpDaily}
+ * (which replaces the groups of the days it rolls up, like the $merge).
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryLogDailyRollupRepository extends InMemoryRepository<LogDailyRollup> implements LogDailyRollupRepository {
+
+    private static final Sort DAY_ASC = Sort.by(Sort.Direction.ASC, "day");
+
+    public InMemoryLogDailyRollupRepository(InMemoryLatency latency) {
+        super(LogDailyRollup.class, latency);
+    }
+
+    @Override
+    public List<LogDailyRollup> findByDayBetweenOrderByDayAscCountDesc(Range<String> days) {
+        return query(r -> within(r.getDay(), days), DAY_ASC.and(Sort.by(Sort.Direction.DESC, "count")));
+    }
+
+    @Override
+    public List<LogDailyRollup> findByActorEmailAndDayBetweenOrderByDayAsc(String actorEmail, Range<String> days) {
+        return query(r -> Objects.equals(r.getActorEmail(), actorEmail) && within(r.getDay(), days), DAY_ASC);
+    }
+
+    @Override
+    public List<LogDailyRollup> findByActionAndDayBetweenOrderByDayAsc(String action, Range<String> days) {
+        return query(r -> Objects.equals(r.getAction(), action) && within(r.getDay(), days), DAY_ASC);
+    }
+}
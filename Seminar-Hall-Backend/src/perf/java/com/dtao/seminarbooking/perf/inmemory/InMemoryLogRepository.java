@@ -0,0 +1,118 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.Log;
+import com.dtao.seminarbooking.model.LogDailyRollup;
+import com.dtao.seminarbooking.payload.LogFilter;
+import com.dtao.seminarbooking.repo.LogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryLogRepository extends InMemoryRepository<Log> implements LogRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryLogRepository.class);
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("_id"));
+
+    private final InMemoryLogDailyRollupRepository rollups;
+
+    public InMemoryLogRepository(InMemoryLatency latency, InMemoryLogDailyRollupRepository rollups) {
+        super(Log.class, latency);
+        this.rollups = rollups;
+    }
+
+    // =========================================================================
+    // LogRepositoryCustom (same contract as LogRepositoryImpl)
+    // =========================================================================
+
+    @Override
+    public List<Log> findPage(LogFilter filter, LocalDateTime beforeTimestamp, String beforeId, int limit) {
+        Predicate<Log> match = matches(filter);
+        if (beforeTimestamp != null && beforeId != null) {
+            // (timestamp, _id) < (beforeTimestamp, beforeId)
+            match = match.and(l -> l.getTimestamp() != null && (l.getTimestamp().isBefore(beforeTimestamp)
+                    || (l.getTimestamp().isEqual(beforeTimestamp) && l.getId().compareTo(beforeId) < 0)));
+        }
+        List<Log> page = query(match, NEWEST_FIRST);
+        return limit > 0 && page.size() > limit ? page.subList(0, limit) : page;
+    }
+
+    @Override
+    public long countUpTo(LogFilter filter, long cap) {
+        roundTrip();
+        Predicate<Log> match = matches(filter);
+        long n = 0;
+        for (Log l : store.values()) {
+            if (n >= cap) break;
+            if (match.test(l)) n++;
+        }
+        return n;
+    }
+
+    @Override
+    public long estimatedTotal() {
+        roundTrip();
+        return store.size();
+    }
+
+    /**
+     * Same grouping as the $group / $merge pipeline: one document per (day, action, actor), replaced on re-run.
+     * Timestamps are server-local LocalDateTimes, so the day is their date (timeZone is always the server zone).
+     */
+    @Override
+    public void rollUpDaily(LocalDateTime from, LocalDateTime to, String timeZone) {
+        Map<String, LogDailyRollup> byKey = new LinkedHashMap<>();
+        for (Log l : query(l -> l.getTimestamp() != null && !l.getTimestamp().isBefore(from) && l.getTimestamp().isBefore(to))) {
+            String day = l.getTimestamp().toLocalDate().toString();
+            String action = l.getAction() == null ? "UNKNOWN" : l.getAction();
+            String actor = l.getActorEmail() == null ? "UNKNOWN" : l.getActorEmail();
+            LogDailyRollup r = byKey.computeIfAbsent(day + "|" + action + "|" + actor, id -> {
+                LogDailyRollup n = new LogDailyRollup();
+                n.setId(id);
+                n.setDay(day);
+                n.setAction(action);
+                n.setActorEmail(actor);
+                n.setActorRoles(new ArrayList<>());
+                n.setIpAddresses(new ArrayList<>());
+                return n;
+            });
+            r.setCount(r.getCount() + 1);
+            if (r.getFirstAt() == null || l.getTimestamp().isBefore(r.getFirstAt())) r.setFirstAt(l.getTimestamp());
+            if (r.getLastAt() == null || l.getTimestamp().isAfter(r.getLastAt())) r.setLastAt(l.getTimestamp());
+            // $addToSet skips missing fields
+            if (l.getActorRole() != null && !r.getActorRoles().contains(l.getActorRole())) r.getActorRoles().add(l.getActorRole());
+            if (l.getIpAddress() != null && !r.getIpAddresses().contains(l.getIpAddress())) r.getIpAddresses().add(l.getIpAddress());
+        }
+        rollups.saveAll(byKey.values());
+        log.debug("In-memory audit log: rolled up {} day/action/actor groups for {} .. {}", byKey.size(), from, to);
+    }
+
+    private static Predicate<Log> matches(LogFilter f) {
+        Predicate<Log> p = l -> true;
+        if (f == null) return p;
+        if (hasText(f.getAction())) p = p.and(l -> f.getAction().equals(l.getAction()));
+        if (hasText(f.getActorEmail())) p = p.and(l -> f.getActorEmail().equals(l.getActorEmail()));
+        if (hasText(f.getActorRole())) p = p.and(l -> f.getActorRole().equals(l.getActorRole()));
+        if (hasText(f.getIpAddress())) p = p.and(l -> f.getIpAddress().equals(l.getIpAddress()));
+        if (f.getFrom() != null) p = p.and(l -> l.getTimestamp() != null && !l.getTimestamp().isBefore(f.getFrom()));
+        if (f.getTo() != null) p = p.and(l -> l.getTimestamp() != null && l.getTimestamp().isBefore(f.getTo()));
+        return p;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
@@ -0,0 +1,53 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.OtpToken;
+import com.dtao.seminarbooking.repo.OtpTokenRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * OTP tokens in memory. The TTL index on expiresAt has no equivalent here: expired tokens stay until
+ * deleted, which the service tolerates (it checks expiry itself).
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryOtpTokenRepository extends InMemoryRepository<OtpToken> implements OtpTokenRepository {
+
+    public InMemoryOtpTokenRepository(InMemoryLatency latency) {
+        super(OtpToken.class, latency);
+    }
+
+    @Override
+    public List<OtpToken> findByUserIdAndUsedIsFalse(String userId) {
+        return query(t -> Objects.equals(t.getUserId(), userId) && !t.isUsed());
+    }
+
+    @Override
+    public Optional<OtpToken> findFirstByUserIdAndUsedIsFalseOrderByExpiresAtDesc(String userId) {
+        return first(t -> Objects.equals(t.getUserId(), userId) && !t.isUsed(), Sort.by(Sort.Direction.DESC, "expiresAt"));
+    }
+
+    // =========================================================================
+    // OtpTokenRepositoryCustom
+    // =========================================================================
+
+    @Override
+    public long invalidateAllForUser(String userId) {
+        return update(t -> Objects.equals(t.getUserId(), userId) && !t.isUsed(), t -> t.setUsed(true), true);
+    }
+
+    @Override
+    public Optional<OtpToken> reserveAttempt(String tokenId, int maxAttempts) {
+        roundTrip();
+        if (tokenId == null) return Optional.empty();
+        return Optional.ofNullable(modify(tokenId, t -> !t.isUsed() && t.getAttempts() < maxAttempts,
+                t -> t.setAttempts(t.getAttempts() + 1)));
+    }
+}
@@ -0,0 +1,317 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.repo.ReactiveSeminarRepository;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reactive view of {@link InMemorySeminarRepository}'s documents, so /api/reactive can run without Mongo.
+ * Reads wait out the simulated round trip on a timer (Mono.delay) instead of parking a thread, like the reactive
+ * driver waiting on the socket; writes are not used by the app and go through the blocking repository on
+ * boundedElastic.
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryReactiveSeminarRepository implements ReactiveSeminarRepository {
+
+    private final InMemorySeminarRepository seminars;
+    private final InMemoryLatency latency;
+
+    public InMemoryReactiveSeminarRepository(InMemorySeminarRepository seminars, InMemoryLatency latency) {
+        this.seminars = seminars;
+        this.latency = latency;
+    }
+
+    // =========================================================================
+    // DERIVED FINDERS
+    // =========================================================================
+
+    @Override
+    public Flux<Seminar> findByStatusIgnoreCase(String status) {
+        return query(s -> InMemoryRepository.equalsIgnoreCase(s.getStatus(), status));
+    }
+
+    @Override
+    public Flux<Seminar> findByHallName(String hallName) {
+        return query(s -> Objects.equals(s.getHallName(), hallName));
+    }
+
+    @Override
+    public Flux<Seminar> findByHallNameAndStatusIgnoreCase(String hallName, String status) {
+        return query(s -> Objects.equals(s.getHallName(), hallName) && InMemoryRepository.equalsIgnoreCase(s.getStatus(), status));
+    }
+
+    @Override
+    public Flux<Seminar> findByDateBetween(Range<String> dates) {
+        return query(s -> InMemoryRepository.within(s.getDate(), dates));
+    }
+
+    @Override
+    public Flux<Seminar> findByHallNameAndDateBetween(String hallName, Range<String> dates) {
+        return query(s -> Objects.equals(s.getHallName(), hallName) && InMemoryRepository.within(s.getDate(), dates));
+    }
+
+    @Override
+    public Flux<Seminar> findByDepartmentAndDateBetween(String department, Range<String> dates) {
+        return query(s -> Objects.equals(s.getDepartment(), department) && InMemoryRepository.within(s.getDate(), dates));
+    }
+
+    @Override
+    public Flux<Seminar> findByStartDateLessThanEqualAndEndDateGreaterThanEqual(String reqEndDate, String reqStartDate) {
+        return query(s -> InMemorySeminarRepository.overlaps(s, reqEndDate, reqStartDate));
+    }
+
+    @Override
+    public Flux<Seminar> findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String hallName, String reqEndDate, String reqStartDate) {
+        return query(s -> Objects.equals(s.getHallName(), hallName) && InMemorySeminarRepository.overlaps(s, reqEndDate, reqStartDate));
+    }
+
+    @Override
+    public Flux<Seminar> findByDepartmentAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String department, String reqEndDate, String reqStartDate) {
+        return query(s -> Objects.equals(s.getDepartment(), department) && InMemorySeminarRepository.overlaps(s, reqEndDate, reqStartDate));
+    }
+
+    // =========================================================================
+    // READS
+    // =========================================================================
+
+    @Override
+    public Flux<Seminar> findAll() {
+        return query(s -> true);
+    }
+
+    @Override
+    public Flux<Seminar> findAll(Sort sort) {
+        return blocking(() -> seminars.findAll(sort)).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Seminar> findById(String id) {
+        return query(s -> Objects.equals(s.getId(), id)).next();
+    }
+
+    @Override
+    public Mono<Seminar> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return findById(id).hasElement();
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Seminar> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Seminar> findAllById(Publisher<String> ids) {
+        return Flux.from(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return query(s -> true).count();
+    }
+
+    // =========================================================================
+    // WRITES (blocking repository on boundedElastic)
+    // =========================================================================
+
+    @Override
+    public <S extends Seminar> Mono<S> save(S entity) {
+        return blocking(() -> seminars.save(entity));
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> saveAll(Iterable<S> entities) {
+        return blocking(() -> seminars.saveAll(entities)).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> saveAll(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Seminar> Mono<S> insert(S entity) {
+        return blocking(() -> seminars.insert(entity));
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> insert(Iterable<S> entities) {
+        return blocking(() -> seminars.insert(entities)).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> insert(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return blocking(() -> { seminars.deleteById(id); return true; }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Seminar entity) {
+        return blocking(() -> { seminars.delete(entity); return true; }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return blocking(() -> { seminars.deleteAllById(ids); return true; }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Seminar> entities) {
+        return blocking(() -> { seminars.deleteAll(entities); return true; }).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Seminar> entities) {
+        return Flux.from(entities).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return blocking(() -> { seminars.deleteAll(); return true; }).then();
+    }
+
+    // =========================================================================
+    // QUERY BY EXAMPLE (blocking repository on boundedElastic)
+    // =========================================================================
+
+    @Override
+    public <S extends Seminar> Mono<S> findOne(Example<S> example) {
+        return blocking(() -> seminars.findOne(example).orElse(null));
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> findAll(Example<S> example) {
+        return blocking(() -> seminars.findAll(example)).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public <S extends Seminar> Flux<S> findAll(Example<S> example, Sort sort) {
+        return blocking(() -> seminars.findAll(example, sort)).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public <S extends Seminar> Mono<Long> count(Example<S> example) {
+        return blocking(() -> seminars.count(example));
+    }
+
+    @Override
+    public <S extends Seminar> Mono<Boolean> exists(Example<S> example) {
+        return blocking(() -> seminars.exists(example));
+    }
+
+    @Override
+    public <S extends Seminar, R, P extends Publisher<R>> P findBy(Example<S> example,
+                                                                    Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        FluentQuery.FetchableFluentQuery<S> query = seminars.findBy(example, Function.identity());
+        return queryFunction.apply(new ReactiveExampleQuery<>(query));
+    }
+
+    // The blocking fluent query of InMemoryRepository; each terminal call runs on boundedElastic
+    private record ReactiveExampleQuery<R>(FluentQuery.FetchableFluentQuery<R> delegate) implements FluentQuery.ReactiveFluentQuery<R> {
+
+        @Override
+        public FluentQuery.ReactiveFluentQuery<R> sortBy(Sort sort) {
+            return new ReactiveExampleQuery<>(delegate.sortBy(sort));
+        }
+
+        @Override
+        public FluentQuery.ReactiveFluentQuery<R> limit(int limit) {
+            return new ReactiveExampleQuery<>(delegate.limit(limit));
+        }
+
+        @Override
+        public <P> FluentQuery.ReactiveFluentQuery<P> as(Class<P> resultType) {
+            return new ReactiveExampleQuery<>(delegate.as(resultType));
+        }
+
+        @Override
+        public FluentQuery.ReactiveFluentQuery<R> project(Collection<String> properties) {
+            return new ReactiveExampleQuery<>(delegate.project(properties));
+        }
+
+        @Override
+        public Mono<R> one() {
+            return blocking(delegate::oneValue);
+        }
+
+        @Override
+        public Mono<R> first() {
+            return blocking(delegate::firstValue);
+        }
+
+        @Override
+        public Flux<R> all() {
+            return blocking(delegate::all).flatMapIterable(Function.identity());
+        }
+
+        @Override
+        public Mono<Page<R>> page(Pageable pageable) {
+            return blocking(() -> delegate.page(pageable));
+        }
+
+        @Override
+        public Mono<Long> count() {
+            return blocking(delegate::count);
+        }
+
+        @Override
+        public Mono<Boolean> exists() {
+            return blocking(delegate::exists);
+        }
+    }
+
+    // =========================================================================
+    // INTERNALS
+    // =========================================================================
+
+    // One simulated round trip on a timer, then the matching documents
+    private Flux<Seminar> query(Predicate<Seminar> filter) {
+        Flux<Seminar> scan = Flux.defer(() -> Flux.fromIterable(seminars.scan(filter)));
+        Duration delay = latency.sample();
+        return delay.isZero() ? scan : Mono.delay(delay).thenMany(scan);
+    }
+
+    private static <R> Mono<R> blocking(Callable<R> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
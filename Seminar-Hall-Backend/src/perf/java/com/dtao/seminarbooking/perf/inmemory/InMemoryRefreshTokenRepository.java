@@ -0,0 +1,49 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.RefreshToken;
+import com.dtao.seminarbooking.repo.RefreshTokenRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Refresh tokens in memory. Rotation stays race-free: markUsedIfActive is a compare-and-set,
+ * so of two concurrent refreshes with the same token exactly one wins, as with Mongo.
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryRefreshTokenRepository extends InMemoryRepository<RefreshToken> implements RefreshTokenRepository {
+
+    public InMemoryRefreshTokenRepository(InMemoryLatency latency) {
+        super(RefreshToken.class, latency);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return one(t -> Objects.equals(t.getTokenHash(), tokenHash));
+    }
+
+    // =========================================================================
+    // RefreshTokenRepositoryCustom
+    // =========================================================================
+
+    @Override
+    public boolean markUsedIfActive(String id, Instant usedAt) {
+        return updateById(id, t -> t.getUsedAt() == null && !t.isRevoked(), t -> t.setUsedAt(usedAt));
+    }
+
+    @Override
+    public long revokeFamily(String familyId) {
+        return update(t -> Objects.equals(t.getFamilyId(), familyId) && !t.isRevoked(), t -> t.setRevoked(true), true);
+    }
+
+    @Override
+    public long revokeAllForUser(String userEmail) {
+        return update(t -> Objects.equals(t.getUserEmail(), userEmail) && !t.isRevoked(), t -> t.setRevoked(true), true);
+    }
+}
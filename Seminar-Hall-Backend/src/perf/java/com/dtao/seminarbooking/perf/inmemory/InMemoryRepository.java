@@ -0,0 +1,583 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.UntypedExampleMatcher;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Map-backed MongoRepository for Mongo-free service testing (Spring profile "inmemory", perf build only).
+ *
+ * Behaves like the Mongo repository as far as the app can tell:
+ * - ids are generated as ObjectId hex strings; save() upserts, insert() fails on an existing id
+ * - entities are copied on the way in and out, so changing a returned object does not change the store
+ *   (the copy is one level deep: top-level lists / sets / maps are copied, their elements are shared)
+ * - unsorted reads come back in _id order (= insertion order for generated ids), sorts put nulls first
+ * - every call pays one simulated round trip ({@link InMemoryLatency})
+ * - query by example matches top-level properties only (see {@link #exampleFilter})
+ */
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    public static final String PROFILE = "inmemory";
+
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final Class<T> type;
+    private final Field idField;
+    private final List<Field> fields = new ArrayList<>();
+    private final InMemoryLatency latency;
+
+    // _id -> document; ObjectId hex strings sort like the ObjectIds themselves
+    protected final ConcurrentSkipListMap<String, T> store = new ConcurrentSkipListMap<>();
+
+    protected InMemoryRepository(Class<T> type, InMemoryLatency latency) {
+        this.type = type;
+        this.latency = latency;
+        Field id = null;
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) continue;
+                ReflectionUtils.makeAccessible(f);
+                fields.add(f);
+                if (f.isAnnotationPresent(Id.class) || (id == null && f.getName().equals("id"))) id = f;
+            }
+        }
+        if (id == null) throw new IllegalArgumentException(type.getSimpleName() + " has no id field");
+        this.idField = id;
+    }
+
+    // =========================================================================
+    // HELPERS FOR THE DERIVED FINDERS
+    // =========================================================================
+
+    /** One round trip, then copies of every document matching the filter, in _id order. */
+    protected List<T> query(Predicate<T> filter) {
+        latency.roundTrip();
+        return scan(filter);
+    }
+
+    /** Copies of every document matching the filter, in _id order, without the round trip (callers simulate their own). */
+    List<T> scan(Predicate<T> filter) {
+        List<T> out = new ArrayList<>();
+        for (T doc : store.values()) {
+            if (filter.test(doc)) out.add(copy(doc));
+        }
+        return out;
+    }
+
+    protected List<T> query(Predicate<T> filter, Sort sort) {
+        List<T> out = query(filter);
+        if (sort.isSorted()) out.sort(comparator(sort));
+        return out;
+    }
+
+    /** Single-result finder: empty, one, or IncorrectResultSizeDataAccessException like Spring Data. */
+    protected Optional<T> one(Predicate<T> filter) {
+        List<T> found = query(filter);
+        if (found.size() > 1) throw new IncorrectResultSizeDataAccessException(1, found.size());
+        return found.stream().findFirst();
+    }
+
+    /** findFirstBy...: the first match in the given order. */
+    protected Optional<T> first(Predicate<T> filter, Sort sort) {
+        return query(filter, sort).stream().findFirst();
+    }
+
+    protected boolean exists(Predicate<T> filter) {
+        latency.roundTrip();
+        for (T doc : store.values()) {
+            if (filter.test(doc)) return true;
+        }
+        return false;
+    }
+
+    protected void roundTrip() {
+        latency.roundTrip();
+    }
+
+    /** Derived IgnoreCase matching is an anchored, case-insensitive regex: equal ignoring case, null never matches. */
+    protected static boolean equalsIgnoreCase(String value, String wanted) {
+        return value != null && wanted != null && value.equalsIgnoreCase(wanted);
+    }
+
+    /**
+     * Derived Between on a plain pair of values is exclusive on both ends ($gt from, $lt to);
+     * a missing / null field never satisfies a comparison.
+     */
+    protected static <C extends Comparable<C>> boolean between(C value, C from, C to) {
+        return value != null && from != null && to != null && value.compareTo(from) > 0 && value.compareTo(to) < 0;
+    }
+
+    // Derived Between with a Range: each bound inclusive or exclusive as given, unbounded ends always match
+    protected static <C extends Comparable<C>> boolean within(C value, Range<C> range) {
+        if (value == null) return false;
+        Range.Bound<C> lower = range.getLowerBound();
+        Range.Bound<C> upper = range.getUpperBound();
+        if (lower.isBounded()) {
+            int c = value.compareTo(lower.getValue().orElseThrow());
+            if (c < 0 || (c == 0 && !lower.isInclusive())) return false;
+        }
+        if (upper.isBounded()) {
+            int c = value.compareTo(upper.getValue().orElseThrow());
+            if (c > 0 || (c == 0 && !upper.isInclusive())) return false;
+        }
+        return true;
+    }
+
+    // =========================================================================
+    // HELPERS FOR THE CUSTOM UPDATES (updateFirst / updateMulti / findAndModify)
+    // =========================================================================
+
+    /** updateFirst / updateMulti: one round trip, returns the number of documents modified. */
+    protected long update(Predicate<T> filter, Consumer<T> change, boolean multi) {
+        latency.roundTrip();
+        long modified = 0;
+        for (String id : store.keySet()) {
+            if (modify(id, filter, change) != null) {
+                modified++;
+                if (!multi) break;
+            }
+        }
+        return modified;
+    }
+
+    /** updateFirst on _id plus a filter: true if the document existed, matched and was modified. */
+    protected boolean updateById(String id, Predicate<T> filter, Consumer<T> change) {
+        latency.roundTrip();
+        return id != null && modify(id, filter, change) != null;
+    }
+
+    /**
+     * Applies the change to a copy of the stored document and swaps it in only if the stored document is
+     * still the one the filter was tested on (re-tests on a lost race), so a single-document update is
+     * atomic like in Mongo. Returns a copy of the new document, or null if it is missing / does not match.
+     */
+    protected T modify(String id, Predicate<T> filter, Consumer<T> change) {
+        while (true) {
+            T current = store.get(id);
+            if (current == null || !filter.test(current)) return null;
+            T next = copy(current);
+            change.accept(next);
+            if (store.replace(id, current, next)) return copy(next);
+        }
+    }
+
+    // =========================================================================
+    // CRUD
+    // =========================================================================
+
+    @Override
+    public <S extends T> S save(S entity) {
+        latency.roundTrip();
+        store.put(ensureId(entity), copy(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        latency.roundTrip();
+        List<S> out = new ArrayList<>();
+        for (S e : entities) {
+            store.put(ensureId(e), copy(e));
+            out.add(e);
+        }
+        return out;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        latency.roundTrip();
+        String id = ensureId(entity);
+        if (store.putIfAbsent(id, copy(entity)) != null) throw duplicate(id);
+        return entity;
+    }
+
+    // Like an ordered insertMany: stops at the first duplicate, earlier documents stay inserted
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        latency.roundTrip();
+        List<S> out = new ArrayList<>();
+        for (S e : entities) {
+            String id = ensureId(e);
+            if (store.putIfAbsent(id, copy(e)) != null) throw duplicate(id);
+            out.add(e);
+        }
+        return out;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        latency.roundTrip();
+        T doc = id == null ? null : store.get(id);
+        return Optional.ofNullable(doc == null ? null : copy(doc));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        latency.roundTrip();
+        return id != null && store.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return query(doc -> true);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return query(doc -> true, sort);
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return pageOf(query(doc -> true, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        latency.roundTrip();
+        List<T> out = new ArrayList<>();
+        for (String id : ids) {
+            T doc = store.get(id);
+            if (doc != null) out.add(copy(doc));
+        }
+        return out;
+    }
+
+    @Override
+    public long count() {
+        latency.roundTrip();
+        return store.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        latency.roundTrip();
+        if (id != null) store.remove(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        latency.roundTrip();
+        for (String id : ids) store.remove(id);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        latency.roundTrip();
+        for (T e : entities) {
+            String id = idOf(e);
+            if (id != null) store.remove(id);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        latency.roundTrip();
+        store.clear();
+    }
+
+    // =========================================================================
+    // QUERY BY EXAMPLE
+    // =========================================================================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        return first(exampleFilter(example), Sort.unsorted()).map(doc -> (S) doc);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return (List<S>) query(exampleFilter(example), sort);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return (Page<S>) pageOf(query(exampleFilter(example), pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        latency.roundTrip();
+        return countMatching(exampleFilter(example));
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return exists(exampleFilter(example));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        Class<S> resultType = (Class<S>) example.getProbeType();
+        return queryFunction.apply(new ExampleQuery<>(exampleFilter(example), Sort.unsorted(), 0, resultType));
+    }
+
+    /**
+     * The example as a filter, following MongoExampleMapper on top-level properties: ignored paths and (by default)
+     * null probe values are skipped, strings match per the property's StringMatcher / ignore case, anything else
+     * (ids, dates, nested objects, lists) by equals. Unless the matcher is untyped, documents must also be
+     * instances of the probe type (Mongo's _class restriction).
+     */
+    private Predicate<T> exampleFilter(Example<? extends T> example) {
+        ExampleMatcherAccessor matcher = new ExampleMatcherAccessor(example.getMatcher());
+        Object probe = example.getProbe();
+        List<Predicate<T>> checks = new ArrayList<>();
+        for (Field f : fields) {
+            String path = f.getName();
+            if (matcher.isIgnoredPath(path)) continue;
+            Object wanted = ReflectionUtils.getField(f, probe);
+            if (matcher.hasPropertySpecifier(path)) {
+                wanted = matcher.getValueTransformerForPath(path).apply(Optional.ofNullable(wanted)).orElse(null);
+            }
+            if (wanted == null) {
+                if (matcher.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    checks.add(doc -> ReflectionUtils.getField(f, doc) == null);
+                }
+            } else if (wanted instanceof String text) {
+                ExampleMatcher.StringMatcher how = matcher.getStringMatcherForPath(path);
+                boolean ignoreCase = matcher.isIgnoreCaseForPath(path);
+                checks.add(doc -> ReflectionUtils.getField(f, doc) instanceof String value && matchesString(value, text, how, ignoreCase));
+            } else {
+                Object expected = wanted;
+                checks.add(doc -> Objects.equals(ReflectionUtils.getField(f, doc), expected));
+            }
+        }
+
+        Predicate<T> properties;
+        if (checks.isEmpty()) properties = doc -> true;
+        else if (example.getMatcher().isAnyMatching()) properties = doc -> checks.stream().anyMatch(c -> c.test(doc));
+        else properties = doc -> checks.stream().allMatch(c -> c.test(doc));
+
+        if (example.getMatcher() instanceof UntypedExampleMatcher) return properties;
+        Class<?> probeType = example.getProbeType();
+        return properties.and(probeType::isInstance);
+    }
+
+    // $regex semantics for REGEX (unanchored), plain string comparison for the others
+    private static boolean matchesString(String value, String wanted, ExampleMatcher.StringMatcher how, boolean ignoreCase) {
+        if (how == ExampleMatcher.StringMatcher.REGEX) {
+            return Pattern.compile(wanted, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher(value).find();
+        }
+        if (ignoreCase) {
+            value = value.toLowerCase(Locale.ROOT);
+            wanted = wanted.toLowerCase(Locale.ROOT);
+        }
+        return switch (how) {
+            case STARTING -> value.startsWith(wanted);
+            case ENDING -> value.endsWith(wanted);
+            case CONTAINING -> value.contains(wanted);
+            default -> value.equals(wanted);
+        };
+    }
+
+    /**
+     * findBy(example, ...): sortBy / limit / as are applied when a terminal method runs. project() only narrows
+     * what Mongo sends back, so whole documents are returned. as() takes the entity type (or a supertype),
+     * an interface projection or a DTO class with a no-arg constructor (filled property by property).
+     */
+    private final class ExampleQuery<R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private final Predicate<T> filter;
+        private final Sort sort;
+        private final int limit; // 0 = no limit
+        private final Class<R> resultType;
+
+        private ExampleQuery(Predicate<T> filter, Sort sort, int limit, Class<R> resultType) {
+            this.filter = filter;
+            this.sort = sort;
+            this.limit = limit;
+            this.resultType = resultType;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(filter, this.sort.and(sort), limit, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            if (limit < 0) throw new IllegalArgumentException("Limit must not be negative");
+            return new ExampleQuery<>(filter, sort, limit, resultType);
+        }
+
+        @Override
+        public <P> FluentQuery.FetchableFluentQuery<P> as(Class<P> resultType) {
+            return new ExampleQuery<>(filter, sort, limit, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public R oneValue() {
+            List<T> found = documents();
+            if (found.size() > 1) throw new IncorrectResultSizeDataAccessException(1, found.size());
+            return found.isEmpty() ? null : convert(found.get(0));
+        }
+
+        @Override
+        public R firstValue() {
+            List<T> found = documents();
+            return found.isEmpty() ? null : convert(found.get(0));
+        }
+
+        @Override
+        public List<R> all() {
+            List<R> out = new ArrayList<>();
+            for (T doc : documents()) out.add(convert(doc));
+            return out;
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            return pageOf(query(filter, sort.and(pageable.getSort())), pageable).map(this::convert);
+        }
+
+        @Override
+        public Stream<R> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            latency.roundTrip();
+            return countMatching(filter);
+        }
+
+        @Override
+        public boolean exists() {
+            return InMemoryRepository.this.exists(filter);
+        }
+
+        private List<T> documents() {
+            List<T> found = query(filter, sort);
+            return limit > 0 && found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+        }
+
+        private R convert(T doc) {
+            if (resultType.isInstance(doc)) return resultType.cast(doc);
+            if (resultType.isInterface()) return PROJECTIONS.createProjection(resultType, doc);
+            R dto = BeanUtils.instantiateClass(resultType);
+            BeanUtils.copyProperties(doc, dto);
+            return dto;
+        }
+    }
+
+    // =========================================================================
+    // INTERNALS
+    // =========================================================================
+
+    private Page<T> pageOf(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) return new PageImpl<>(all, pageable, all.size());
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(new ArrayList<>(all.subList(from, to)), pageable, all.size());
+    }
+
+    private long countMatching(Predicate<T> filter) {
+        long n = 0;
+        for (T doc : store.values()) {
+            if (filter.test(doc)) n++;
+        }
+        return n;
+    }
+
+    private String ensureId(T entity) {
+        String id = idOf(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            ReflectionUtils.setField(idField, entity, id);
+        }
+        return id;
+    }
+
+    private String idOf(T entity) {
+        Object id = ReflectionUtils.getField(idField, entity);
+        return id == null ? null : id.toString();
+    }
+
+    private DuplicateKeyException duplicate(String id) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: " + type.getSimpleName() + " dup key: { _id: \"" + id + "\" }");
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T copy(T source) {
+        T target = (T) BeanUtils.instantiateClass(source.getClass());
+        for (Field f : fields) {
+            Object v = ReflectionUtils.getField(f, source);
+            if (v instanceof List<?> list) v = new ArrayList<>(list);
+            else if (v instanceof Set<?> set) v = new LinkedHashSet<>(set);
+            else if (v instanceof Map<?, ?> map) v = new LinkedHashMap<>(map);
+            else if (v instanceof Collection<?> c) v = new ArrayList<>(c);
+            ReflectionUtils.setField(f, target, v);
+        }
+        return target;
+    }
+
+    // Mongo order: null / missing before any value, "_id" means the id property
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> result = null;
+        for (Sort.Order order : sort) {
+            String property = "_id".equals(order.getProperty()) ? idField.getName() : order.getProperty();
+            Comparator<T> c = Comparator.comparing(
+                    doc -> (Comparable) new BeanWrapperImpl(doc).getPropertyValue(property),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) c = c.reversed();
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result == null ? (a, b) -> 0 : result;
+    }
+}
@@ -0,0 +1,29 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.RevokedToken;
+import com.dtao.seminarbooking.repo.RevokedTokenRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Token revocations in memory. Like the OTP tokens, nothing expires on its own (no TTL index);
+ * findByExpiresAtAfter filters expired entries out, which is all the revocation service relies on.
+ */
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryRevokedTokenRepository extends InMemoryRepository<RevokedToken> implements RevokedTokenRepository {
+
+    public InMemoryRevokedTokenRepository(InMemoryLatency latency) {
+        super(RevokedToken.class, latency);
+    }
+
+    @Override
+    public List<RevokedToken> findByExpiresAtAfter(Instant now) {
+        return query(t -> t.getExpiresAt() != null && now != null && t.getExpiresAt().isAfter(now));
+    }
+}
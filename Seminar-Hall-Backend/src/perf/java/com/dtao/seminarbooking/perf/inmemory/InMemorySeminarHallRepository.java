@@ -0,0 +1,30 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.SeminarHall;
+import com.dtao.seminarbooking.repo.SeminarHallRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemorySeminarHallRepository extends InMemoryRepository<SeminarHall> implements SeminarHallRepository {
+
+    public InMemorySeminarHallRepository(InMemoryLatency latency) {
+        super(SeminarHall.class, latency);
+    }
+
+    @Override
+    public boolean existsByNameIgnoreCase(String name) {
+        return exists(h -> equalsIgnoreCase(h.getName(), name));
+    }
+
+    @Override
+    public Optional<SeminarHall> findFirstByNameIgnoreCase(String name) {
+        return first(h -> equalsIgnoreCase(h.getName(), name), Sort.unsorted());
+    }
+}
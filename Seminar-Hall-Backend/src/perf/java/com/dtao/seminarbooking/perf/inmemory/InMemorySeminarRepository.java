@@ -0,0 +1,92 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Objects;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemorySeminarRepository extends InMemoryRepository<Seminar> implements SeminarRepository {
+
+    public InMemorySeminarRepository(InMemoryLatency latency) {
+        super(Seminar.class, latency);
+    }
+
+    // =========================================================================
+    // 1. BASIC FINDERS
+    // =========================================================================
+
+    @Override
+    public List<Seminar> findByDate(String date) {
+        return query(s -> Objects.equals(s.getDate(), date));
+    }
+
+    @Override
+    public List<Seminar> findByDateAndHallName(String date, String hallName) {
+        return query(s -> Objects.equals(s.getDate(), date) && Objects.equals(s.getHallName(), hallName));
+    }
+
+    @Override
+    public List<Seminar> findByDepartmentAndEmail(String department, String email) {
+        return query(s -> Objects.equals(s.getDepartment(), department) && Objects.equals(s.getEmail(), email));
+    }
+
+    @Override
+    public List<Seminar> findByStatusIgnoreCase(String status) {
+        return query(s -> equalsIgnoreCase(s.getStatus(), status));
+    }
+
+    // =========================================================================
+    // 2. RANGE / OVERLAP FINDERS
+    // =========================================================================
+
+    @Override
+    public List<Seminar> findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String hallName, String reqEndDate, String reqStartDate) {
+        return query(s -> Objects.equals(s.getHallName(), hallName) && overlaps(s, reqEndDate, reqStartDate));
+    }
+
+    @Override
+    public List<Seminar> findByStartDateLessThanEqualAndEndDateGreaterThanEqual(String reqEndDate, String reqStartDate) {
+        return query(s -> overlaps(s, reqEndDate, reqStartDate));
+    }
+
+    // =========================================================================
+    // 3. CALENDAR & REPORTING HELPERS
+    // =========================================================================
+
+    @Override
+    public List<Seminar> findByHallNameAndDateBetween(String hallName, String startRange, String endRange) {
+        return query(s -> Objects.equals(s.getHallName(), hallName) && between(s.getDate(), startRange, endRange));
+    }
+
+    @Override
+    public List<Seminar> findByDateBetween(String startRange, String endRange) {
+        return query(s -> between(s.getDate(), startRange, endRange));
+    }
+
+    // =========================================================================
+    // 4. DEPARTMENT SPECIFIC
+    // =========================================================================
+
+    @Override
+    public List<Seminar> findByDepartmentAndDateBetween(String department, String startDate, String endDate) {
+        return query(s -> Objects.equals(s.getDepartment(), department) && between(s.getDate(), startDate, endDate));
+    }
+
+    @Override
+    public List<Seminar> findByDepartmentAndStartDateLessThanEqualAndEndDateGreaterThanEqual(String department, String endDate, String startDate) {
+        return query(s -> Objects.equals(s.getDepartment(), department) && overlaps(s, endDate, startDate));
+    }
+
+    // startDate <= end AND endDate >= start; documents without a range never match
+    static boolean overlaps(Seminar s, String end, String start) {
+        return s.getStartDate() != null && s.getEndDate() != null && end != null && start != null
+                && s.getStartDate().compareTo(end) <= 0 && s.getEndDate().compareTo(start) >= 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.dtao.seminarbooking.perf.inmemory;
+
+import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.payload.UserSummary;
+import com.dtao.seminarbooking.repo.UserRepository;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+@Primary
+@Profile(InMemoryRepository.PROFILE)
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    public InMemoryUserRepository(InMemoryLatency latency) {
+        super(User.class, latency);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return one(u -> Objects.equals(u.getEmail(), email));
+    }
+
+    @Override
+    public Optional<User> findByEmailAndPassword(String email, String password) {
+        return one(u -> Objects.equals(u.getEmail(), email) && Objects.equals(u.getPassword(), password));
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return one(u -> Objects.equals(u.getPhone(), phone));
+    }
+
+    /** Same contract as UserRepositoryImpl: _id order, optional cursor and case-insensitive search, no password. */
+    @Override
+    public List<UserSummary> findSummaries(String search, String afterId, int limit) {
+        roundTrip();
+        String needle = search == null || search.isBlank() ? null : search.trim().toLowerCase(Locale.ROOT);
+        Iterable<User> candidates = afterId == null || afterId.isBlank() ? store.values() : store.tailMap(afterId, false).values();
+        List<UserSummary> out = new ArrayList<>();
+        for (User u : candidates) {
+            if (limit > 0 && out.size() >= limit) break;
+            if (needle != null && !contains(u.getName(), needle) && !contains(u.getEmail(), needle) && !contains(u.getDepartment(), needle)) {
+                continue;
+            }
+            out.add(summary(u));
+        }
+        return out;
+    }
+
+    private static boolean contains(String value, String lowerNeedle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    private static UserSummary summary(User u) {
+        UserSummary s = new UserSummary();
+        s.setId(u.getId());
+        s.setName(u.getName());
+        s.setDepartment(u.getDepartment());
+        s.setEmail(u.getEmail());
+        s.setPhone(u.getPhone());
+        s.setRole(u.getRole());
+        s.setCreatedBy(u.getCreatedBy());
+        s.setCreatedAt(u.getCreatedAt());
+        s.setActive(u.isActive());
+        return s;
+    }
+}
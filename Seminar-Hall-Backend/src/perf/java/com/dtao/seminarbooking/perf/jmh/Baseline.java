@@ -0,0 +1,307 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.model.Seminar.DaySlot;
+import com.dtao.seminarbooking.payload.CalendarDaySummary;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Frozen copies of the hot paths as they were before any performance work (the first commit of the repo),
+ * run as the "baseline" side of every benchmark. Do not optimize these: they are the reference point.
+ * When a path is reworked again, add the previous version here next to these rather than replacing them.
+ */
+final class Baseline {
+
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final long MAX_BOOKING_DAYS = 7L;
+
+    private Baseline() {}
+
+    // =========================================================================
+    // SeminarService: conflict check
+    // =========================================================================
+
+    static void checkConflicts(SeminarRepository repo, Seminar req, String excludeId) {
+        String hall = req.getHallName();
+        if (hall == null || hall.isBlank()) throw new RuntimeException("Hall name is required.");
+
+        if (req.getDate() != null) {
+            String date = req.getDate();
+            String start = req.getStartTime();
+            String end = req.getEndTime();
+
+            if (!isTimeOrderValid(start, end)) {
+                throw new RuntimeException("Sorry, reverse time not possible.");
+            }
+
+            List<Seminar> conflicts = getSeminarsForDay(repo, date, hall).stream()
+                    .filter(s -> excludeId == null || !s.getId().equals(excludeId))
+                    .collect(Collectors.toList());
+
+            for (Seminar e : conflicts) {
+                if (e.getStartDate() != null) {
+                    if (e.getDaySlots() != null && e.getDaySlots().containsKey(date)) {
+                        DaySlot ds = e.getDaySlots().get(date);
+                        if (isOverlapping(start, end, ds.getStartTime(), ds.getEndTime())) {
+                            throw new RuntimeException("Sorry, this slot is not available.");
+                        }
+                    } else {
+                        throw new RuntimeException("Full day booked, not possible.");
+                    }
+                } else {
+                    if (isOverlapping(start, end, e.getStartTime(), e.getEndTime())) {
+                        throw new RuntimeException("Sorry, this slot is not available.");
+                    }
+                }
+            }
+        }
+
+        if (req.getStartDate() != null && req.getEndDate() != null) {
+            LocalDate sDate = LocalDate.parse(req.getStartDate(), DATE_FMT);
+            LocalDate eDate = LocalDate.parse(req.getEndDate(), DATE_FMT);
+            if (eDate.isBefore(sDate)) throw new RuntimeException("End date cannot be before start date.");
+
+            long days = ChronoUnit.DAYS.between(sDate, eDate) + 1;
+            if (days > MAX_BOOKING_DAYS) throw new RuntimeException("Max booking duration is " + MAX_BOOKING_DAYS + " days.");
+
+            LocalDate curr = sDate;
+            while (!curr.isAfter(eDate)) {
+                String dStr = curr.format(DATE_FMT);
+                List<Seminar> onThisDay = getSeminarsForDay(repo, dStr, hall).stream()
+                        .filter(s -> excludeId == null || !s.getId().equals(excludeId))
+                        .collect(Collectors.toList());
+
+                if (!onThisDay.isEmpty()) {
+                    if (req.getDaySlots() == null || !req.getDaySlots().containsKey(dStr)) {
+                        throw new RuntimeException("These days are already booked, booking not possible.");
+                    } else {
+                        DaySlot reqSlot = req.getDaySlots().get(dStr);
+                        if (!isTimeOrderValid(reqSlot.getStartTime(), reqSlot.getEndTime())) {
+                            throw new RuntimeException("Sorry, reverse time not possible on " + dStr);
+                        }
+                        for (Seminar e : onThisDay) {
+                            String eStart = null, eEnd = null;
+                            if (e.getDate() != null) {
+                                eStart = e.getStartTime(); eEnd = e.getEndTime();
+                            } else if (e.getDaySlots() != null && e.getDaySlots().containsKey(dStr)) {
+                                DaySlot ds = e.getDaySlots().get(dStr);
+                                eStart = ds.getStartTime(); eEnd = ds.getEndTime();
+                            }
+                            if (eStart == null) throw new RuntimeException("These days are already booked, booking not possible.");
+                            if (isOverlapping(reqSlot.getStartTime(), reqSlot.getEndTime(), eStart, eEnd)) {
+                                throw new RuntimeException("Sorry, this slot is not available on " + dStr);
+                            }
+                        }
+                    }
+                }
+                curr = curr.plusDays(1);
+            }
+        }
+    }
+
+    static List<Seminar> getSeminarsForDay(SeminarRepository repo, String date, String hallName) {
+        List<Seminar> timeBased = repo.findByDateAndHallName(date, hallName);
+        List<Seminar> rangeBased = repo.findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(hallName, date, date);
+        Set<Seminar> combined = new HashSet<>(timeBased);
+        combined.addAll(rangeBased);
+        return new ArrayList<>(combined);
+    }
+
+    static boolean isTimeOrderValid(String start, String end) {
+        if (start == null || end == null) return false;
+        return toMinutes(end) > toMinutes(start);
+    }
+
+    static boolean isOverlapping(String s1, String e1, String s2, String e2) {
+        if (s1 == null || e1 == null || s2 == null || e2 == null) return true;
+        int start1 = toMinutes(s1);
+        int end1 = toMinutes(e1);
+        int start2 = toMinutes(s2);
+        int end2 = toMinutes(e2);
+        return start1 < end2 && start2 < end1;
+    }
+
+    static int toMinutes(String hhmm) {
+        String[] parts = hhmm.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+
+    // =========================================================================
+    // SeminarService: calendar month summary
+    // =========================================================================
+
+    static List<CalendarDaySummary> calendarMonthSummary(SeminarRepository repo, String hallName, int year, int month) {
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+        String startStr = start.format(DATE_FMT);
+        String endStr = end.format(DATE_FMT);
+
+        Map<LocalDate, Integer> counts = new HashMap<>();
+        String hallNorm = (hallName == null || hallName.isBlank()) ? null : hallName.trim();
+
+        List<Seminar> timeBookings;
+        if (hallNorm != null) timeBookings = repo.findByHallNameAndDateBetween(hallNorm, startStr, endStr);
+        else timeBookings = repo.findByDateBetween(startStr, endStr);
+
+        for (Seminar s : timeBookings) {
+            if (s.getDate() != null) {
+                try {
+                    LocalDate d = LocalDate.parse(s.getDate(), DATE_FMT);
+                    counts.put(d, counts.getOrDefault(d, 0) + 1);
+                } catch (Exception e) {}
+            }
+        }
+
+        List<Seminar> rangeBookings;
+        if (hallNorm != null) rangeBookings = repo.findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual(hallNorm, endStr, startStr);
+        else rangeBookings = repo.findByStartDateLessThanEqualAndEndDateGreaterThanEqual(endStr, startStr);
+
+        for (Seminar s : rangeBookings) {
+            try {
+                LocalDate sd = LocalDate.parse(s.getStartDate(), DATE_FMT);
+                LocalDate ed = LocalDate.parse(s.getEndDate(), DATE_FMT);
+                LocalDate curr = sd.isBefore(start) ? start : sd;
+                LocalDate limit = ed.isAfter(end) ? end : ed;
+                while (!curr.isAfter(limit)) {
+                    counts.put(curr, counts.getOrDefault(curr, 0) + 1);
+                    curr = curr.plusDays(1);
+                }
+            } catch (Exception e) {}
+        }
+
+        List<CalendarDaySummary> result = new ArrayList<>();
+        LocalDate cursor = start;
+        while (!cursor.isAfter(end)) {
+            int c = counts.getOrDefault(cursor, 0);
+            result.add(new CalendarDaySummary(cursor, c == 0, c));
+            cursor = cursor.plusDays(1);
+        }
+        return result;
+    }
+
+    // =========================================================================
+    // JwtTokenProvider: key derived and parser built on every call
+    // =========================================================================
+
+    static Claims jwtClaims(String secret, String issuer, String audience, String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(jwtSigningKey(secret))
+                .requireAudience(audience)
+                .requireIssuer(issuer)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static SecretKey jwtSigningKey(String secret) {
+        try {
+            byte[] keyBytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                keyBytes = sha256.digest(keyBytes);
+            }
+            return Keys.hmacShaKeyFor(keyBytes);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unable to build JWT signing key", ex);
+        }
+    }
+
+    // =========================================================================
+    // EmailService: booking-created body built by string concatenation
+    // =========================================================================
+
+    private static final String SENDER_NAME = "Venue Booking System";
+
+    static String bookingCreatedHtml(Seminar s, String websiteUrl) {
+        boolean isApproved = "APPROVED".equalsIgnoreCase(s.getStatus()) || "ADMIN".equalsIgnoreCase(s.getCreatedBy());
+
+        StringBuilder html = new StringBuilder();
+        html.append("<html><body style='font-family:Arial,Helvetica,sans-serif;padding:14px;color:#111'>")
+                .append("<div style='max-width:720px;margin:0 auto;border:1px solid #eaeaea;padding:16px;border-radius:8px;background:#fff'>");
+
+        if (isApproved) {
+            html.append("<div style='background:#e9f7ef;border:1px solid #c7efd3;padding:10px;border-radius:6px;margin-bottom:12px'>")
+                    .append("<strong style='color:#2f8a4b'>Approved by Administrator</strong>")
+                    .append("<div style='font-size:13px;color:#444;margin-top:6px'>Your booking has been approved.</div>")
+                    .append("</div>");
+        }
+
+        html.append("<h2 style='color:#0b5ed7;margin-top:0;'>Seminar Booking Received</h2>")
+                .append("<p>Dear ").append(escape(s.getBookingName() == null ? "User" : s.getBookingName())).append(",</p>")
+                .append("<p>Your booking request has been successfully received.</p>")
+                .append("<table style='width:100%;border-collapse:collapse;margin-top:10px;'>")
+                .append(rowTd("Hall", safe(s.getHallName())))
+                .append(rowTd("Event", safe(s.getSlotTitle())))
+                .append(dateAndTimesRows(s))
+                .append(rowTd("Department", safe(s.getDepartment())))
+                .append(rowTd("Contact", safe(s.getPhone())))
+                .append(rowTd("Email", safe(s.getEmail())))
+                .append("</table>");
+
+        if (isApproved)
+            html.append("<p style='margin-top:12px;color:#333'>Status: <strong style='color:green'>APPROVED</strong></p>");
+        else
+            html.append("<p style='margin-top:12px;color:#333'>Our admin team will review this request.</p>");
+
+        html.append(footerHtml(websiteUrl)).append("</div></body></html>");
+        return html.toString();
+    }
+
+    private static String dateAndTimesRows(Seminar s) {
+        StringBuilder sb = new StringBuilder();
+        if (s.getStartDate() != null && s.getEndDate() != null) {
+            sb.append(rowTd("From Date", safe(s.getStartDate())));
+            sb.append(rowTd("To Date", safe(s.getEndDate())));
+            if (s.getDaySlots() != null && !s.getDaySlots().isEmpty()) {
+                sb.append(rowTd("Time", "Multi-day (See details in portal)"));
+            } else {
+                sb.append(rowTd("Time", "Full Day"));
+            }
+        } else {
+            sb.append(rowTd("Date", safe(s.getDate())));
+            if (s.getStartTime() != null && s.getEndTime() != null) {
+                sb.append(rowTd("Time", safe(s.getStartTime()) + " — " + safe(s.getEndTime())));
+            } else {
+                sb.append(rowTd("Time", "Full Day"));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String rowTd(String key, String value) {
+        return "<tr><td style='padding:6px;border:1px solid #f0f0f0;width:30%'><strong>" + escape(key) + "</strong></td>" +
+                "<td style='padding:6px;border:1px solid #f0f0f0'>" + escape(value) + "</td></tr>";
+    }
+
+    private static String footerHtml(String websiteUrl) {
+        return "<hr style='border:none;border-top:1px solid #eee'/>" +
+                "<p style='font-size:13px;color:#666'>" + SENDER_NAME + "<br/>" +
+                "Visit: <a href='" + websiteUrl + "'>" + websiteUrl + "</a></p>";
+    }
+
+    private static String safe(String s) {
+        return s == null || s.isBlank() ? "—" : s;
+    }
+
+    private static String escape(String s) {
+        if (s == null) return "";
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
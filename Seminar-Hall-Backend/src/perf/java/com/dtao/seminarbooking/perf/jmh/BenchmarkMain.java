@@ -0,0 +1,46 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Runs the JMH benchmarks in this package from the perf profile:
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.jmh.BenchmarkMain
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.jmh.BenchmarkMain \
+ *     -Dexec.args="Conflict -prof gc -rf json -rff target/jmh-conflict.json"
+ *
+ * Arguments are plain JMH options (a regex selects benchmarks, -h lists them). Each benchmark has a
+ * "baseline" method running the implementation it is compared against, so a JSON result file per change
+ * gives both sides of the comparison; keep the files to track regressions over time.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        // exec:java runs us in a class loader of its own; forked benchmark JVMs need that class path
+        System.setProperty("java.class.path", classPath());
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    private static String classPath() throws URISyntaxException {
+        Set<String> entries = new LinkedHashSet<>();
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        while (cl != null) {
+            if (cl instanceof URLClassLoader ucl) {
+                for (URL url : ucl.getURLs()) {
+                    if ("file".equals(url.getProtocol())) entries.add(Path.of(url.toURI()).toString());
+                }
+            }
+            cl = cl.getParent();
+        }
+        for (String e : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+            if (!e.isBlank()) entries.add(e);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+}
@@ -0,0 +1,177 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.model.Seminar.DaySlot;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import com.dtao.seminarbooking.service.DepartmentService;
+import com.dtao.seminarbooking.service.SeminarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic bookings for the JMH benchmarks, served through a SeminarRepository stand-in that answers the
+ * finder methods from precomputed maps (like indexed queries), so the measured time is the service logic.
+ *
+ * Layout (fixed seed): HALLS halls over DAYS days from FIRST_DAY. Time-wise bookings fall between 08:00 and
+ * 17:00; one booking in ten is a 2-4 day range with 08:00-12:00 slots. Nothing is booked after 18:00.
+ */
+final class BookingFixtures {
+
+    static final int HALLS = 10;
+    static final int DAYS = 90;
+    static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+    static final String[] DEPARTMENTS = {"CSE", "ECE", "MECH", "CIVIL", "MBA", "MCA"};
+
+    final List<Seminar> all = new ArrayList<>();
+    private final Map<String, List<Seminar>> timeWiseByHallDay = new HashMap<>();
+    private final Map<String, List<Seminar>> rangesByHall = new HashMap<>();
+    final SeminarRepository repository;
+
+    BookingFixtures(int bookings) {
+        Random rnd = new Random(42);
+        for (int i = 0; i < bookings; i++) {
+            String hall = hall(rnd.nextInt(HALLS));
+            LocalDate day = FIRST_DAY.plusDays(rnd.nextInt(DAYS));
+            Seminar s = new Seminar();
+            s.setId("s" + i);
+            s.setHallName(hall);
+            s.setDepartment(DEPARTMENTS[rnd.nextInt(DEPARTMENTS.length)]);
+            s.setEmail("faculty" + (i % 200) + "@newhorizonindia.edu");
+            s.setStatus("APPROVED");
+            if (i % 10 == 9) {
+                LocalDate last = day.plusDays(1 + rnd.nextInt(3));
+                s.setSlot("DayRange");
+                s.setStartDate(day.toString());
+                s.setEndDate(last.toString());
+                Map<String, DaySlot> slots = new LinkedHashMap<>();
+                for (LocalDate d = day; !d.isAfter(last); d = d.plusDays(1)) {
+                    slots.put(d.toString(), new DaySlot("08:00", "12:00"));
+                }
+                s.setDaySlots(slots);
+                rangesByHall.computeIfAbsent(hall, k -> new ArrayList<>()).add(s);
+            } else {
+                int startHour = 8 + rnd.nextInt(8);
+                s.setSlot("Custom");
+                s.setDate(day.toString());
+                s.setStartTime(hhmm(startHour, rnd.nextBoolean() ? 0 : 30));
+                s.setEndTime(hhmm(startHour + 1, rnd.nextBoolean() ? 0 : 30));
+                timeWiseByHallDay.computeIfAbsent(hall + "|" + s.getDate(), k -> new ArrayList<>()).add(s);
+            }
+            all.add(s);
+        }
+        repository = repositoryStandIn();
+    }
+
+    static String hall(int i) {
+        return "Hall " + (char) ('A' + i);
+    }
+
+    static String hhmm(int h, int m) {
+        return (h < 10 ? "0" : "") + h + ":" + (m < 10 ? "0" : "") + m;
+    }
+
+    /** The day (within the dataset) with the most time-wise bookings in the given hall. */
+    String busiestDay(String hall) {
+        String best = FIRST_DAY.toString();
+        int max = -1;
+        for (int d = 0; d < DAYS; d++) {
+            String day = FIRST_DAY.plusDays(d).toString();
+            int n = timeWiseByHallDay.getOrDefault(hall + "|" + day, List.of()).size();
+            if (n > max) { max = n; best = day; }
+        }
+        return best;
+    }
+
+    SeminarService seminarService(MeterRegistry registry) {
+        SeminarService service = new SeminarService();
+        ReflectionTestUtils.setField(service, "seminarRepository", repository);
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        return service;
+    }
+
+    DepartmentService departmentService(MeterRegistry registry) {
+        DepartmentService service = new DepartmentService();
+        ReflectionTestUtils.setField(service, "seminarRepository", repository);
+        ReflectionTestUtils.setField(service, "meterRegistry", registry);
+        return service;
+    }
+
+    static MeterRegistry registry() {
+        return new SimpleMeterRegistry();
+    }
+
+    // =========================================================================
+    // REPOSITORY STAND-IN
+    // =========================================================================
+
+    private SeminarRepository repositoryStandIn() {
+        return (SeminarRepository) Proxy.newProxyInstance(SeminarRepository.class.getClassLoader(),
+                new Class<?>[]{SeminarRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new ArrayList<>(all);
+                    case "findByDateAndHallName" -> copy(timeWiseByHallDay.get(args[1] + "|" + args[0]));
+                    case "findByHallNameAndStartDateLessThanEqualAndEndDateGreaterThanEqual" ->
+                            overlapping(rangesByHall.get((String) args[0]), (String) args[1], (String) args[2]);
+                    case "findByStartDateLessThanEqualAndEndDateGreaterThanEqual" -> {
+                        List<Seminar> out = new ArrayList<>();
+                        for (List<Seminar> hallRanges : rangesByHall.values()) {
+                            out.addAll(overlapping(hallRanges, (String) args[0], (String) args[1]));
+                        }
+                        yield out;
+                    }
+                    case "findByHallNameAndDateBetween" -> between(args[0], (String) args[1], (String) args[2]);
+                    case "findByDateBetween" -> between(null, (String) args[0], (String) args[1]);
+                    case "findByDepartmentAndDateBetween" -> {
+                        List<Seminar> out = new ArrayList<>();
+                        for (Seminar s : all) {
+                            if (s.getDate() != null && args[0].equals(s.getDepartment())
+                                    && s.getDate().compareTo((String) args[1]) >= 0 && s.getDate().compareTo((String) args[2]) <= 0) {
+                                out.add(s);
+                            }
+                        }
+                        yield out;
+                    }
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BookingFixtures.repository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<Seminar> copy(List<Seminar> list) {
+        return list == null ? new ArrayList<>() : new ArrayList<>(list);
+    }
+
+    // startDate <= endInclusive && endDate >= startInclusive
+    private static List<Seminar> overlapping(List<Seminar> ranges, String endInclusive, String startInclusive) {
+        List<Seminar> out = new ArrayList<>();
+        if (ranges == null) return out;
+        for (Seminar s : ranges) {
+            if (s.getStartDate().compareTo(endInclusive) <= 0 && s.getEndDate().compareTo(startInclusive) >= 0) out.add(s);
+        }
+        return out;
+    }
+
+    private List<Seminar> between(Object hall, String from, String to) {
+        List<Seminar> out = new ArrayList<>();
+        for (Map.Entry<String, List<Seminar>> e : timeWiseByHallDay.entrySet()) {
+            for (Seminar s : e.getValue()) {
+                if ((hall == null || hall.equals(s.getHallName()))
+                        && s.getDate().compareTo(from) >= 0 && s.getDate().compareTo(to) <= 0) {
+                    out.add(s);
+                }
+            }
+        }
+        return out;
+    }
+}
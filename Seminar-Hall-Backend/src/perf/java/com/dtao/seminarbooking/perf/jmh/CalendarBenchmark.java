@@ -0,0 +1,84 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.controller.SeminarController;
+import com.dtao.seminarbooking.payload.CalendarDaySummary;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import com.dtao.seminarbooking.service.DepartmentService;
+import com.dtao.seminarbooking.service.SeminarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month calendar aggregation (February 2026, inside the dataset):
+ * - summary / baseline: SeminarService.getCalendarMonthSummary vs. {@link Baseline}, for one hall or all halls
+ * - controller: GET /api/seminars/calendar, which scans every booking (getAllSeminars) per call
+ * - department: DepartmentService.getDepartmentCalendar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalendarBenchmark {
+
+    private static final int YEAR = 2026;
+    private static final int MONTH = 2;
+
+    @Param({"900", "9000", "45000"})
+    public int bookings;
+
+    @Param({"hall", "all"})
+    public String scope;
+
+    private SeminarRepository repository;
+    private SeminarService seminarService;
+    private DepartmentService departmentService;
+    private SeminarController controller;
+    private String hallName;
+
+    @Setup
+    public void setup() {
+        BookingFixtures data = new BookingFixtures(bookings);
+        MeterRegistry registry = BookingFixtures.registry();
+        repository = data.repository;
+        seminarService = data.seminarService(registry);
+        departmentService = data.departmentService(registry);
+        // Log service and event publisher are not used by the calendar endpoint
+        controller = new SeminarController(seminarService, null, null, registry);
+        hallName = "hall".equals(scope) ? BookingFixtures.hall(0) : null;
+    }
+
+    @Benchmark
+    public List<CalendarDaySummary> summary() {
+        return seminarService.getCalendarMonthSummary(hallName, YEAR, MONTH);
+    }
+
+    @Benchmark
+    public List<CalendarDaySummary> baseline() {
+        return Baseline.calendarMonthSummary(repository, hallName, YEAR, MONTH);
+    }
+
+    @Benchmark
+    public Object controller() {
+        return controller.getCalendarMonthSummary(hallName, YEAR, MONTH).getBody();
+    }
+
+    @Benchmark
+    public List<CalendarDaySummary> department() {
+        return departmentService.getDepartmentCalendar(BookingFixtures.DEPARTMENTS[0], YEAR, MONTH);
+    }
+}
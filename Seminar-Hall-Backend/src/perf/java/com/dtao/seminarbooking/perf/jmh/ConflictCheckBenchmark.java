@@ -0,0 +1,118 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.model.Seminar.DaySlot;
+import com.dtao.seminarbooking.repo.SeminarRepository;
+import com.dtao.seminarbooking.service.SeminarService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SeminarService conflict check (the private checkConflictsInternal, metrics/JFR included) vs. {@link Baseline}.
+ *
+ * bookings: dataset size over 10 halls x 90 days, i.e. about 1, 10 and 50 bookings per hall and day.
+ * kind:     a single time-wise slot on the busiest day, or a 7-day range with a slot on every day.
+ * outcome:  ok (evening slot, every candidate is compared) or rejected (overlaps / full day, exception path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+    private static final MethodHandle CHECK_CONFLICTS;
+
+    static {
+        try {
+            CHECK_CONFLICTS = MethodHandles.privateLookupIn(SeminarService.class, MethodHandles.lookup())
+                    .findVirtual(SeminarService.class, "checkConflictsInternal",
+                            MethodType.methodType(void.class, Seminar.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"900", "9000", "45000"})
+    public int bookings;
+
+    @Param({"time-wise", "day-range"})
+    public String kind;
+
+    @Param({"ok", "rejected"})
+    public String outcome;
+
+    private SeminarRepository repository;
+    private SeminarService service;
+    private Seminar request;
+
+    @Setup
+    public void setup() throws Throwable {
+        BookingFixtures data = new BookingFixtures(bookings);
+        repository = data.repository;
+        service = data.seminarService(BookingFixtures.registry());
+
+        String hall = BookingFixtures.hall(0);
+        String day = data.busiestDay(hall);
+        boolean ok = "ok".equals(outcome);
+        request = new Seminar();
+        request.setHallName(hall);
+        if ("time-wise".equals(kind)) {
+            request.setDate(day);
+            request.setStartTime(ok ? "18:30" : "08:00");
+            request.setEndTime(ok ? "19:30" : "20:00");
+        } else {
+            LocalDate first = LocalDate.parse(day);
+            request.setStartDate(first.toString());
+            request.setEndDate(first.plusDays(6).toString());
+            if (ok) {
+                Map<String, DaySlot> slots = new LinkedHashMap<>();
+                for (int i = 0; i < 7; i++) slots.put(first.plusDays(i).toString(), new DaySlot("18:30", "19:30"));
+                request.setDaySlots(slots);
+            }
+        }
+        // Fail fast if the scenario does not do what its name says
+        if (current() == ok || baseline() == ok) {
+            throw new IllegalStateException("Scenario " + kind + "/" + outcome + " gives the wrong result");
+        }
+    }
+
+    /** Returns true when the request was rejected. */
+    @Benchmark
+    public boolean current() throws Throwable {
+        try {
+            CHECK_CONFLICTS.invokeExact(service, request, (String) null);
+            return false;
+        } catch (RuntimeException ex) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean baseline() {
+        try {
+            Baseline.checkConflicts(repository, request, null);
+            return false;
+        } catch (RuntimeException ex) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.model.Seminar;
+import com.dtao.seminarbooking.service.EmailOutboxService;
+import com.dtao.seminarbooking.service.EmailService;
+import com.dtao.seminarbooking.service.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking-created email body:
+ * - render: EmailTemplateEngine with a model shaped like the one EmailService builds (rows through the row template)
+ * - sendBookingCreated: the whole EmailService call up to the outbox (render + idempotency hash); the outbox
+ *   is replaced by a stand-in that keeps the body
+ * - baseline: the old string-concatenation version ({@link Baseline})
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderBenchmark {
+
+    private static final String WEBSITE = "https://seminar.example.edu";
+
+    @Param({"time-wise", "day-range"})
+    public String kind;
+
+    private EmailTemplateEngine templates;
+    private EmailService emailService;
+    private CapturingOutbox outbox;
+    private Seminar seminar;
+
+    @Setup
+    public void setup() {
+        templates = new EmailTemplateEngine(WEBSITE, "Venue Booking System");
+        outbox = new CapturingOutbox();
+        emailService = new EmailService(outbox, templates);
+        ReflectionTestUtils.setField(emailService, "dedupeWindowSeconds", 60L);
+
+        seminar = new Seminar();
+        seminar.setHallName("Hall A");
+        seminar.setBookingName("Dr. R. Sharma & Team");
+        seminar.setSlotTitle("Workshop on <Distributed> Systems");
+        seminar.setDepartment("CSE");
+        seminar.setPhone("9876543210");
+        seminar.setEmail("faculty1@newhorizonindia.edu");
+        seminar.setStatus("APPROVED");
+        if ("time-wise".equals(kind)) {
+            seminar.setDate("2026-02-10");
+            seminar.setStartTime("10:00");
+            seminar.setEndTime("12:30");
+        } else {
+            seminar.setStartDate("2026-02-10");
+            seminar.setEndDate("2026-02-12");
+        }
+    }
+
+    @Benchmark
+    public String render() {
+        StringBuilder rows = new StringBuilder(1024);
+        row(rows, "Hall", seminar.getHallName());
+        row(rows, "Event", seminar.getSlotTitle());
+        if (seminar.getStartDate() != null) {
+            row(rows, "From Date", seminar.getStartDate());
+            row(rows, "To Date", seminar.getEndDate());
+            row(rows, "Time", "Full Day");
+        } else {
+            row(rows, "Date", seminar.getDate());
+            row(rows, "Time", seminar.getStartTime() + " — " + seminar.getEndTime());
+        }
+        row(rows, "Department", seminar.getDepartment());
+        row(rows, "Contact", seminar.getPhone());
+        row(rows, "Email", seminar.getEmail());
+        return templates.render(EmailTemplateEngine.BOOKING_CREATED, Map.of(
+                "banner", "",
+                "name", seminar.getBookingName(),
+                "rows", rows.toString(),
+                "closing", ""));
+    }
+
+    @Benchmark
+    public String sendBookingCreated() {
+        emailService.sendBookingCreatedEmail(seminar);
+        return outbox.lastBody;
+    }
+
+    @Benchmark
+    public String baseline() {
+        return Baseline.bookingCreatedHtml(seminar, WEBSITE);
+    }
+
+    private void row(StringBuilder rows, String key, String value) {
+        templates.append(rows, EmailTemplateEngine.ROW, Map.of("key", key, "value", value));
+    }
+
+    static final class CapturingOutbox extends EmailOutboxService {
+        String lastBody;
+
+        CapturingOutbox() {
+            super(null);
+        }
+
+        @Override
+        public boolean enqueue(String idempotencyKey, String template, String to, String subject, String htmlBody) {
+            lastBody = htmlBody;
+            return true;
+        }
+    }
+}
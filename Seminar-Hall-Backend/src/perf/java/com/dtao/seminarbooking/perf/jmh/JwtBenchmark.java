@@ -0,0 +1,91 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.security.JwtTokenProvider;
+import com.dtao.seminarbooking.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider on the auth path:
+ * - parseValidClaims / validateToken / parseTampered: single calls (tampered = bad signature)
+ * - filterPath: what JwtAuthenticationFilter does per request now (one parse + revocation check)
+ * - baseline: one parse with the key derived every call ({@link Baseline})
+ * - baselineFilterPath: what the filter used to do (validateToken, then getUsernameFromToken: two parses)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256";
+    private static final String ISSUER = "dtao-seminar-backend";
+    private static final String AUDIENCE = "dtao-seminar-frontend";
+
+    private JwtTokenProvider provider;
+    private TokenRevocationService revocation;
+    private String token;
+    private String tampered;
+
+    @Setup
+    public void setup() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "issuer", ISSUER);
+        ReflectionTestUtils.setField(provider, "audience", AUDIENCE);
+        // Empty revocation list: every check is a Bloom filter miss, the common case (no repository access)
+        revocation = new TokenRevocationService(null, 100_000, 0.01);
+
+        token = provider.generateToken(new UsernamePasswordAuthenticationToken("faculty1@newhorizonindia.edu", null), false, "DEPARTMENT");
+        char last = token.charAt(token.length() - 1);
+        tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public Claims parseValidClaims() {
+        return provider.parseValidClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims parseTampered() {
+        return provider.parseValidClaims(tampered);
+    }
+
+    @Benchmark
+    public boolean filterPath() {
+        Claims claims = provider.parseValidClaims(token);
+        return claims != null && !revocation.isRevoked(claims);
+    }
+
+    @Benchmark
+    public Claims baseline() {
+        return Baseline.jwtClaims(SECRET, ISSUER, AUDIENCE, token);
+    }
+
+    @Benchmark
+    public String baselineFilterPath() {
+        Baseline.jwtClaims(SECRET, ISSUER, AUDIENCE, token);
+        return Baseline.jwtClaims(SECRET, ISSUER, AUDIENCE, token).getSubject();
+    }
+}
@@ -0,0 +1,81 @@
+package com.dtao.seminarbooking.perf.jmh;
+
+import com.dtao.seminarbooking.service.SeminarService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SeminarService.toMinutes / isOverlapping (private, reached through method handles) vs. {@link Baseline}.
+ * Inputs rotate over a small table so the JIT cannot fold them into constants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeMathBenchmark {
+
+    private static final String[] TIMES = {"08:00", "09:30", "10:15", "11:45", "13:00", "14:30", "16:00", "17:45"};
+
+    // static final so the JIT can inline through the handles
+    private static final MethodHandle TO_MINUTES;
+    private static final MethodHandle IS_OVERLAPPING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(SeminarService.class, MethodHandles.lookup());
+            TO_MINUTES = lookup.findVirtual(SeminarService.class, "toMinutes",
+                    MethodType.methodType(int.class, String.class));
+            IS_OVERLAPPING = lookup.findVirtual(SeminarService.class, "isOverlapping",
+                    MethodType.methodType(boolean.class, String.class, String.class, String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private SeminarService service;
+    private int i;
+
+    @Setup
+    public void setup() {
+        service = new BookingFixtures(0).seminarService(BookingFixtures.registry());
+    }
+
+    private String next() {
+        return TIMES[i++ & (TIMES.length - 1)];
+    }
+
+    @Benchmark
+    public int toMinutes() throws Throwable {
+        return (int) TO_MINUTES.invokeExact(service, next());
+    }
+
+    @Benchmark
+    public int toMinutesBaseline() {
+        return Baseline.toMinutes(next());
+    }
+
+    @Benchmark
+    public boolean isOverlapping() throws Throwable {
+        return (boolean) IS_OVERLAPPING.invokeExact(service, next(), next(), next(), next());
+    }
+
+    @Benchmark
+    public boolean isOverlappingBaseline() {
+        return Baseline.isOverlapping(next(), next(), next(), next());
+    }
+}
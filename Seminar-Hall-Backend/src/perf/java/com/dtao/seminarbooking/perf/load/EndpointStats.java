@@ -0,0 +1,54 @@
+package com.dtao.seminarbooking.perf.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and outcome counts for one endpoint.
+ * ok = 2xx, rejected = 4xx (e.g. a booking conflict - expected under load), error = 5xx / no response.
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencyUs = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+        latencyUs.setAutoResize(true);
+    }
+
+    String getName() { return name; }
+    long getOk() { return ok.sum(); }
+    long getRejected() { return rejected.sum(); }
+    long getErrors() { return errors.sum(); }
+    long getCount() { return latencyUs.getTotalCount(); }
+
+    void record(long latencyNanos, int status) {
+        latencyUs.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (status >= 200 && status < 300) ok.increment();
+        else if (status >= 400 && status < 500) rejected.increment();
+        else errors.increment();
+    }
+
+    /** Drops everything recorded so far (end of warmup). */
+    void reset() {
+        latencyUs.reset();
+        ok.reset();
+        rejected.reset();
+        errors.reset();
+    }
+
+    /** Latency at the given percentile, in milliseconds. */
+    double percentileMs(double percentile) {
+        return latencyUs.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    double maxMs() {
+        return latencyUs.getMaxValue() / 1_000.0;
+    }
+}
@@ -0,0 +1,312 @@
+package com.dtao.seminarbooking.perf.load;
+
+import com.dtao.seminarbooking.model.SeminarHall;
+import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.perf.LocalSmtpSink;
+import com.dtao.seminarbooking.perf.PerfApp;
+import com.dtao.seminarbooking.perf.data.DatasetGenerator;
+import com.dtao.seminarbooking.perf.data.DatasetGenerator.Dataset;
+import com.dtao.seminarbooking.perf.data.DatasetSpec;
+import com.dtao.seminarbooking.perf.data.DatasetWriter;
+import com.dtao.seminarbooking.perf.inmemory.InMemoryRepository;
+import com.dtao.seminarbooking.service.BookingChangeFeed;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fan-out test for the non-blocking reads: boots the app like {@link LoadTest}, opens many clients that wait for
+ * booking changes (SSE streams on /api/reactive/seminars/stream and long polls on /api/reactive/seminars/changes),
+ * posts bookings through the blocking /api/seminars endpoint and measures how long each change takes to reach
+ * every client, and how many server threads that takes.
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.load.FanOutTest
+ *
+ * System properties (defaults in brackets): fanout.streams [1000], fanout.pollers [1000], fanout.bookings [100],
+ * fanout.rate [10] bookings per second, fanout.wait-ms [20000] long-poll wait, fanout.settle-s [15] time allowed
+ * for the last deliveries, data.* (dataset, see {@link DatasetSpec}). SSE streams reconnect with Last-Event-ID when
+ * the server closes them (app.reactive.stream.max-age-ms), so runs longer than that also exercise resuming.
+ * On a 1-2 CPU machine also set MAVEN_OPTS=-Djava.util.concurrent.ForkJoinPool.common.parallelism=4: below 2 the
+ * JDK HttpClient's async completions start a new thread each, which swamps the thread counts reported here.
+ */
+public class FanOutTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Histogram streamLatencyUs = new ConcurrentHistogram(3);
+    private static final Histogram pollLatencyUs = new ConcurrentHistogram(3);
+    private static final LongAdder streamDelivered = new LongAdder();
+    private static final LongAdder pollDelivered = new LongAdder();
+    private static final LongAdder reconnects = new LongAdder();
+    private static final LongAdder errors = new LongAdder();
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        int streams = Integer.getInteger("fanout.streams", 1_000);
+        int pollers = Integer.getInteger("fanout.pollers", 1_000);
+        int bookings = Integer.getInteger("fanout.bookings", 100);
+        double rate = Double.parseDouble(System.getProperty("fanout.rate", "10"));
+        long waitMs = Long.getLong("fanout.wait-ms", 20_000);
+        int settleS = Integer.getInteger("fanout.settle-s", 15);
+        streamLatencyUs.setAutoResize(true);
+        pollLatencyUs.setAutoResize(true);
+
+        try (LocalSmtpSink sink = new LocalSmtpSink(0)) {
+            ConfigurableApplicationContext ctx = start(sink.getPort());
+            try {
+                String base = "http://127.0.0.1:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+                LoadClient client = new LoadClient(base, Duration.ofSeconds(30));
+
+                // ----- data + accounts -----
+                DatasetSpec spec = DatasetSpec.fromSystemProperties();
+                Dataset data = DatasetGenerator.generate(spec);
+                new DatasetWriter(ctx, Integer.getInteger("data.batch-size", 5_000)).write(data, true);
+                User booker = data.departmentUsers().get(0);
+                String token = login(client, booker.getEmail());
+                List<String> halls = data.halls().stream().map(SeminarHall::getName).toList();
+
+                System.out.printf("Fan-out: %d SSE streams, %d long pollers, %d bookings at %.1f/s%n", streams, pollers, bookings, rate);
+                System.out.printf("Data: %d seminars, reactive reads: listing %d, calendar %d days, day view %d%n",
+                        data.seminars().size(),
+                        client.get("GET /api/reactive/seminars", "/api/reactive/seminars?status=APPROVED", token).body().size(),
+                        client.get("GET /api/reactive/seminars/calendar", "/api/reactive/seminars/calendar?year="
+                                + spec.from().getYear() + "&month=3", token).body().size(),
+                        client.get("GET /api/reactive/seminars/day", "/api/reactive/seminars/day/" + spec.from().plusDays(60), token).body().size());
+
+                // ----- clients -----
+                // An explicit executor: with a single CPU CompletableFuture would otherwise start a thread per callback
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newFixedThreadPool(4, Thread.ofPlatform().name("fanout-client-", 1).daemon().factory()))
+                        .build();
+                for (int i = 0; i < streams; i++) new SseClient(http, base, token).connect(null);
+                JsonNode start = client.get("GET /api/reactive/seminars/changes", "/api/reactive/seminars/changes", token).body();
+                for (int i = 0; i < pollers; i++) {
+                    new Poller(http, base, token, start.path("epoch").asText(), waitMs).poll(start.path("next").asLong());
+                }
+                Thread.sleep(3_000); // let every client connect
+                JvmSampler jvm = new JvmSampler(250);
+
+                // ----- writes (blocking servlet endpoint) -----
+                long intervalNanos = (long) (1e9 / rate);
+                long next = System.nanoTime();
+                int created = 0;
+                for (int i = 0; i < bookings; i++) {
+                    sleepUntil(next);
+                    next += intervalNanos;
+                    if (client.post("POST /api/seminars", "/api/seminars", token, booking(i, booker, halls, spec.to())).ok()) created++;
+                }
+
+                // ----- wait for the last deliveries -----
+                long expectedStream = (long) created * streams;
+                long expectedPoll = (long) created * pollers;
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settleS);
+                while (System.nanoTime() < deadline
+                        && (streamDelivered.sum() < expectedStream || pollDelivered.sum() < expectedPoll)) {
+                    Thread.sleep(100);
+                }
+                Map<String, Integer> threads = serverThreads();
+                String jvmSummary = jvm.stop();
+                running = false;
+
+                System.out.printf("%nBookings created: %d of %d%n", created, bookings);
+                report("SSE stream", streamDelivered.sum(), expectedStream, streamLatencyUs);
+                report("long poll", pollDelivered.sum(), expectedPoll, pollLatencyUs);
+                System.out.printf("Reconnects %d, client errors %d, open streams on the server %d%n",
+                        reconnects.sum(), errors.sum(), ctx.getBean(BookingChangeFeed.class).getSubscriberCount());
+                System.out.printf("Server threads by pool: %s%n", threads);
+                System.out.printf("JVM: %s%n", jvmSummary);
+            } finally {
+                running = false;
+                ctx.close();
+            }
+        }
+    }
+
+    // =========================================================================
+    // APP + DATA
+    // =========================================================================
+
+    private static ConfigurableApplicationContext start(int smtpPort) {
+        return PerfApp.start(WebApplicationType.SERVLET, Map.of(
+                "server.port", "0",
+                "spring.mail.host", "127.0.0.1",
+                "spring.mail.port", String.valueOf(smtpPort),
+                "spring.mail.properties.mail.smtp.ssl.enable", "false",
+                "logging.level.com.dtao.seminarbooking", "WARN"), InMemoryRepository.PROFILE);
+    }
+
+    private static String login(LoadClient client, String email) {
+        LoadClient.Response resp = client.post("login", "/api/users/login", null, Map.of("email", email, "password", DatasetGenerator.PASSWORD));
+        if (!resp.ok()) throw new IllegalStateException("Login failed for " + email + ": HTTP " + resp.status());
+        return resp.body().path("token").asText();
+    }
+
+    // One free slot per booking: past the dataset's last day, hall by hall, hour by hour
+    private static Map<String, Object> booking(int i, User user, List<String> halls, LocalDate lastDay) {
+        int hour = 8 + (i / halls.size()) % 10;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hallName", halls.get(i % halls.size()));
+        body.put("slotTitle", "Fan-out session");
+        body.put("bookingName", "Fan-out Test");
+        body.put("email", user.getEmail());
+        body.put("department", user.getDepartment());
+        body.put("phone", user.getPhone());
+        body.put("slot", "Custom");
+        body.put("date", lastDay.plusDays(1 + i / (halls.size() * 10)).toString());
+        body.put("startTime", String.format("%02d:00", hour));
+        body.put("endTime", String.format("%02d:00", hour + 1));
+        return body;
+    }
+
+    // =========================================================================
+    // CLIENTS
+    // =========================================================================
+
+    /** One EventSource: counts "booking" events, reconnects with Last-Event-ID when the server ends the stream. */
+    private static final class SseClient implements Flow.Subscriber<String> {
+
+        private final HttpClient http;
+        private final String base;
+        private final String token;
+        private volatile String lastId;
+
+        SseClient(HttpClient http, String base, String token) {
+            this.http = http;
+            this.base = base;
+            this.token = token;
+        }
+
+        void connect(String lastEventId) {
+            HttpRequest.Builder req = HttpRequest.newBuilder(URI.create(base + "/api/reactive/seminars/stream"))
+                    .header("Accept", "text/event-stream")
+                    .header("Authorization", "Bearer " + token);
+            if (lastEventId != null) req.header("Last-Event-ID", lastEventId);
+            http.sendAsync(req.build(), HttpResponse.BodyHandlers.fromLineSubscriber(this))
+                    .whenComplete((resp, ex) -> {
+                        if (ex != null || resp.statusCode() != 200) errors.increment();
+                    });
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("id:")) lastId = line.substring(3).trim();
+            else if (line.startsWith("data:") && line.contains("\"seq\"")) {
+                record(line.substring(5), streamLatencyUs);
+                streamDelivered.increment();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (running) errors.increment();
+        }
+
+        @Override
+        public void onComplete() {
+            if (!running) return;
+            reconnects.increment();
+            connect(lastId);
+        }
+    }
+
+    /** Long-polls /changes: each answer carries the changes since the last one, then the next poll goes out. */
+    private record Poller(HttpClient http, String base, String token, String epoch, long waitMs) {
+
+        void poll(long since) {
+            if (!running) return;
+            HttpRequest req = HttpRequest.newBuilder(URI.create(base + "/api/reactive/seminars/changes?epoch=" + epoch
+                            + "&since=" + since + "&waitMs=" + waitMs))
+                    .header("Accept", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            CompletableFuture<HttpResponse<byte[]>> call = http.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray());
+            call.whenComplete((resp, ex) -> {
+                if (ex != null || resp.statusCode() != 200) {
+                    if (running) errors.increment();
+                    return;
+                }
+                try {
+                    JsonNode page = JSON.readTree(resp.body());
+                    for (JsonNode change : page.path("changes")) {
+                        record(change, pollLatencyUs);
+                        pollDelivered.increment();
+                    }
+                    poll(page.path("next").asLong(since));
+                } catch (Exception e) {
+                    errors.increment();
+                }
+            });
+        }
+    }
+
+    private static void record(String json, Histogram latencyUs) {
+        try {
+            record(JSON.readTree(json), latencyUs);
+        } catch (Exception e) {
+            errors.increment();
+        }
+    }
+
+    // Publish (BookingChange.at, stamped on the server) to receipt; client and server share the clock
+    private static void record(JsonNode change, Histogram latencyUs) {
+        Instant at = Instant.parse(change.path("at").asText());
+        long us = Duration.between(at, Instant.now()).toNanos() / 1_000;
+        latencyUs.recordValue(Math.max(1, us));
+    }
+
+    // =========================================================================
+    // REPORT
+    // =========================================================================
+
+    private static void report(String channel, long delivered, long expected, Histogram latencyUs) {
+        System.out.printf("%-10s delivered %d of %d, publish -> client p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                channel, delivered, expected, latencyUs.getValueAtPercentile(50) / 1e3, latencyUs.getValueAtPercentile(99) / 1e3,
+                latencyUs.getValueAtPercentile(99.9) / 1e3, latencyUs.getMaxValue() / 1e3);
+    }
+
+    // Live server-side threads grouped by pool name (HTTP client threads left out)
+    private static Map<String, Integer> serverThreads() {
+        Map<String, Integer> byPool = new TreeMap<>();
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            String pool = t.getName().replaceAll("-?\\d+$", "");
+            if (pool.startsWith("http-nio") || pool.startsWith("mvc-async") || pool.startsWith("parallel")
+                    || pool.startsWith("boundedElastic") || pool.startsWith("booking-evt")) {
+                byPool.merge(pool, 1, Integer::sum);
+            }
+        }
+        return byPool;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long nanos;
+        while ((nanos = deadlineNanos - System.nanoTime()) > 0) LockSupport.parkNanos(nanos);
+    }
+}
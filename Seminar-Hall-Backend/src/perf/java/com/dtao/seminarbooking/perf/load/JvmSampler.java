@@ -0,0 +1,70 @@
+package com.dtao.seminarbooking.perf.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Samples heap and platform threads while the load test measures, to compare thread models:
+ * a platform-thread pool shows up as threads (each with its own stack), virtual threads as heap (their stacks live there).
+ * Client and server share the JVM, so absolute numbers include the load generator; compare runs, not values.
+ */
+final class JvmSampler {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    private long samples;
+    private long heapSum;
+    private long heapMax;
+    private final long gcCountStart;
+    private final long gcTimeStart;
+
+    JvmSampler(long intervalMs) {
+        threads.resetPeakThreadCount();
+        gcCountStart = gcCount();
+        gcTimeStart = gcTimeMs();
+        sampler = Thread.ofPlatform().name("jvm-sampler").daemon().start(() -> {
+            while (running) {
+                long used = memory.getHeapMemoryUsage().getUsed();
+                synchronized (this) {
+                    samples++;
+                    heapSum += used;
+                    heapMax = Math.max(heapMax, used);
+                }
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /** Stops sampling and returns a one-line summary. */
+    String stop() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+        synchronized (this) {
+            return String.format("heap used avg %d MB / max %d MB, platform threads peak %d, GC %d collections / %d ms",
+                    samples == 0 ? 0 : heapSum / samples >> 20, heapMax >> 20, threads.getPeakThreadCount(),
+                    gcCount() - gcCountStart, gcTimeMs() - gcTimeStart);
+        }
+    }
+
+    private static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) n += Math.max(0, gc.getCollectionCount());
+        return n;
+    }
+
+    private static long gcTimeMs() {
+        long ms = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) ms += Math.max(0, gc.getCollectionTime());
+        return ms;
+    }
+}
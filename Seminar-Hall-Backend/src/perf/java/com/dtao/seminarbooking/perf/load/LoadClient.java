@@ -0,0 +1,106 @@
+package com.dtao.seminarbooking.perf.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blocking JSON client for the load test. Every call is recorded under an endpoint label
+ * (e.g. "GET /api/departments/calendar"), unless recording is switched off (setup / logins before the run).
+ */
+final class LoadClient {
+
+    record Response(int status, JsonNode body) {
+        boolean ok() { return status >= 200 && status < 300; }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording = false;
+
+    LoadClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    void setRecording(boolean recording) { this.recording = recording; }
+
+    void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    List<EndpointStats> getStats() {
+        return stats.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .toList();
+    }
+
+    Response get(String endpoint, String path, String token) {
+        return call(endpoint, "GET", path, token, null, System.nanoTime());
+    }
+
+    Response post(String endpoint, String path, String token, Object body) {
+        return call(endpoint, "POST", path, token, body, System.nanoTime());
+    }
+
+    Response put(String endpoint, String path, String token, Object body) {
+        return call(endpoint, "PUT", path, token, body, System.nanoTime());
+    }
+
+    /**
+     * startNanos is when the request should have started: with a paced (open-loop) run, time spent waiting
+     * for an earlier slow request counts against this one (no coordinated omission).
+     */
+    Response call(String endpoint, String method, String path, String token, Object body, long startNanos) {
+        int status = -1;
+        JsonNode json = MissingNode.getInstance();
+        try {
+            HttpRequest.Builder req = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Accept", "application/json");
+            if (token != null) req.header("Authorization", "Bearer " + token);
+            if (body == null) {
+                req.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                req.header("Content-Type", "application/json");
+                req.method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            }
+            HttpResponse<byte[]> resp = http.send(req.build(), HttpResponse.BodyHandlers.ofByteArray());
+            status = resp.statusCode();
+            if (resp.body().length > 0) {
+                try {
+                    json = JSON.readTree(resp.body());
+                } catch (IOException notJson) {
+                    // error pages etc.; the status is what counts
+                }
+            }
+        } catch (IOException e) {
+            // connection refused / reset / timeout: recorded as an error
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(status, json);
+        }
+        if (recording) {
+            stats.computeIfAbsent(endpoint, EndpointStats::new).record(System.nanoTime() - startNanos, status);
+        }
+        return new Response(status, json);
+    }
+}
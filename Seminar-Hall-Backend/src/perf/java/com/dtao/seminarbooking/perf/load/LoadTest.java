@@ -0,0 +1,224 @@
+package com.dtao.seminarbooking.perf.load;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.model.SeminarHall;
+import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.perf.LocalSmtpSink;
+import com.dtao.seminarbooking.perf.PerfApp;
+import com.dtao.seminarbooking.perf.data.DatasetGenerator;
+import com.dtao.seminarbooking.perf.data.DatasetGenerator.Dataset;
+import com.dtao.seminarbooking.perf.data.DatasetSpec;
+import com.dtao.seminarbooking.perf.data.DatasetWriter;
+import com.dtao.seminarbooking.perf.inmemory.InMemoryRepository;
+import com.dtao.seminarbooking.perf.load.Scenarios.Account;
+import com.dtao.seminarbooking.perf.load.TrafficMix.Scenario;
+import com.dtao.seminarbooking.service.EmailOutboxService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end HTTP load test: boots the app in-process on a random port with the in-memory repositories
+ * ({@link InMemoryRepository#PROFILE}) and mail going to {@link LocalSmtpSink}, loads a generated dataset,
+ * then replays a traffic mix from simulated users and prints throughput and p50 / p99 / p99.9 latency per endpoint.
+ *
+ * mvn -Pperf test-compile exec:java -Dperf.main=com.dtao.seminarbooking.perf.load.LoadTest
+ *
+ * System properties (defaults in brackets):
+ *   load.users [32]          concurrent simulated users (client threads)
+ *   load.rate [0]            total scenario iterations per second, paced and measured from the intended start
+ *                            time (open loop); 0 = every user runs back to back (closed loop, shows max throughput)
+ *   load.warmup-s [15]       load before measuring (JIT, pools, caches)
+ *   load.duration-s [60]     measured run
+ *   load.mix [dashboard=30,calendar=35,booking=15,login=10,approval=10]
+ *   load.burst [5]           booking requests per booking iteration
+ *   data.*                   the dataset loaded before the run ({@link DatasetSpec#fromSystemProperties()});
+ *                            bookings and calendar views pick days across its whole range
+ *   load.seed [42]           seeds each user's random sequence, so a run replays the same requests
+ *   load.smtp-handshake-ms [0], load.timeout-s [30]
+ * Anything else the app reads can be set the same way, e.g. -Dserver.tomcat.threads.max=50,
+ * -Dspring.threads.virtual.enabled=true, -Dapp.inmemory.latency-us=500 (simulated database round trip).
+ * Thread models: run once with and once without -Dspring.threads.virtual.enabled=true and a simulated round trip
+ * (blocking I/O is where they differ); the JVM line compares heap, platform threads and GC ({@link JvmSampler}).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 32);
+        double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+        int warmupS = Integer.getInteger("load.warmup-s", 15);
+        int durationS = Integer.getInteger("load.duration-s", 60);
+        TrafficMix mix = new TrafficMix(System.getProperty("load.mix", "dashboard=30,calendar=35,booking=15,login=10,approval=10"));
+        int burst = Integer.getInteger("load.burst", 5);
+        DatasetSpec spec = DatasetSpec.fromSystemProperties();
+        long seed = Long.getLong("load.seed", 42);
+
+        try (LocalSmtpSink sink = new LocalSmtpSink(Long.getLong("load.smtp-handshake-ms", 0))) {
+            ConfigurableApplicationContext ctx = start(sink.getPort());
+            try {
+                WebServer server = ((WebServerApplicationContext) ctx).getWebServer();
+                LoadClient client = new LoadClient("http://127.0.0.1:" + server.getPort(),
+                        Duration.ofSeconds(Integer.getInteger("load.timeout-s", 30)));
+
+                // ----- data + accounts (not recorded) -----
+                Dataset data = DatasetGenerator.generate(spec);
+                new DatasetWriter(ctx, Integer.getInteger("data.batch-size", 5_000)).write(data, true);
+                Account admin = login(client, DatasetGenerator.ADMIN_EMAIL, "ADMIN");
+                List<Account> departments = new ArrayList<>();
+                for (User u : data.departmentUsers()) departments.add(login(client, u.getEmail(), u.getDepartment()));
+                int days = (int) ChronoUnit.DAYS.between(spec.from(), spec.to()) + 1;
+                Scenarios scenarios = new Scenarios(client, admin, departments,
+                        data.halls().stream().map(SeminarHall::getName).toList(), spec.from(), days, burst);
+
+                System.out.printf("Load test: %d users, %s, mix [%s], burst %d%n",
+                        users, rate > 0 ? String.format("%.1f iterations/s", rate) : "closed loop", mix, burst);
+                System.out.printf("Data: %d seminars %s .. %s, %d halls, %d department users (seed %d, fingerprint %s)%n",
+                        data.seminars().size(), spec.from(), spec.to(), data.halls().size(), departments.size(),
+                        spec.seed(), data.fingerprint());
+                System.out.printf("Server: port %d, request threads %s, virtual threads %s, simulated db round trip %s us%n",
+                        server.getPort(), requestThreads(server), ctx.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"),
+                        ctx.getEnvironment().getProperty("app.inmemory.latency-us", "0"));
+
+                // ----- run -----
+                Runner runner = new Runner(scenarios, mix, users, rate, seed);
+                client.setRecording(true);
+                runner.start();
+                Thread.sleep(warmupS * 1_000L);
+                client.resetStats();
+                long measureStart = System.nanoTime();
+                long mailBefore = sink.getMessages();
+                JvmSampler jvm = new JvmSampler(250);
+                Thread.sleep(durationS * 1_000L);
+                client.setRecording(false);
+                double seconds = (System.nanoTime() - measureStart) / 1e9;
+                long mailDelivered = sink.getMessages() - mailBefore;
+                String jvmSummary = jvm.stop();
+                runner.stop();
+
+                report(client, seconds);
+                System.out.printf("JVM: %s%n", jvmSummary);
+                EmailOutboxService outbox = ctx.getBean(EmailOutboxService.class);
+                System.out.printf("Mail: %d delivered to the sink during the run, outbox pending=%d dead=%d%n",
+                        mailDelivered, outbox.countByStatus(EmailOutboxMessage.PENDING), outbox.countByStatus(EmailOutboxMessage.DEAD));
+                if (scenarios.getApprovalsWithoutWork() > 0) {
+                    System.out.printf("Approval iterations with nothing pending (no request sent): %d%n", scenarios.getApprovalsWithoutWork());
+                }
+            } finally {
+                ctx.close();
+            }
+        }
+    }
+
+    // =========================================================================
+    // APP + DATA
+    // =========================================================================
+
+    private static ConfigurableApplicationContext start(int smtpPort) {
+        return PerfApp.start(WebApplicationType.SERVLET, Map.of(
+                "server.port", "0",
+                "spring.mail.host", "127.0.0.1",
+                "spring.mail.port", String.valueOf(smtpPort),
+                "spring.mail.properties.mail.smtp.ssl.enable", "false",
+                // Per-request INFO logging would measure the console, not the app
+                "logging.level.com.dtao.seminarbooking", "WARN"), InMemoryRepository.PROFILE);
+    }
+
+    private static Account login(LoadClient client, String email, String department) {
+        LoadClient.Response resp = client.post("login", "/api/users/login", null,
+                Map.of("email", email, "password", DatasetGenerator.PASSWORD));
+        if (!resp.ok()) throw new IllegalStateException("Login failed for " + email + ": HTTP " + resp.status());
+        JsonNode user = resp.body().path("user");
+        return new Account(email, DatasetGenerator.PASSWORD, department, user.path("phone").asText(), resp.body().path("token").asText());
+    }
+
+    private static String requestThreads(WebServer server) {
+        if (server instanceof TomcatWebServer tomcat) {
+            Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+            if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor pool) {
+                return "max " + pool.getMaximumPoolSize();
+            }
+            if (executor != null) return executor.getClass().getSimpleName();
+        }
+        return "n/a";
+    }
+
+    // =========================================================================
+    // REPORT
+    // =========================================================================
+
+    private static void report(LoadClient client, double seconds) {
+        System.out.printf("%nMeasured %.1f s%n", seconds);
+        System.out.printf("%-36s %9s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "ok", "rejected", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0, errors = 0;
+        for (EndpointStats s : client.getStats()) {
+            if (s.getCount() == 0) continue;
+            total += s.getCount();
+            errors += s.getErrors();
+            System.out.printf("%-36s %9d %9d %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.getName(), s.getCount(), s.getOk(), s.getRejected(), s.getErrors(), s.getCount() / seconds,
+                    s.percentileMs(50), s.percentileMs(99), s.percentileMs(99.9), s.maxMs());
+        }
+        System.out.printf("%-36s %9d %9s %8s %7d %9.1f%n", "total", total, "", "", errors, total / seconds);
+    }
+
+    // =========================================================================
+    // SIMULATED USERS
+    // =========================================================================
+
+    private static final class Runner {
+
+        private final Scenarios scenarios;
+        private final TrafficMix mix;
+        private final long intervalNanos;
+        private final List<Thread> threads = new ArrayList<>();
+        private volatile boolean running = true;
+
+        Runner(Scenarios scenarios, TrafficMix mix, int users, double rate, long seed) {
+            this.scenarios = scenarios;
+            this.mix = mix;
+            // Each user takes an equal share of the target rate
+            this.intervalNanos = rate > 0 ? (long) (users * 1e9 / rate) : 0;
+            for (int i = 0; i < users; i++) {
+                SplittableRandom random = new SplittableRandom(seed + i);
+                threads.add(new Thread(() -> loop(random), "load-user-" + i));
+            }
+        }
+
+        void start() {
+            threads.forEach(Thread::start);
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            for (Thread t : threads) t.join(30_000);
+        }
+
+        private void loop(SplittableRandom random) {
+            // Stagger paced users so they do not all fire on the same tick
+            long next = System.nanoTime() + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+            while (running) {
+                long start = System.nanoTime();
+                if (intervalNanos > 0) {
+                    if (next > start) LockSupport.parkNanos(next - start);
+                    start = next;
+                    next += intervalNanos;
+                }
+                Scenario scenario = mix.next(random);
+                scenarios.run(scenario, random, start);
+            }
+        }
+    }
+}
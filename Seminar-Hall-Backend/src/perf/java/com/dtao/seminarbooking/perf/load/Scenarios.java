@@ -0,0 +1,134 @@
+package com.dtao.seminarbooking.perf.load;
+
+import com.dtao.seminarbooking.perf.load.TrafficMix.Scenario;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * What each scenario sends. Bookings land on random halls / days / hours inside the booking window,
+ * so a share of them conflicts (400) the way a busy week does; accepted ones queue up for the approval scenario.
+ */
+final class Scenarios {
+
+    /** A logged-in account; token is refreshed by {@link LoadTest} before the run. */
+    record Account(String email, String password, String department, String phone, String token) {}
+
+    // Keeps the approval backlog bounded when bookings outpace approvals
+    private static final int MAX_PENDING = 10_000;
+
+    private final LoadClient client;
+    private final Account admin;
+    private final List<Account> departments;
+    private final List<String> halls;
+    private final LocalDate firstDay;
+    private final int days;
+    private final int burst;
+
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final LongAdder approvalsWithoutWork = new LongAdder();
+
+    Scenarios(LoadClient client, Account admin, List<Account> departments, List<String> halls,
+              LocalDate firstDay, int days, int burst) {
+        this.client = client;
+        this.admin = admin;
+        this.departments = departments;
+        this.halls = halls;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.burst = burst;
+    }
+
+    /** Approval iterations that found no pending booking to approve (sent nothing). */
+    long getApprovalsWithoutWork() { return approvalsWithoutWork.sum(); }
+
+    /** Runs one iteration; startNanos is charged to its first request. */
+    void run(Scenario scenario, RandomGenerator random, long startNanos) {
+        switch (scenario) {
+            case DASHBOARD -> dashboard(random, startNanos);
+            case CALENDAR -> calendar(random, startNanos);
+            case BOOKING -> booking(random, startNanos);
+            case LOGIN -> login(random, startNanos);
+            case APPROVAL -> approval(startNanos);
+        }
+    }
+
+    private void dashboard(RandomGenerator random, long startNanos) {
+        LocalDate month = randomDay(random);
+        client.call("GET /api/requests/summary", "GET", "/api/requests/summary", admin.token(), null, startNanos);
+        client.get("GET /api/requests?status=PENDING", "/api/requests?status=PENDING", admin.token());
+        client.get("GET /api/seminars/calendar", "/api/seminars/calendar?year=" + month.getYear() + "&month=" + month.getMonthValue(), admin.token());
+    }
+
+    private void calendar(RandomGenerator random, long startNanos) {
+        Account user = departments.get(random.nextInt(departments.size()));
+        LocalDate day = randomDay(random);
+        String dept = encode(user.department());
+        client.call("GET /api/departments/calendar", "GET",
+                "/api/departments/calendar?department=" + dept + "&year=" + day.getYear() + "&month=" + day.getMonthValue(),
+                user.token(), null, startNanos);
+        client.get("GET /api/departments/day", "/api/departments/day?department=" + dept + "&date=" + day, user.token());
+    }
+
+    private void booking(RandomGenerator random, long startNanos) {
+        Account user = departments.get(random.nextInt(departments.size()));
+        for (int i = 0; i < burst; i++) {
+            int hour = 8 + random.nextInt(10);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("hallName", halls.get(random.nextInt(halls.size())));
+            body.put("slotTitle", "Load test session");
+            body.put("bookingName", "Load Test");
+            body.put("email", user.email());
+            body.put("department", user.department());
+            body.put("phone", user.phone());
+            body.put("slot", "Custom");
+            body.put("date", randomDay(random).toString());
+            body.put("startTime", String.format("%02d:00", hour));
+            body.put("endTime", String.format("%02d:00", hour + 1));
+
+            LoadClient.Response resp = client.call("POST /api/seminars", "POST", "/api/seminars", user.token(), body,
+                    i == 0 ? startNanos : System.nanoTime());
+            JsonNode id = resp.body().path("id");
+            if (resp.ok() && id.isTextual() && pendingSize.get() < MAX_PENDING) {
+                pending.add(id.asText());
+                pendingSize.incrementAndGet();
+            }
+        }
+    }
+
+    private void login(RandomGenerator random, long startNanos) {
+        Account user = departments.get(random.nextInt(departments.size()));
+        client.call("POST /api/users/login", "POST", "/api/users/login", null,
+                Map.of("email", user.email(), "password", user.password()), startNanos);
+    }
+
+    private void approval(long startNanos) {
+        String id = pending.poll();
+        if (id == null) {
+            approvalsWithoutWork.increment();
+            return;
+        }
+        pendingSize.decrementAndGet();
+        client.call("PUT /api/seminars/{id} (approve)", "PUT", "/api/seminars/" + id, admin.token(),
+                Map.of("status", "APPROVED", "remarks", "Approved by load test"), startNanos);
+    }
+
+    private LocalDate randomDay(RandomGenerator random) {
+        return firstDay.plusDays(random.nextInt(days));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
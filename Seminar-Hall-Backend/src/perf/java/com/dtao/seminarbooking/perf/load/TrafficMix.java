@@ -0,0 +1,61 @@
+package com.dtao.seminarbooking.perf.load;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted choice of the next scenario, parsed from "dashboard=40,calendar=30,booking=15,login=10,approval=5".
+ * Scenarios left out of the spec get weight 0.
+ */
+final class TrafficMix {
+
+    enum Scenario {
+        DASHBOARD,  // admin dashboard poll: status summary, pending list, all-hall month calendar
+        CALENDAR,   // department user browsing its month calendar and one day
+        BOOKING,    // department user submitting a burst of booking requests
+        LOGIN,      // department user logging in (bcrypt + JWT + refresh token)
+        APPROVAL    // admin approving one of the pending bookings
+    }
+
+    private final Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+    private final Scenario[] scenarios;
+    private final int[] cumulative;
+    private final int total;
+
+    TrafficMix(String spec) {
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Bad traffic mix entry '" + part + "', expected name=weight");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight in traffic mix: " + part);
+            weights.put(Scenario.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        scenarios = weights.keySet().toArray(new Scenario[0]);
+        cumulative = new int[scenarios.length];
+        int sum = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            sum += weights.get(scenarios[i]);
+            cumulative[i] = sum;
+        }
+        if (sum == 0) throw new IllegalArgumentException("Traffic mix '" + spec + "' has no positive weight");
+        total = sum;
+    }
+
+    Scenario next(RandomGenerator random) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) return scenarios[i];
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((s, w) -> sb.append(sb.isEmpty() ? "" : ", ").append(s.name().toLowerCase(Locale.ROOT)).append('=').append(w));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dtao.seminarbooking.controller;
+
+import com.dtao.seminarbooking.repo.LogDailyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LogControllerTest {
+
+    private final LogDailyRollupRepository rollupRepository = mock(LogDailyRollupRepository.class);
+    private final LogController controller = new LogController();
+
+    LogControllerTest() {
+        ReflectionTestUtils.setField(controller, "rollupRepository", rollupRepository);
+        when(rollupRepository.findByDayBetweenOrderByDayAscCountDesc(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void dailyRollupsForOneDayAskForThatDayInclusive() {
+        controller.getDailyRollups("2025-01-31", "2025-01-31", null, null);
+
+        verify(rollupRepository).findByDayBetweenOrderByDayAscCountDesc(Range.closed("2025-01-31", "2025-01-31"));
+    }
+
+    @Test
+    void defaultWindowIsThirtyDaysIncludingToday() {
+        controller.getDailyRollups(null, null, null, null);
+
+        LocalDate today = LocalDate.now();
+        verify(rollupRepository).findByDayBetweenOrderByDayAscCountDesc(
+                Range.closed(today.minusDays(29).toString(), today.toString()));
+    }
+}
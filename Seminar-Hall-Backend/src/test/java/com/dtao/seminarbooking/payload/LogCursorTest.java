@@ -0,0 +1,43 @@
+package com.dtao.seminarbooking.payload;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LogCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2025, 1, 31, 10, 15, 0, 123_456_000), "65b9f1c2a1b2c3d4e5f60718");
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("=") || encoded.contains("+") || encoded.contains("/"));
+        assertEquals(cursor, LogCursor.decode(encoded));
+    }
+
+    @Test
+    void wholeSecondTimestampSurvivesTheRoundTrip() {
+        LogCursor cursor = new LogCursor(LocalDateTime.of(2025, 1, 31, 10, 15), "abc");
+
+        assertEquals(cursor, LogCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LogCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> LogCursor.decode(encodeRaw("2025-01-31T10:15")));
+        assertThrows(IllegalArgumentException.class, () -> LogCursor.decode(encodeRaw("yesterday|abc")));
+        assertThrows(IllegalArgumentException.class, () -> LogCursor.decode(encodeRaw("2025-01-31T10:15|")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
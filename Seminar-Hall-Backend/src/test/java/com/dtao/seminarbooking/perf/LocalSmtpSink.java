@@ -0,0 +1,328 @@
+package com.dtao.seminarbooking.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable SMTP server that accepts mail locally and throws it away after counting it.
+ * Speaks just enough ESMTP (EHLO, AUTH, MAIL, RCPT, DATA, RSET, NOOP, QUIT) for Jakarta Mail.
+ *
+ * Simulated costs: handshakeLatencyMs is slept on connect and on AUTH (TCP/TLS + login of a real server),
+ * messageLatencyMs before accepting each message.
+ * Faults (can be changed while mail is flowing, e.g. to watch the circuit breaker):
+ * - down: every connection gets "421 service not available" and is closed
+ * - rejectRate: share of messages answered with a permanent 554 (the connection stays usable)
+ * - dropRate: share of messages after which the connection is cut without a reply
+ *
+ * Counts connections, sessions (current / peak, to check the pool's bulkhead), accepted / rejected / dropped messages,
+ * and the time of every transaction (MAIL FROM .. reply to DATA). The last {@link #KEEP_MESSAGES} accepted messages
+ * are kept (envelope + subject) for assertions.
+ */
+public class LocalSmtpSink implements Closeable {
+
+    public static final int KEEP_MESSAGES = 10_000;
+
+    /** One accepted message: envelope, Subject header and size of the DATA section. */
+    public record Received(String from, List<String> to, String subject, int bytes) {}
+
+    private final ServerSocket server;
+    private final ExecutorService sessions = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "smtp-sink");
+        t.setDaemon(true);
+        return t;
+    });
+    private final long handshakeLatencyMs;
+
+    private volatile long messageLatencyMs;
+    private volatile boolean down;
+    private volatile double rejectRate;
+    private volatile double dropRate;
+    private final Random faults = new Random(42);
+
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final AtomicInteger peakSessions = new AtomicInteger();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Histogram transactionUs = new ConcurrentHistogram(3);
+    private final Queue<Received> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger receivedSize = new AtomicInteger();
+    private volatile long firstMessageNanos;
+    private volatile long lastMessageNanos;
+
+    public LocalSmtpSink(long handshakeLatencyMs) throws IOException {
+        this.handshakeLatencyMs = handshakeLatencyMs;
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        transactionUs.setAutoResize(true);
+        Thread acceptor = new Thread(this::acceptLoop, "smtp-sink-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() { return server.getLocalPort(); }
+    public long getConnections() { return connections.get(); }
+    public long getMessages() { return messages.get(); }
+    public long getRejected() { return rejected.get(); }
+    public long getDropped() { return dropped.get(); }
+    public int getActiveSessions() { return activeSessions.get(); }
+    public int getPeakSessions() { return peakSessions.get(); }
+
+    public void setMessageLatencyMs(long messageLatencyMs) { this.messageLatencyMs = messageLatencyMs; }
+    public void setDown(boolean down) { this.down = down; }
+    public void setRejectRate(double rejectRate) { this.rejectRate = rejectRate; }
+    public void setDropRate(double dropRate) { this.dropRate = dropRate; }
+
+    /** Accepted messages per second between the first and the last one (0 until two have arrived). */
+    public double getMessagesPerSecond() {
+        long n = messages.get();
+        long span = lastMessageNanos - firstMessageNanos;
+        return n < 2 || span <= 0 ? 0 : (n - 1) * 1e9 / span;
+    }
+
+    /** Transaction time percentile (MAIL FROM .. reply to DATA, all outcomes), in milliseconds. */
+    public double transactionPercentileMs(double percentile) {
+        return transactionUs.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    /** Kept messages addressed to the given recipient (case-insensitive). */
+    public List<Received> messagesTo(String address) {
+        List<Received> out = new ArrayList<>();
+        for (Received r : received) {
+            if (r.to().stream().anyMatch(address::equalsIgnoreCase)) out.add(r);
+        }
+        return out;
+    }
+
+    /** Clears counters and kept messages; fault settings stay. */
+    public void reset() {
+        connections.set(0);
+        peakSessions.set(activeSessions.get());
+        messages.set(0);
+        rejected.set(0);
+        dropped.set(0);
+        transactionUs.reset();
+        received.clear();
+        receivedSize.set(0);
+        firstMessageNanos = 0;
+        lastMessageNanos = 0;
+    }
+
+    public String summary() {
+        return String.format("connections=%d peakSessions=%d accepted=%d rejected=%d dropped=%d rate=%.1f msg/s p50=%.2fms p99=%.2fms",
+                getConnections(), getPeakSessions(), getMessages(), getRejected(), getDropped(), getMessagesPerSecond(),
+                transactionPercentileMs(50), transactionPercentileMs(99));
+    }
+
+    // =========================================================================
+    // ASSERTIONS
+    // =========================================================================
+
+    /** Waits until at least count messages were accepted; false on timeout. */
+    public boolean awaitMessages(long count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (messages) {
+            while (messages.get() < count) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) return false;
+                messages.wait(Math.max(1, left / 1_000_000));
+            }
+        }
+        return true;
+    }
+
+    public void assertMessages(long expected) {
+        if (getMessages() != expected) throw new AssertionError("Expected " + expected + " accepted messages, got " + summary());
+    }
+
+    public void assertMessagesWithin(long expected, Duration timeout) throws InterruptedException {
+        if (!awaitMessages(expected, timeout)) {
+            throw new AssertionError("Expected " + expected + " accepted messages within " + timeout + ", got " + summary());
+        }
+    }
+
+    public void assertDeliveredTo(String address) {
+        if (messagesTo(address).isEmpty()) throw new AssertionError("No message accepted for " + address + " (" + summary() + ")");
+    }
+
+    /** E.g. the SMTP pool's max-connections: more concurrent sessions means the bulkhead leaked. */
+    public void assertPeakSessionsAtMost(int max) {
+        if (getPeakSessions() > max) throw new AssertionError("Expected at most " + max + " concurrent sessions, saw " + getPeakSessions());
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        sessions.shutdownNow();
+    }
+
+    // =========================================================================
+    // PROTOCOL
+    // =========================================================================
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.incrementAndGet();
+                sessions.execute(() -> session(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        peakSessions.accumulateAndGet(activeSessions.incrementAndGet(), Math::max);
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            if (down) {
+                reply(out, "421 4.3.2 Service not available");
+                return;
+            }
+            pause(handshakeLatencyMs);
+            reply(out, "220 localhost ESMTP sink");
+
+            String from = null;
+            List<String> to = new ArrayList<>();
+            long txStart = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String cmd = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (cmd) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250 8BITMIME");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "AUTH" -> {
+                        pause(handshakeLatencyMs);
+                        if (line.toUpperCase(Locale.ROOT).startsWith("AUTH LOGIN")) {
+                            reply(out, "334 VXNlcm5hbWU6");
+                            in.readLine();
+                            reply(out, "334 UGFzc3dvcmQ6");
+                            in.readLine();
+                        } else if (line.trim().equalsIgnoreCase("AUTH PLAIN")) {
+                            reply(out, "334 ");
+                            in.readLine();
+                        }
+                        reply(out, "235 2.7.0 Authentication successful");
+                    }
+                    case "MAIL" -> {
+                        txStart = System.nanoTime();
+                        from = address(line);
+                        to = new ArrayList<>();
+                        reply(out, "250 2.1.0 Ok");
+                    }
+                    case "RCPT" -> {
+                        to.add(address(line));
+                        reply(out, "250 2.1.5 Ok");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String subject = null;
+                        int bytes = 0;
+                        boolean headers = true;
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            bytes += line.length() + 2;
+                            if (headers && line.isEmpty()) headers = false;
+                            else if (headers && subject == null && line.regionMatches(true, 0, "Subject:", 0, 8)) subject = line.substring(8).trim();
+                        }
+                        pause(messageLatencyMs);
+                        if (!finish(out, new Received(from, to, subject, bytes), txStart)) return;
+                        from = null;
+                        to = new ArrayList<>();
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        to = new ArrayList<>();
+                        reply(out, "250 2.0.0 Ok");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 2.0.0 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 2.0.0 Ok"); // NOOP and anything else
+                }
+            }
+        } catch (IOException ignored) {
+            // client went away
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /** Applies the injected faults to one message; false = connection cut. */
+    private boolean finish(OutputStream out, Received message, long txStart) throws IOException {
+        double roll;
+        synchronized (faults) {
+            roll = faults.nextDouble();
+        }
+        if (down || roll < dropRate) {
+            dropped.incrementAndGet();
+            transactionUs.recordValue(Math.max(1, (System.nanoTime() - txStart) / 1_000));
+            return false;
+        }
+        if (roll < dropRate + rejectRate) {
+            rejected.incrementAndGet();
+            reply(out, "554 5.0.0 Transaction failed (injected)");
+        } else {
+            if (receivedSize.incrementAndGet() > KEEP_MESSAGES) {
+                received.poll();
+                receivedSize.decrementAndGet();
+            }
+            received.add(message);
+            reply(out, "250 2.0.0 Ok: queued");
+            long now = System.nanoTime();
+            synchronized (messages) {
+                if (messages.getAndIncrement() == 0) firstMessageNanos = now;
+                lastMessageNanos = now;
+                messages.notifyAll();
+            }
+        }
+        transactionUs.recordValue(Math.max(1, (System.nanoTime() - txStart) / 1_000));
+        return true;
+    }
+
+    // "MAIL FROM:<a@b>" / "RCPT TO:<a@b>" -> a@b
+    private static String address(String line) {
+        int lt = line.indexOf('<');
+        int gt = line.indexOf('>', lt + 1);
+        if (lt >= 0 && gt > lt) return line.substring(lt + 1, gt);
+        int colon = line.indexOf(':');
+        return colon < 0 ? "" : line.substring(colon + 1).trim();
+    }
+
+    private static void pause(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
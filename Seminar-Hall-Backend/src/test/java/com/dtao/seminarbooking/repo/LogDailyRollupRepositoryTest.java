@@ -0,0 +1,63 @@
+package com.dtao.seminarbooking.repo;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Filters Spring Data derives for the day-range finders (captured at the driver, no mongod needed). */
+class LogDailyRollupRepositoryTest {
+
+    private MongoCollection<Document> collection;
+    private LogDailyRollupRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoDatabaseFactory factory = mock(MongoDatabaseFactory.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        collection = mock(MongoCollection.class, RETURNS_DEEP_STUBS);
+        when(factory.getMongoDatabase()).thenReturn(database);
+        when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+        when(database.getCollection(anyString(), eq(Document.class))).thenReturn(collection);
+        when(collection.withReadPreference(any())).thenReturn(collection);
+        repository = new MongoRepositoryFactory(new MongoTemplate(factory)).getRepository(LogDailyRollupRepository.class);
+    }
+
+    @Test
+    void oneDayRangeIncludesThatDay() {
+        repository.findByDayBetweenOrderByDayAscCountDesc(Range.closed("2025-01-31", "2025-01-31"));
+
+        assertEquals(new Document("day", new Document("$gte", "2025-01-31").append("$lte", "2025-01-31")), filter());
+    }
+
+    @Test
+    void actorRangeIncludesBothEnds() {
+        repository.findByActorEmailAndDayBetweenOrderByDayAsc("a@x.edu", Range.closed("2025-01-01", "2025-01-30"));
+
+        assertEquals(new Document("actorEmail", "a@x.edu")
+                .append("day", new Document("$gte", "2025-01-01").append("$lte", "2025-01-30")), filter());
+    }
+
+    private Document filter() {
+        ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+        verify(collection).find(captor.capture(), eq(Document.class));
+        return captor.getValue();
+    }
+}
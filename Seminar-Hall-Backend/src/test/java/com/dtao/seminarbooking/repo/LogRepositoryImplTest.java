@@ -0,0 +1,35 @@
+package com.dtao.seminarbooking.repo;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRepositoryImplTest {
+
+    private static final LocalDateTime TS = LocalDateTime.of(2025, 1, 31, 10, 15);
+
+    @Test
+    void keysetSplitsEqualTimestampsById() {
+        String id = "65b9f1c2a1b2c3d4e5f60718";
+
+        Document criteria = LogRepositoryImpl.keysetBefore(TS, id).getCriteriaObject();
+
+        assertEquals(List.of(
+                new Document("timestamp", new Document("$lt", TS)),
+                new Document("timestamp", TS).append("_id", new Document("$lt", new ObjectId(id)))),
+                criteria.get("$or"));
+    }
+
+    @Test
+    void keysetComparesNonObjectIdsAsStrings() {
+        Document criteria = LogRepositoryImpl.keysetBefore(TS, "legacy-1").getCriteriaObject();
+
+        List<?> or = (List<?>) criteria.get("$or");
+        assertEquals(new Document("timestamp", TS).append("_id", new Document("$lt", "legacy-1")), or.get(1));
+    }
+}
@@ -0,0 +1,142 @@
+package com.dtao.seminarbooking.security;
+
+import com.dtao.seminarbooking.model.RevokedToken;
+import com.dtao.seminarbooking.repo.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.AbstractSet;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenRevocationService service = new TokenRevocationService(repository, 1000, 0.01);
+
+    @Test
+    void rebuildKeepsUserCutoffMadeWhileQueryRuns() {
+        when(repository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+            service.revokeAllForUser("a@x.edu", "removed");
+            return List.of();
+        });
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked(claims("a@x.edu", null, Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void rebuildDoesNotReplaceNewerLocalCutoffWithOlderStoredOne() {
+        Instant stored = Instant.now().minusSeconds(3600);
+        when(repository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+            service.revokeAllForUser("a@x.edu", "compromised");
+            return List.of(new RevokedToken(RevokedToken.USER_PREFIX + "a@x.edu", "a@x.edu", "old", stored,
+                    stored.plusSeconds(86_400)));
+        });
+
+        service.rebuild();
+
+        // Issued after the stored cutoff but before the new one
+        assertTrue(service.isRevoked(claims("a@x.edu", null, Instant.now().minusSeconds(60))));
+    }
+
+    @Test
+    void rebuildKeepsTokenRevokedWhileQueryRuns() {
+        when(repository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+            service.revoke("jti-1", "a@x.edu", Instant.now().plusSeconds(600), "logout");
+            return List.of();
+        });
+
+        service.rebuild();
+
+        // Confirmed locally: the repository stub would answer existsById with false
+        assertTrue(service.isRevoked(claims("a@x.edu", "jti-1", Instant.now())));
+    }
+
+    @Test
+    void rebuildKeepsTokenRevokedJustBeforeTheFilterSwap() {
+        AtomicBoolean queried = new AtomicBoolean();
+        // Revoke once the first pass over knownRevoked after the query is done: after the copy, before the swap
+        Set<String> known = new HookedSet(() -> {
+            if (queried.getAndSet(false)) service.revoke("jti-2", "a@x.edu", Instant.now().plusSeconds(600), "logout");
+        });
+        ReflectionTestUtils.setField(service, "knownRevoked", known);
+        when(repository.findByExpiresAtAfter(any())).thenAnswer(inv -> {
+            queried.set(true);
+            return List.of();
+        });
+
+        service.rebuild();
+
+        assertTrue(known.contains("jti-2"));
+        assertTrue(service.isRevoked(claims("a@x.edu", "jti-2", Instant.now())));
+    }
+
+    private static Claims claims(String subject, String jti, Instant issuedAt) {
+        Claims claims = Jwts.claims().setSubject(subject).setIssuedAt(Date.from(issuedAt));
+        if (jti != null) claims.setId(jti);
+        return claims;
+    }
+
+    // Concurrent set that runs a hook whenever an iteration over it is exhausted
+    private static final class HookedSet extends AbstractSet<String> {
+
+        private final Set<String> delegate = ConcurrentHashMap.newKeySet();
+        private final Runnable onExhausted;
+
+        HookedSet(Runnable onExhausted) {
+            this.onExhausted = onExhausted;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<String> it = delegate.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    boolean more = it.hasNext();
+                    if (!more) onExhausted.run();
+                    return more;
+                }
+
+                @Override
+                public String next() {
+                    return it.next();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        @Override
+        public boolean add(String s) {
+            return delegate.add(s);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return delegate.contains(o);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.repo.EmailOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class EmailOutboxServiceTest {
+
+    private static final String BODY = "<p>Your OTP is <strong>482913</strong></p>";
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+
+    @Test
+    void sealedBodyIsNotStoredInPlaintextAndOpensForTheDispatcher() {
+        EmailOutboxService service = service("outbox_test_secret_outbox_test_secret");
+
+        service.enqueueSealed("OTP:a@x.edu:1", "OTP", "a@x.edu", "OTP", BODY);
+
+        EmailOutboxMessage stored = inserted();
+        assertTrue(stored.isSealed());
+        assertFalse(stored.getHtmlBody().contains("482913"));
+        assertEquals(BODY, service.bodyOf(stored));
+    }
+
+    @Test
+    void sealedBodyDoesNotOpenUnderAnotherSecret() {
+        service("outbox_test_secret_outbox_test_secret").enqueueSealed("OTP:a@x.edu:1", "OTP", "a@x.edu", "OTP", BODY);
+        EmailOutboxMessage stored = inserted();
+
+        EmailOutboxService other = service("another_secret_another_secret_another");
+        assertThrows(IllegalStateException.class, () -> other.bodyOf(stored));
+    }
+
+    @Test
+    void plainBodyIsPassedThrough() {
+        EmailOutboxService service = service("outbox_test_secret_outbox_test_secret");
+        service.enqueue("WELCOME:a@x.edu:1", "WELCOME", "a@x.edu", "Welcome", "<p>Hi</p>");
+
+        EmailOutboxMessage stored = inserted();
+        assertFalse(stored.isSealed());
+        assertEquals("<p>Hi</p>", service.bodyOf(stored));
+    }
+
+    private EmailOutboxService service(String secret) {
+        EmailOutboxService service = new EmailOutboxService(repository);
+        ReflectionTestUtils.setField(service, "outboxSecret", secret);
+        return service;
+    }
+
+    private EmailOutboxMessage inserted() {
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(repository).insert(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,131 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.OtpToken;
+import com.dtao.seminarbooking.model.User;
+import com.dtao.seminarbooking.repo.OtpTokenRepository;
+import com.dtao.seminarbooking.repo.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OtpServiceTest {
+
+    private static final String SECRET = "otp_test_secret_otp_test_secret_123";
+    private static final String SALT = "00112233445566778899aabbccddeeff";
+    private static final String OTP = "123456";
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final OtpTokenRepository otpTokenRepository = mock(OtpTokenRepository.class);
+    private final OtpService service = new OtpService();
+
+    // Attempt counter behind the stubbed findAndModify
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "otpTokenRepository", otpTokenRepository);
+        ReflectionTestUtils.setField(service, "emailService", mock(EmailService.class));
+        ReflectionTestUtils.setField(service, "passwordEncoder", mock(PasswordEncoder.class));
+        ReflectionTestUtils.setField(service, "otpSecret", SECRET);
+        ReflectionTestUtils.setField(service, "maxAttempts", MAX_ATTEMPTS);
+
+        User user = new User();
+        user.setId("u1");
+        user.setEmail("a@x.edu");
+        when(userRepository.findByEmail("a@x.edu")).thenReturn(Optional.of(user));
+
+        String hash = hmac(OTP);
+        // Every verify reads the token before any attempt is counted, like parallel requests would
+        when(otpTokenRepository.findFirstByUserIdAndUsedIsFalseOrderByExpiresAtDesc("u1"))
+                .thenAnswer(inv -> Optional.of(token(hash, 0)));
+        when(otpTokenRepository.reserveAttempt(anyString(), anyInt())).thenAnswer(inv -> {
+            int max = inv.getArgument(1);
+            synchronized (attempts) {
+                return attempts.get() < max ? Optional.of(token(hash, attempts.incrementAndGet())) : Optional.empty();
+            }
+        });
+        when(otpTokenRepository.invalidateAllForUser(any())).thenReturn(1L);
+    }
+
+    @Test
+    void concurrentVerifiesCannotExceedAttemptLimit() throws Exception {
+        int threads = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                String guess = String.format("%06d", 900_000 + i);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return service.verifyOtp("a@x.edu", guess);
+                }));
+            }
+            start.countDown();
+            List<String> statuses = new ArrayList<>();
+            for (Future<String> f : results) statuses.add(f.get());
+
+            Map<String, Long> counts = statuses.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+            assertEquals(MAX_ATTEMPTS, attempts.get());
+            assertEquals(MAX_ATTEMPTS - 1, counts.getOrDefault("INVALID", 0L));
+            assertEquals(threads - (MAX_ATTEMPTS - 1), counts.getOrDefault("TOO_MANY_ATTEMPTS", 0L));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void correctOtpIsRejectedOnceAttemptsAreUsedUp() {
+        for (int i = 0; i < MAX_ATTEMPTS; i++) service.verifyOtp("a@x.edu", "000000");
+
+        assertEquals("TOO_MANY_ATTEMPTS", service.verifyOtp("a@x.edu", OTP));
+    }
+
+    @Test
+    void correctOtpWithinLimitIsValid() {
+        service.verifyOtp("a@x.edu", "000000");
+
+        assertEquals("VALID", service.verifyOtp("a@x.edu", OTP));
+    }
+
+    private static OtpToken token(String hash, int attempts) {
+        OtpToken token = new OtpToken("u1", hash, SALT, Instant.now().plusSeconds(300));
+        token.setId("t1");
+        token.setAttempts(attempts);
+        return token;
+    }
+
+    private static String hmac(String otp) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update(SALT.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(mac.doFinal(otp.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.dtao.seminarbooking.service;
+
+import com.dtao.seminarbooking.model.EmailOutboxMessage;
+import com.dtao.seminarbooking.perf.LocalSmtpSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/** Circuit breaker accounting of the non-pooled path (app.mail.pool.enabled=false) against a faulty SMTP server. */
+class SmtpSenderTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+
+    private LocalSmtpSink sink;
+    private SmtpCircuitBreaker breaker;
+    private SmtpSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sink = new LocalSmtpSink(0);
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(sink.getPort());
+        Properties props = new Properties();
+        props.put("mail.smtp.connectiontimeout", "5000");
+        props.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(props);
+
+        breaker = new SmtpCircuitBreaker(FAILURE_THRESHOLD, 60_000, 600_000);
+        SmtpConnectionPool pool = new SmtpConnectionPool(mailSender, 1, 30_000, 5_000, 100, 10_000);
+        sender = new SmtpSender(mailSender, pool, breaker, "noreply@example.com", "Test", false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sink.close();
+    }
+
+    @Test
+    void serverOutageOpensTheCircuit() {
+        sink.setDown(true);
+
+        List<Exception> results = send(FAILURE_THRESHOLD + 1);
+
+        assertEquals(SmtpCircuitBreaker.OPEN, breaker.getState());
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) assertNotNull(results.get(i));
+        assertInstanceOf(SmtpDeferredException.class, results.get(FAILURE_THRESHOLD));
+    }
+
+    @Test
+    void rejectedMessagesKeepTheCircuitClosed() {
+        sink.setRejectRate(1.0);
+
+        List<Exception> results = send(FAILURE_THRESHOLD + 2);
+
+        assertEquals(SmtpCircuitBreaker.CLOSED, breaker.getState());
+        assertEquals(FAILURE_THRESHOLD + 2, sink.getRejected());
+        results.forEach(ex -> assertNotNull(ex));
+    }
+
+    @Test
+    void deliveredMessagesAreReportedWithoutError() {
+        List<Exception> results = send(2);
+
+        assertEquals(SmtpCircuitBreaker.CLOSED, breaker.getState());
+        assertEquals(2, sink.getMessages());
+        results.forEach(ex -> assertEquals(null, ex));
+    }
+
+    // One result per message, in order (null = delivered)
+    private List<Exception> send(int count) {
+        List<EmailOutboxMessage> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(new EmailOutboxMessage("k" + i, "TEST", "user" + i + "@example.com", "Test " + i, "<p>" + i + "</p>"));
+        }
+        List<Exception> results = new ArrayList<>(count);
+        sender.sendBatch(batch, (m, ex) -> results.add(ex));
+        return results;
+    }
+}
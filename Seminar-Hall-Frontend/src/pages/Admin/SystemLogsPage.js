@@ -1,16 +1,22 @@
 // src/pages/Admin/SystemLogsPage.js
-import React, { useEffect, useState } from "react";
+import React, { useCallback, useEffect, useState } from "react";
 import { motion, AnimatePresence } from "framer-motion";
 import { CSVLink } from "react-csv";
 import api from "../../utils/api";
 import { useTheme } from "../../contexts/ThemeContext";
 
+// Logs come from /logs/search newest first, one page at a time (the collection is far too large to load whole)
+const PAGE_SIZE = 100;
+
 const SystemLogsPage = () => {
   const { theme } = useTheme() || {};
   const isDtao = theme === "dtao";
 
   const [logs, setLogs] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [total, setTotal] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [search, setSearch] = useState("");
   const [filterRole, setFilterRole] = useState("ALL");
   const [expandedRows, setExpandedRows] = useState(new Set());
@@ -24,24 +30,60 @@ const SystemLogsPage = () => {
     return () => window.removeEventListener("resize", handleResize);
   }, []);
 
-  const fetchLogs = async () => {
+  const pageParams = useCallback((cursor) => {
+    const params = { limit: PAGE_SIZE };
+    if (filterRole !== "ALL") params.role = filterRole;
+    if (cursor) params.cursor = cursor;
+    return params;
+  }, [filterRole]);
+
+  // First page: replaces the list on a role change, otherwise adds entries that arrived since the last poll
+  const fetchLogs = useCallback(async (reset) => {
     try {
-      const res = await api.get("/logs");
-      if (Array.isArray(res.data)) {
-        setLogs(res.data);
+      const res = await api.get("/logs/search", { params: pageParams(null) });
+      const items = Array.isArray(res.data?.items) ? res.data.items : [];
+      setTotal(res.data?.approxTotal ?? null);
+      if (reset) {
+        setLogs(items);
+        setNextCursor(res.data?.nextCursor || null);
+      } else {
+        setLogs(prev => {
+          const known = new Set(prev.map(l => l.id));
+          const fresh = items.filter(l => !known.has(l.id));
+          return fresh.length ? [...fresh, ...prev] : prev;
+        });
       }
     } catch (error) {
       console.error("Failed to load logs", error);
     } finally {
       setLoading(false);
     }
+  }, [pageParams]);
+
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const res = await api.get("/logs/search", { params: pageParams(nextCursor) });
+      const items = Array.isArray(res.data?.items) ? res.data.items : [];
+      setLogs(prev => {
+        const known = new Set(prev.map(l => l.id));
+        return [...prev, ...items.filter(l => !known.has(l.id))];
+      });
+      setNextCursor(res.data?.nextCursor || null);
+    } catch (error) {
+      console.error("Failed to load more logs", error);
+    } finally {
+      setLoadingMore(false);
+    }
   };
 
   useEffect(() => {
-    fetchLogs();
-    const interval = setInterval(fetchLogs, 10000);
+    setLoading(true);
+    fetchLogs(true);
+    const interval = setInterval(() => fetchLogs(false), 10000);
     return () => clearInterval(interval);
-  }, []);
+  }, [fetchLogs]);
 
   const toggleRow = (id) => {
     setExpandedRows(prev => {
@@ -57,8 +99,7 @@ const SystemLogsPage = () => {
       (log.actorEmail || "").toLowerCase().includes(search.toLowerCase()) ||
       (log.action || "").toLowerCase().includes(search.toLowerCase()) ||
       (log.ipAddress || "").includes(search);
-    const matchesRole = filterRole === "ALL" || (log.actorRole || "") === filterRole;
-    return matchesSearch && matchesRole;
+    return matchesSearch;
   });
 
   const getActionStyle = (action) => {
@@ -84,7 +125,10 @@ const SystemLogsPage = () => {
         <div className="flex flex-col md:flex-row md:items-center justify-between gap-4">
           <div>
             <h1 className="text-3xl font-black tracking-tight">System <span className="text-blue-500">Audit Logs</span></h1>
-            <p className="text-sm opacity-60 mt-1">Real-time tracking of all security events.</p>
+            <p className="text-sm opacity-60 mt-1">
+              Real-time tracking of all security events.
+              {total !== null && <span> Showing {logs.length} of ~{total}; search covers the loaded entries.</span>}
+            </p>
           </div>
           <div className="flex gap-3">
              <CSVLink 
@@ -213,6 +257,18 @@ const SystemLogsPage = () => {
           )}
         </motion.div>
 
+        {!loading && nextCursor && (
+          <div className="flex justify-center">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-6 py-3 rounded-2xl font-bold text-xs bg-blue-600 text-white shadow-lg shadow-blue-500/30 hover:scale-105 transition-transform disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load older entries"}
+            </button>
+          </div>
+        )}
+
         <p className="text-center text-[10px] uppercase tracking-[0.3em] opacity-30 font-black pt-4">Security Audit Trail • Auto-Sync Active</p>
       </div>
     </div>